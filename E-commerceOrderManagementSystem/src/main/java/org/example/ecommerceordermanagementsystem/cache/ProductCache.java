@@ -0,0 +1,150 @@
+package org.example.ecommerceordermanagementsystem.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Read-through cache in front of product lookups.
+ * <p>
+ * Two bounded Caffeine caches are kept: product snapshots by id, and the id lists of {@code getAllProducts} pages
+ * by {@link Pageable}. Writes go through {@link #put} and {@link #evict}, which take effect once the surrounding
+ * transaction has committed so that a concurrent reader cannot re-populate the cache with the old row. Any write
+ * drops all cached pages, since it can move products between pages.
+ * <p>
+ * Stock is not cached; readers take it from the reservation engine.
+ */
+@Component
+public class ProductCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_PAGES = "product-pages";
+
+    private final ProductRepository productRepository;
+    private final AsyncCache<Long, ProductSnapshot> products;
+    private final AsyncCache<Pageable, Page<Long>> idPages;
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${oms.cache.products.maximum-size:10000}") long maximumSize,
+                        @Value("${oms.cache.products.expire-after-write:10m}") Duration expireAfterWrite,
+                        @Value("${oms.cache.product-pages.maximum-size:1000}") long pageMaximumSize,
+                        @Value("${oms.cache.product-pages.expire-after-write:30s}") Duration pageExpireAfterWrite) {
+        this.productRepository = productRepository;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+        this.idPages = Caffeine.newBuilder()
+                .maximumSize(pageMaximumSize)
+                .expireAfterWrite(pageExpireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<ProductSnapshot> get(Long id) {
+        return Optional.ofNullable(readThrough(products, id,
+                () -> productRepository.findById(id).map(ProductSnapshot::of).orElse(null)));
+    }
+
+    /**
+     * Returns the snapshots of the given products, loading all misses with a single query. Unknown ids are absent
+     * from the result.
+     */
+    public Map<Long, ProductSnapshot> getAll(Collection<Long> ids) {
+        // Bulk loads run on the calling thread without holding any of the cache's locks.
+        return join(products.getAll(ids, (missing, executor) -> CompletableFuture.completedFuture(
+                productRepository.findAllById(Set.copyOf(missing)).stream()
+                        .collect(Collectors.toMap(Product::getId, ProductSnapshot::of)))));
+    }
+
+    public Page<Long> getIdPage(Pageable pageable) {
+        return readThrough(idPages, pageable, () -> productRepository.findIdPage(pageable));
+    }
+
+    /**
+     * Writes the product through to the cache once the surrounding transaction commits. The snapshot is taken then,
+     * so that it carries the version assigned by the flush.
+     */
+    public void put(Product product) {
+        afterCommit(() -> {
+            ProductSnapshot snapshot = ProductSnapshot.of(product);
+            products.synchronous().put(snapshot.id(), snapshot);
+            idPages.synchronous().invalidateAll();
+        });
+    }
+
+    /**
+     * Drops the product right away and again once the surrounding transaction commits.
+     */
+    public void evict(Long id) {
+        Runnable eviction = () -> {
+            products.synchronous().invalidate(id);
+            idPages.synchronous().invalidateAll();
+        };
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put(PRODUCTS, products.synchronous().stats());
+        stats.put(PRODUCT_PAGES, idPages.synchronous().stats());
+        return stats;
+    }
+
+    public Map<String, Long> estimatedSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put(PRODUCTS, products.synchronous().estimatedSize());
+        sizes.put(PRODUCT_PAGES, idPages.synchronous().estimatedSize());
+        return sizes;
+    }
+
+    /**
+     * Looks the key up, loading it on the calling thread on a miss. Only an empty future is installed under the cache's
+     * internal lock, so a virtual thread blocked on the query does not pin its carrier; concurrent callers for the same
+     * key wait on that future instead of querying again. A {@code null} result is not cached.
+     */
+    private static <K, V> V readThrough(AsyncCache<K, V> cache, K key, Supplier<V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return join(cached);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.ecommerceordermanagementsystem.cache;
+
+import org.example.ecommerceordermanagementsystem.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a product as stored in {@link ProductCache}. {@code stock} is the value read from the
+ * database and is superseded by the reservation engine wherever it tracks the product.
+ */
+public record ProductSnapshot(Long id, String name, BigDecimal price, int stock, int stockShards,
+                              String category, boolean active, LocalDateTime createdAt, Long version) {
+
+    public static ProductSnapshot of(Product product) {
+        return new ProductSnapshot(product.getId(), product.getName(), product.getPrice(), product.getStock(),
+                product.getStockShards(), product.getCategory(), product.getIsActive(), product.getCreatedAt(),
+                product.getVersion());
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.ecommerceordermanagementsystem.config;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.ecommerceordermanagementsystem.logging.RequestLoggingFilter;
+import org.example.ecommerceordermanagementsystem.logging.RingBufferAppender;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoggingConfig {
+
+    /**
+     * Runs before every other filter, so that all events of the request carry its ID.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter() {
+        FilterRegistrationBean<RequestLoggingFilter> registration = new FilterRegistrationBean<>(new RequestLoggingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Counts the events dropped by the ring buffer appenders of the {@code prod} logging configuration.
+     */
+    @Bean
+    public MeterBinder ringBufferAppenderMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            context.getLoggerList().forEach(logger -> logger.iteratorForAppenders().forEachRemaining(appender -> {
+                if (appender instanceof RingBufferAppender ringBuffer) {
+                    FunctionCounter.builder("oms.logging.dropped.events", ringBuffer, RingBufferAppender::getDroppedCount)
+                            .description("Log events below WARN dropped because the ring buffer was full")
+                            .tag("appender", ringBuffer.getName())
+                            .register(registry);
+                }
+            }));
+        };
+    }
+}
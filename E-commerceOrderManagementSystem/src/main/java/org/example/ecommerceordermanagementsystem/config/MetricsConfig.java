@@ -0,0 +1,33 @@
+package org.example.ecommerceordermanagementsystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ecommerceordermanagementsystem.metrics.ServiceTimingInterceptor;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times the {@link OrderService} and {@link ProductService} methods. The advisor runs outside the transaction
+     * advice, so the timings include the commit.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        ServiceTimingInterceptor interceptor = new ServiceTimingInterceptor(List.of(OrderService.class, ProductService.class), registry);
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(interceptor.pointcut(), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.ecommerceordermanagementsystem.config;
+
+import org.example.ecommerceordermanagementsystem.profiling.ProfilingDataSource;
+import org.example.ecommerceordermanagementsystem.profiling.SqlProfiler;
+import org.example.ecommerceordermanagementsystem.profiling.SqlProfilingFilter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlProfilingConfig {
+
+    /**
+     * Wraps the connection pool so that sampled requests get profiled connections. The pool stays reachable through
+     * {@code unwrap}, which is how its metrics and health check find it.
+     */
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Runs right after the request ID filter, so that the profile covers everything the request does and the header
+     * is added before any other filter commits the response.
+     */
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler profiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration = new FilterRegistrationBean<>(new SqlProfilingFilter(profiler));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.ecommerceordermanagementsystem.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.metrics.HibernateRequestMetricsInterceptor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final HibernateRequestMetricsInterceptor hibernateRequestMetrics;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(hibernateRequestMetrics);
+    }
+
+    /**
+     * Weak ETags for list endpoints, hashed from the rendered body: a matching {@code If-None-Match} still costs
+     * the query but not the transfer. Single resources carry strong, version-based ETags from their controllers, and
+     * the NDJSON export is left out because the filter would buffer it.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter();
+        filter.setWriteWeakETag(true);
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(
+                "/api/products", "/api/products/scroll", "/api/products/search", "/api/products/suggest",
+                "/api/products/facets", "/api/orders", "/api/orders/scroll", "/api/orders/customer/*",
+                "/api/analytics/sales");
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.ecommerceordermanagementsystem.confirmation;
+
+import org.example.ecommerceordermanagementsystem.dto.OrderConfirmationResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A wave of orders submitted to the {@link OrderConfirmationPipeline}, collecting one result per order as the
+ * batches holding them are processed.
+ */
+public final class ConfirmationTicket {
+
+    private final String id;
+    private final List<Long> orderIds;
+    private final String callbackUrl;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final Map<Long, OrderConfirmationResponse> results = new ConcurrentHashMap<>();
+    private final CompletableFuture<ConfirmationTicket> completion = new CompletableFuture<>();
+    private volatile LocalDateTime completedAt;
+
+    ConfirmationTicket(String id, List<Long> orderIds, String callbackUrl) {
+        this.id = id;
+        this.orderIds = orderIds;
+        this.callbackUrl = callbackUrl;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public List<Long> orderIds() {
+        return orderIds;
+    }
+
+    public String callbackUrl() {
+        return callbackUrl;
+    }
+
+    public LocalDateTime submittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime completedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Results so far, in submission order.
+     */
+    public List<OrderConfirmationResponse> results() {
+        return orderIds.stream().map(results::get).filter(result -> result != null).toList();
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    /**
+     * Completes with the ticket once every order has a result.
+     */
+    public CompletableFuture<ConfirmationTicket> completion() {
+        return completion;
+    }
+
+    void record(OrderConfirmationResponse result) {
+        results.put(result.getOrderId(), result);
+        // Only the pipeline's worker records results, so the count cannot be reached twice.
+        if (results.size() == orderIds.size()) {
+            completedAt = LocalDateTime.now();
+            completion.complete(this);
+        }
+    }
+}
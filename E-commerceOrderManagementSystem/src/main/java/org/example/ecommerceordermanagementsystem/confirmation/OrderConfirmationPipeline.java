@@ -0,0 +1,242 @@
+package org.example.ecommerceordermanagementsystem.confirmation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.example.ecommerceordermanagementsystem.dto.ConfirmationTicketResponse;
+import org.example.ecommerceordermanagementsystem.dto.OrderConfirmationResponse;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
+import org.example.ecommerceordermanagementsystem.exception.ConfirmationQueueFullException;
+import org.example.ecommerceordermanagementsystem.exception.InvalidCallbackUrlException;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Confirms orders asynchronously in micro-batches.
+ * <p>
+ * Submitted orders go onto a queue of {@code oms.confirmations.queue-capacity}; a wave that does not fit is rejected
+ * as a whole. A single worker drains up to {@code oms.confirmations.batch-size} orders at a time and confirms them with
+ * {@link OrderService#confirmOrders} in one transaction, which coalesces the stock commits per product across the
+ * batch. If the batch transaction fails, its orders are retried one by one so that one bad order cannot fail the
+ * others.
+ * <p>
+ * Callers poll the returned {@link ConfirmationTicket}, which is kept for {@code oms.confirmations.ticket-retention},
+ * or pass a callback URL that the finished ticket is POSTed to once. Callback URLs must point to one of
+ * {@code oms.confirmations.callback.allowed-hosts}, so that clients cannot make the service POST to internal hosts or
+ * to its own endpoints; callbacks are sent one at a time and give up after {@code connect-timeout} and
+ * {@code read-timeout}, so that a slow receiver cannot hold up the callbacks behind it for long. Orders still queued at
+ * shutdown are confirmed before the pipeline stops.
+ */
+@Component
+public class OrderConfirmationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderConfirmationPipeline.class);
+    private static final long POLL_TIMEOUT_MS = 200;
+
+    private final OrderService orderService;
+    private final RestClient restClient;
+    private final Set<String> allowedCallbackHosts;
+    private final int batchSize;
+    private final BlockingQueue<QueuedConfirmation> queue;
+    // Makes the capacity check and the enqueueing of a wave atomic with respect to other submitters.
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private final Cache<String, ConfirmationTicket> tickets;
+    private final ExecutorService callbackExecutor;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    @Autowired
+    public OrderConfirmationPipeline(OrderService orderService,
+                                     RestClient.Builder restClientBuilder,
+                                     @Value("${oms.confirmations.queue-capacity:100000}") int queueCapacity,
+                                     @Value("${oms.confirmations.batch-size:200}") int batchSize,
+                                     @Value("${oms.confirmations.ticket-retention:1h}") Duration ticketRetention,
+                                     @Value("${oms.confirmations.callback.allowed-hosts:}") Set<String> allowedCallbackHosts,
+                                     @Value("${oms.confirmations.callback.connect-timeout:2s}") Duration connectTimeout,
+                                     @Value("${oms.confirmations.callback.read-timeout:5s}") Duration readTimeout) {
+        this(orderService, restClientBuilder.requestFactory(callbackRequestFactory(connectTimeout, readTimeout)).build(),
+                queueCapacity, batchSize, ticketRetention, allowedCallbackHosts);
+    }
+
+    public OrderConfirmationPipeline(OrderService orderService, RestClient restClient, int queueCapacity, int batchSize,
+                                     Duration ticketRetention, Set<String> allowedCallbackHosts) {
+        this.orderService = orderService;
+        this.restClient = restClient;
+        this.allowedCallbackHosts = allowedCallbackHosts.stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .filter(host -> !host.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.tickets = Caffeine.newBuilder().expireAfterWrite(ticketRetention).build();
+        this.callbackExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-confirmation-callbacks");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker = new Thread(this::drainLoop, "order-confirmation-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Queues the orders for confirmation and returns the ticket tracking them. Duplicate IDs are confirmed once.
+     *
+     * @throws InvalidCallbackUrlException if the callback URL does not point to an allowed host
+     * @throws ConfirmationQueueFullException if the queue has no room for all of the orders
+     */
+    public ConfirmationTicket submit(Collection<Long> orderIds, String callbackUrl) {
+        if (callbackUrl != null) {
+            requireAllowedCallback(callbackUrl);
+        }
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(orderIds));
+        ConfirmationTicket ticket = new ConfirmationTicket(UUID.randomUUID().toString(), distinctIds, callbackUrl);
+        tickets.put(ticket.id(), ticket);
+        submitLock.lock();
+        try {
+            if (!running || queue.remainingCapacity() < distinctIds.size()) {
+                tickets.invalidate(ticket.id());
+                throw new ConfirmationQueueFullException("The confirmation queue cannot take " + distinctIds.size()
+                        + " more orders, please retry later");
+            }
+            distinctIds.forEach(orderId -> queue.add(new QueuedConfirmation(ticket, orderId)));
+        } finally {
+            submitLock.unlock();
+        }
+        if (callbackUrl != null) {
+            ticket.completion().thenAcceptAsync(this::notifyCallback, callbackExecutor);
+        }
+        log.info("Queued {} orders for confirmation under ticket {}", distinctIds.size(), ticket.id());
+        return ticket;
+    }
+
+    public Optional<ConfirmationTicket> ticket(String id) {
+        return Optional.ofNullable(tickets.getIfPresent(id));
+    }
+
+    @PreDestroy
+    public void close() {
+        running = false;
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<QueuedConfirmation> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            process(batch);
+            batch.clear();
+        }
+        callbackExecutor.shutdown();
+    }
+
+    private void drainLoop() {
+        List<QueuedConfirmation> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                QueuedConfirmation first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Confirmation worker failed on a batch of {} orders", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<QueuedConfirmation> batch) {
+        List<Long> orderIds = batch.stream().map(QueuedConfirmation::orderId).distinct().toList();
+        Map<Long, OrderConfirmationResponse> results = new HashMap<>();
+        try {
+            orderService.confirmOrders(orderIds).forEach(result -> results.put(result.getOrderId(), result));
+        } catch (RuntimeException e) {
+            log.warn("Confirmation batch of {} orders failed, confirming them one by one: {}", orderIds.size(), e.getMessage());
+            orderIds.forEach(orderId -> results.put(orderId, confirmAlone(orderId)));
+        }
+        batch.forEach(item -> item.ticket().record(results.get(item.orderId())));
+    }
+
+    private OrderConfirmationResponse confirmAlone(Long orderId) {
+        try {
+            return orderService.confirmOrders(List.of(orderId)).get(0);
+        } catch (RuntimeException e) {
+            log.error("Failed to confirm order {}", orderId, e);
+            return OrderConfirmationResponse.of(orderId, ConfirmationOutcome.FAILED, e.getMessage());
+        }
+    }
+
+    private void requireAllowedCallback(String callbackUrl) {
+        URI uri;
+        try {
+            uri = URI.create(callbackUrl);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCallbackUrlException("Callback URL is malformed");
+        }
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        if (!scheme.equals("http") && !scheme.equals("https") || uri.getHost() == null || uri.getUserInfo() != null) {
+            throw new InvalidCallbackUrlException("Callback URL must be an absolute http or https URL");
+        }
+        if (!allowedCallbackHosts.contains(uri.getHost().toLowerCase(Locale.ROOT))) {
+            throw new InvalidCallbackUrlException("Callbacks to host " + uri.getHost() + " are not allowed");
+        }
+    }
+
+    private static SimpleClientHttpRequestFactory callbackRequestFactory(Duration connectTimeout, Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+
+    private void notifyCallback(ConfirmationTicket ticket) {
+        try {
+            restClient.post()
+                    .uri(ticket.callbackUrl())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ConfirmationTicketResponse.fromTicket(ticket))
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException e) {
+            log.warn("Confirmation callback for ticket {} to {} failed: {}", ticket.id(), ticket.callbackUrl(), e.getMessage());
+        }
+    }
+
+    private record QueuedConfirmation(ConfirmationTicket ticket, Long orderId) {
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.ecommerceordermanagementsystem.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.dto.SalesAggregateResponse;
+import org.example.ecommerceordermanagementsystem.enums.SalesDimension;
+import org.example.ecommerceordermanagementsystem.service.SalesAggregateService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics API", description = "Endpoints for sales reporting")
+public class AnalyticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsController.class);
+    private final SalesAggregateService salesAggregateService;
+
+    @Operation(summary = "Get revenue, units and order counts between two order dates (inclusive), grouped by DAY, STATUS and/or CATEGORY")
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesAggregateResponse>> getSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Set<SalesDimension> groupBy) {
+        log.info("GET /api/analytics/sales request received with from={}, to={}, groupBy={}", from, to, groupBy);
+        List<SalesAggregateResponse> sales = salesAggregateService.getSales(from, to, groupBy == null ? Set.of() : groupBy);
+        return ResponseEntity.ok(sales);
+    }
+
+    @Operation(summary = "Rebuild the sales aggregates from the order items")
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<Void> rebuildSales() {
+        log.info("POST /api/analytics/sales/rebuild request received");
+        salesAggregateService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
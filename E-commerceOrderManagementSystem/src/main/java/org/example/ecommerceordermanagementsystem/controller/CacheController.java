@@ -0,0 +1,36 @@
+package org.example.ecommerceordermanagementsystem.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.cache.ProductCache;
+import org.example.ecommerceordermanagementsystem.dto.CacheStatsResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/caches")
+@RequiredArgsConstructor
+@Tag(name = "Cache API", description = "Operational endpoints for in-memory caches")
+public class CacheController {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheController.class);
+    private final ProductCache productCache;
+
+    @Operation(summary = "Get hit, miss and eviction statistics of the product caches")
+    @GetMapping
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        log.info("GET /internal/caches request received");
+        Map<String, Long> sizes = productCache.estimatedSizes();
+        List<CacheStatsResponse> stats = productCache.stats().entrySet().stream()
+                .map(entry -> CacheStatsResponse.of(entry.getKey(), sizes.get(entry.getKey()), entry.getValue()))
+                .toList();
+        return ResponseEntity.ok(stats);
+    }
+}
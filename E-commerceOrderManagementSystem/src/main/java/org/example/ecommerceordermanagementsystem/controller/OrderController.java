@@ -1,23 +1,43 @@
 package org.example.ecommerceordermanagementsystem.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.confirmation.ConfirmationTicket;
+import org.example.ecommerceordermanagementsystem.confirmation.OrderConfirmationPipeline;
+import org.example.ecommerceordermanagementsystem.dto.ConfirmOrdersRequest;
+import org.example.ecommerceordermanagementsystem.dto.ConfirmationTicketResponse;
 import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
 import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
 import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.exception.ConfirmationTicketNotFoundException;
+import org.example.ecommerceordermanagementsystem.idempotency.OrderIdempotencyStore;
+import org.example.ecommerceordermanagementsystem.intake.OrderIntakeCombiner;
 import org.example.ecommerceordermanagementsystem.service.OrderService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,7 +46,13 @@ import java.util.List;
 public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     private final OrderService orderService;
+    private final OrderConfirmationPipeline confirmationPipeline;
+    private final OrderIntakeCombiner orderIntake;
+    private final OrderIdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Get all orders with pagination")
     @GetMapping
@@ -41,19 +67,59 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @Operation(summary = "Scroll through orders with a keyset cursor, without OFFSET scans or a total count")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<OrderResponse>> scrollOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPage.MAX_SIZE) int size,
+            @RequestParam(defaultValue = "orderDate,desc") String[] sort) {
+        log.info("GET /api/orders/scroll request received with after={}, size={}, sort={}", after, size, sort);
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(sort[1]), sort[0]);
+        CursorPage<OrderResponse> orders = orderService.scrollOrders(order, after, size);
+        return ResponseEntity.ok(orders);
+    }
+
+    @Operation(summary = "Export orders as newline-delimited JSON, streamed without paging")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /api/orders/export request received with status={}, from={}, to={}", status, from, to);
+        ObjectWriter writer = objectMapper.writer();
+        StreamingResponseBody body = outputStream -> orderService.exportOrders(status, from, to, order -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(order));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     @Operation(summary = "Get order by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/orders/{} request received", id);
+        // The ETag is taken before the body, so a concurrent change can only make the tag older than the body.
+        String etag = orderService.getOrderETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         OrderResponse order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok().eTag(etag).body(order);
     }
 
-    @Operation(summary = "Create a new order")
+    @Operation(summary = "Create a new order; retries with the same Idempotency-Key get the first response back")
     @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public ResponseEntity<OrderResponse> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateOrderRequest request) {
         log.info("POST /api/orders request received for customer: {}", request.getCustomerEmail());
-        OrderResponse newOrder = orderService.createOrder(request);
+        OrderResponse newOrder = idempotencyKey == null
+                ? orderIntake.createOrder(request)
+                : idempotencyStore.createOrder(idempotencyKey, request);
         return new ResponseEntity<>(newOrder, HttpStatus.CREATED);
     }
 
@@ -75,11 +141,36 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Get all orders by customer email")
+    @Operation(summary = "Queue PENDING orders for confirmation in batches; poll the returned ticket or pass a callback URL")
+    @PostMapping("/confirmations")
+    public ResponseEntity<ConfirmationTicketResponse> confirmOrders(@Valid @RequestBody ConfirmOrdersRequest request) {
+        log.info("POST /api/orders/confirmations request received for {} orders", request.getOrderIds().size());
+        ConfirmationTicket ticket = confirmationPipeline.submit(request.getOrderIds(), request.getCallbackUrl());
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(ticket.id()).toUri();
+        return ResponseEntity.accepted().location(location).body(ConfirmationTicketResponse.fromTicket(ticket));
+    }
+
+    @Operation(summary = "Get the progress and per-order results of a confirmation ticket")
+    @GetMapping("/confirmations/{ticketId}")
+    public ResponseEntity<ConfirmationTicketResponse> getConfirmationTicket(@PathVariable String ticketId) {
+        log.info("GET /api/orders/confirmations/{} request received", ticketId);
+        ConfirmationTicket ticket = confirmationPipeline.ticket(ticketId)
+                .orElseThrow(() -> new ConfirmationTicketNotFoundException("Confirmation ticket " + ticketId + " not found or expired"));
+        return ResponseEntity.ok(ConfirmationTicketResponse.fromTicket(ticket));
+    }
+
+    @Operation(summary = "Get the order history of a customer, newest first, with a keyset cursor")
     @GetMapping("/customer/{email}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByCustomerEmail(@PathVariable String email) {
-        log.info("GET /api/orders/customer/{} request received", email);
-        List<OrderResponse> orders = orderService.getOrdersByCustomerEmail(email);
+    public ResponseEntity<CursorPage<OrderResponse>> getOrdersByCustomerEmail(
+            @PathVariable String email,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPage.MAX_SIZE) int size) {
+        log.info("GET /api/orders/customer/{} request received with status={}, from={}, to={}, after={}, size={}",
+                email, status, from, to, after, size);
+        CursorPage<OrderResponse> orders = orderService.getOrdersByCustomerEmail(email, status, from, to, after, size);
         return ResponseEntity.ok(orders);
     }
 }
\ No newline at end of file
@@ -3,9 +3,14 @@ package org.example.ecommerceordermanagementsystem.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.dto.CategoryFacetResponse;
 import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
 import org.example.ecommerceordermanagementsystem.dto.ProductResponse;
+import org.example.ecommerceordermanagementsystem.dto.ProductSuggestionResponse;
 import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
 import org.example.ecommerceordermanagementsystem.service.ProductService;
 import org.springframework.data.domain.Page;
@@ -15,8 +20,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/products")
@@ -40,12 +47,45 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    @Operation(summary = "Scroll through products with a keyset cursor, without OFFSET scans or a total count")
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<ProductResponse>> scrollProducts(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(CursorPage.MAX_SIZE) int size,
+            @RequestParam(defaultValue = "id,asc") String[] sort) {
+        log.info("GET /api/products/scroll request received with after={}, size={}, sort={}", after, size, sort);
+        Sort.Order order = new Sort.Order(Sort.Direction.fromString(sort[1]), sort[0]);
+        CursorPage<ProductResponse> products = productService.scrollProducts(order, after, size);
+        return ResponseEntity.ok(products);
+    }
+
+    @Operation(summary = "Suggest active products whose name has a word starting with the prefix, most popular first")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/products/suggest request received with prefix={}, limit={}", prefix, limit);
+        return ResponseEntity.ok(productService.suggestProducts(prefix, limit));
+    }
+
+    @Operation(summary = "Count active and in-stock products per category")
+    @GetMapping("/facets")
+    public ResponseEntity<List<CategoryFacetResponse>> getCategoryFacets() {
+        log.debug("GET /api/products/facets request received");
+        return ResponseEntity.ok(productService.getCategoryFacets());
+    }
+
     @Operation(summary = "Get product by ID")
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest request) {
         log.info("GET /api/products/{} request received", id);
+        // The ETag is taken before the body, so a concurrent change can only make the tag older than the body.
+        String etag = productService.getProductETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ProductResponse product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().eTag(etag).body(product);
     }
 
     @Operation(summary = "Create a new product")
@@ -0,0 +1,51 @@
+package org.example.ecommerceordermanagementsystem.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.dto.SqlProfilingResponse;
+import org.example.ecommerceordermanagementsystem.dto.SqlProfilingSettingsRequest;
+import org.example.ecommerceordermanagementsystem.profiling.SqlProfiler;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/internal/slow-queries")
+@RequiredArgsConstructor
+@Tag(name = "SQL Profiling API", description = "Operational endpoints for per-request SQL profiling")
+public class SqlProfilingController {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfilingController.class);
+    private final SqlProfiler sqlProfiler;
+
+    @Operation(summary = "Get the profiling settings and the captured slow queries, slowest first")
+    @GetMapping
+    public ResponseEntity<SqlProfilingResponse> getSlowQueries() {
+        log.info("GET /internal/slow-queries request received");
+        return ResponseEntity.ok(SqlProfilingResponse.fromProfiler(sqlProfiler));
+    }
+
+    @Operation(summary = "Change the sample rate and slow query threshold at runtime")
+    @PutMapping("/settings")
+    public ResponseEntity<SqlProfilingResponse> updateSettings(@Valid @RequestBody SqlProfilingSettingsRequest request) {
+        log.info("PUT /internal/slow-queries/settings request received: {}", request);
+        sqlProfiler.update(request.getSampleRate(), request.getSlowThresholdMs());
+        return ResponseEntity.ok(SqlProfilingResponse.fromProfiler(sqlProfiler));
+    }
+
+    @Operation(summary = "Discard the captured slow queries")
+    @DeleteMapping
+    public ResponseEntity<Void> clearSlowQueries() {
+        log.info("DELETE /internal/slow-queries request received");
+        sqlProfiler.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
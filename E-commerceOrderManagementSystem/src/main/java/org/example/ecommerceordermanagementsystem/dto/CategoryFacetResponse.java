@@ -0,0 +1,21 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.search.CategoryFacet;
+
+@Data
+@Builder
+public class CategoryFacetResponse {
+    private String category;
+    private long productCount;
+    private long inStockCount;
+
+    public static CategoryFacetResponse fromFacet(CategoryFacet facet) {
+        return CategoryFacetResponse.builder()
+                .category(facet.category())
+                .productCount(facet.productCount())
+                .inStockCount(facet.inStockCount())
+                .build();
+    }
+}
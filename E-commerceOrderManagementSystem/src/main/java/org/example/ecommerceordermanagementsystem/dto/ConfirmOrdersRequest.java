@@ -0,0 +1,18 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class ConfirmOrdersRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 10000, message = "At most 10000 orders can be confirmed per request")
+    private List<@NotNull(message = "Order ID cannot be null") Long> orderIds;
+
+    @Pattern(regexp = "https?://.+", message = "Callback URL must be an http or https URL")
+    private String callbackUrl;
+}
@@ -0,0 +1,32 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.confirmation.ConfirmationTicket;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class ConfirmationTicketResponse {
+    private String id;
+    private boolean completed;
+    private int orderCount;
+    private int pendingCount;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private List<OrderConfirmationResponse> results;
+
+    public static ConfirmationTicketResponse fromTicket(ConfirmationTicket ticket) {
+        List<OrderConfirmationResponse> results = ticket.results();
+        return ConfirmationTicketResponse.builder()
+                .id(ticket.id())
+                .completed(ticket.isCompleted())
+                .orderCount(ticket.orderIds().size())
+                .pendingCount(ticket.orderIds().size() - results.size())
+                .submittedAt(ticket.submittedAt())
+                .completedAt(ticket.completedAt())
+                .results(results)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.ecommerceordermanagementsystem.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -23,5 +24,9 @@ public class CreateProductRequest {
     @NotBlank(message = "Product category cannot be empty")
     private String category;
 
+    @Min(value = 1, message = "Stock shards must be at least 1")
+    @Max(value = 64, message = "Stock shards cannot exceed 64")
+    private Integer stockShards;
+
     private Boolean isActive;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CursorPage<T> {
+
+    /**
+     * Largest slice a client may ask for.
+     */
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
+
+@Data
+@Builder
+public class OrderConfirmationResponse {
+    private Long orderId;
+    private ConfirmationOutcome outcome;
+    private String message;
+
+    public static OrderConfirmationResponse of(Long orderId, ConfirmationOutcome outcome, String message) {
+        return OrderConfirmationResponse.builder()
+                .orderId(orderId)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+}
@@ -2,12 +2,14 @@ package org.example.ecommerceordermanagementsystem.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 import org.example.ecommerceordermanagementsystem.entity.OrderItem;
 
 import java.math.BigDecimal;
 
 @Data
 @Builder
+@Jacksonized
 public class OrderItemResponse {
     private Long id;
     private Long productId;
@@ -17,10 +19,14 @@ public class OrderItemResponse {
     private BigDecimal totalPrice;
 
     public static OrderItemResponse fromEntity(OrderItem orderItem) {
+        return fromEntity(orderItem, orderItem.getProduct().getName());
+    }
+
+    public static OrderItemResponse fromEntity(OrderItem orderItem, String productName) {
         return OrderItemResponse.builder()
                 .id(orderItem.getId())
                 .productId(orderItem.getProduct().getId())
-                .productName(orderItem.getProduct().getName())
+                .productName(productName)
                 .quantity(orderItem.getQuantity())
                 .unitPrice(orderItem.getUnitPrice())
                 .totalPrice(orderItem.getTotalPrice())
@@ -2,16 +2,20 @@ package org.example.ecommerceordermanagementsystem.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
 import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Data
 @Builder
+@Jacksonized
 public class OrderResponse {
     private Long id;
     private String customerName;
@@ -22,6 +26,10 @@ public class OrderResponse {
     private List<OrderItemResponse> orderItems;
 
     public static OrderResponse fromEntity(Order order) {
+        return fromEntity(order, OrderItemResponse::fromEntity);
+    }
+
+    public static OrderResponse fromEntity(Order order, Function<OrderItem, OrderItemResponse> itemMapper) {
         return OrderResponse.builder()
                 .id(order.getId())
                 .customerName(order.getCustomerName())
@@ -30,7 +38,7 @@ public class OrderResponse {
                 .status(order.getStatus())
                 .totalAmount(order.getTotalAmount())
                 .orderItems(order.getOrderItems().stream()
-                        .map(OrderItemResponse::fromEntity)
+                        .map(itemMapper)
                         .collect(Collectors.toList()))
                 .build();
     }
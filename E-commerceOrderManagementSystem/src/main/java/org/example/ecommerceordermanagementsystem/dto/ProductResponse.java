@@ -2,6 +2,7 @@ package org.example.ecommerceordermanagementsystem.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
 import org.example.ecommerceordermanagementsystem.entity.Product;
 
 import java.math.BigDecimal;
@@ -14,6 +15,7 @@ public class ProductResponse {
     private String name;
     private BigDecimal price;
     private Integer stock;
+    private Integer stockShards;
     private String category;
     private Boolean isActive;
     private LocalDateTime createdAt;
@@ -24,9 +26,23 @@ public class ProductResponse {
                 .name(product.getName())
                 .price(product.getPrice())
                 .stock(product.getStock())
+                .stockShards(product.getStockShards())
                 .category(product.getCategory())
                 .isActive(product.getIsActive())
                 .createdAt(product.getCreatedAt())
                 .build();
     }
+
+    public static ProductResponse fromSnapshot(ProductSnapshot product) {
+        return ProductResponse.builder()
+                .id(product.id())
+                .name(product.name())
+                .price(product.price())
+                .stock(product.stock())
+                .stockShards(product.stockShards())
+                .category(product.category())
+                .isActive(product.active())
+                .createdAt(product.createdAt())
+                .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestion;
+
+@Data
+@Builder
+public class ProductSuggestionResponse {
+    private Long id;
+    private String name;
+    private long popularity;
+
+    public static ProductSuggestionResponse fromSuggestion(ProductSuggestion suggestion) {
+        return ProductSuggestionResponse.builder()
+                .id(suggestion.id())
+                .name(suggestion.name())
+                .popularity(suggestion.popularity())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.repository.SalesTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class SalesAggregateResponse {
+    private LocalDate day;
+    private OrderStatus status;
+    private String category;
+    private BigDecimal revenue;
+    private long units;
+    private long orderCount;
+
+    public static SalesAggregateResponse fromTotal(SalesTotal total) {
+        return SalesAggregateResponse.builder()
+                .day(total.day())
+                .status(total.status())
+                .category(total.category())
+                .revenue(total.revenue())
+                .units(total.units())
+                .orderCount(total.orders())
+                .build();
+    }
+}
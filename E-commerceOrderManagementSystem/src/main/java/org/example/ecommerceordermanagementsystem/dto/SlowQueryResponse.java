@@ -0,0 +1,27 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.profiling.SlowQuery;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class SlowQueryResponse {
+    private Instant executedAt;
+    private double durationMillis;
+    private String endpoint;
+    private String sql;
+    private List<String> bindTypes;
+
+    public static SlowQueryResponse fromSlowQuery(SlowQuery slowQuery) {
+        return SlowQueryResponse.builder()
+                .executedAt(slowQuery.executedAt())
+                .durationMillis(slowQuery.durationNanos() / 1_000_000.0)
+                .endpoint(slowQuery.endpoint())
+                .sql(slowQuery.sql())
+                .bindTypes(slowQuery.bindTypes())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.ecommerceordermanagementsystem.profiling.SqlProfiler;
+import java.util.List;
+
+@Data
+@Builder
+public class SqlProfilingResponse {
+    private double sampleRate;
+    private long slowThresholdMs;
+    private int capacity;
+    private List<SlowQueryResponse> slowQueries;
+
+    public static SqlProfilingResponse fromProfiler(SqlProfiler profiler) {
+        return SqlProfilingResponse.builder()
+                .sampleRate(profiler.sampleRate())
+                .slowThresholdMs(profiler.slowThresholdMs())
+                .capacity(profiler.slowQueryCapacity())
+                .slowQueries(profiler.slowQueries().stream().map(SlowQueryResponse::fromSlowQuery).toList())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.ecommerceordermanagementsystem.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlProfilingSettingsRequest {
+    @NotNull(message = "Sample rate cannot be null")
+    @DecimalMin(value = "0.0", message = "Sample rate cannot be negative")
+    @DecimalMax(value = "1.0", message = "Sample rate cannot exceed 1")
+    private Double sampleRate;
+
+    @NotNull(message = "Slow query threshold cannot be null")
+    @Min(value = 0, message = "Slow query threshold cannot be negative")
+    private Long slowThresholdMs;
+}
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.id.SnowflakeId;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -12,18 +13,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, id"),
+        @Index(name = "idx_orders_customer_email_order_date", columnList = "customer_email, order_date")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "customer_name", nullable = false)
     private String customerName;
 
+    // Stored lowercase so that history lookups can use the (customer_email, order_date) index.
     @Column(name = "customer_email", nullable = false)
     private String customerEmail;
 
@@ -40,6 +45,9 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.orderDate = LocalDateTime.now();
@@ -4,17 +4,18 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.example.ecommerceordermanagementsystem.id.SnowflakeId;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = @Index(name = "idx_products_created_at_id", columnList = "created_at, id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
@@ -26,6 +27,9 @@ public class Product {
     @Column(nullable = false)
     private Integer stock;
 
+    @Column(name = "stock_shards", nullable = false)
+    private Integer stockShards = 1;
+
     private String category;
 
     @Column(name = "is_active", nullable = false)
@@ -34,6 +38,10 @@ public class Product {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Bumped on every entity update. Stock is written behind in bulk by the reservation engine and does not touch it.
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -0,0 +1,9 @@
+package org.example.ecommerceordermanagementsystem.enums;
+
+public enum ConfirmationOutcome {
+    CONFIRMED,
+    ALREADY_CONFIRMED,
+    NOT_FOUND,
+    INVALID_STATUS,
+    FAILED
+}
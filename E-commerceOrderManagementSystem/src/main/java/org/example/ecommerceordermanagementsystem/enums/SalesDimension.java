@@ -0,0 +1,7 @@
+package org.example.ecommerceordermanagementsystem.enums;
+
+public enum SalesDimension {
+    DAY,
+    STATUS,
+    CATEGORY
+}
@@ -0,0 +1,11 @@
+package org.example.ecommerceordermanagementsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ConfirmationQueueFullException extends RuntimeException {
+    public ConfirmationQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.ecommerceordermanagementsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ConfirmationTicketNotFoundException extends RuntimeException {
+    public ConfirmationTicketNotFoundException(String message) {
+        super(message);
+    }
+}
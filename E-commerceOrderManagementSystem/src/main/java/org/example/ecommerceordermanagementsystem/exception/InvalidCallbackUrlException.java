@@ -0,0 +1,11 @@
+package org.example.ecommerceordermanagementsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCallbackUrlException extends RuntimeException {
+    public InvalidCallbackUrlException(String message) {
+        super(message);
+    }
+}
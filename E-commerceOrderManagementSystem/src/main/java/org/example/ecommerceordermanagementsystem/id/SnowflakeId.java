@@ -0,0 +1,20 @@
+package org.example.ecommerceordermanagementsystem.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks an identifier as generated application-side by {@link SnowflakeIdGenerator}.
+ * Unlike {@code GenerationType.IDENTITY}, the id is known before the INSERT runs, so Hibernate can batch inserts.
+ */
+@IdGeneratorType(SnowflakeIdGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,77 @@
+package org.example.ecommerceordermanagementsystem.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered id generator in the spirit of Twitter's Snowflake.
+ * <p>
+ * Layout (53 bits, so ids stay exact as JSON numbers in JavaScript clients):
+ * <pre>
+ *   | 33 bits seconds since 2024-01-01 | 4 bits node | 16 bits sequence |
+ * </pre>
+ * Ids are strictly increasing per node. When the 65,536 ids of one second are used up the generator borrows the
+ * next second instead of blocking, and the wall clock catches up once the burst is over.
+ * <p>
+ * The node id is read from the {@code oms.id.node-id} Hibernate setting
+ * ({@code spring.jpa.properties.oms.id.node-id}) and must be unique per running instance.
+ */
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String NODE_ID_SETTING = "oms.id.node-id";
+    public static final long EPOCH_SECONDS = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+
+    static final int SEQUENCE_BITS = 16;
+    static final int NODE_BITS = 4;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    // seconds << SEQUENCE_BITS | sequence of the last issued id
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        this(context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSetting(NODE_ID_SETTING, value -> Long.parseLong(value.toString()), 0L));
+    }
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, () -> Instant.now().getEpochSecond());
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier epochSecondClock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Snowflake node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = epochSecondClock;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+
+    public long nextId() {
+        long floor = (clock.getAsLong() - EPOCH_SECONDS) << SEQUENCE_BITS;
+        long state = lastState.updateAndGet(last -> Math.max(last + 1, floor));
+        long seconds = state >>> SEQUENCE_BITS;
+        return (seconds << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (state & SEQUENCE_MASK);
+    }
+
+    /**
+     * Returns the creation second encoded in an id produced by this generator.
+     */
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochSecond((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_SECONDS);
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.ecommerceordermanagementsystem.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.entity.IdempotencyRecord;
+import org.example.ecommerceordermanagementsystem.exception.IdempotencyKeyInProgressException;
+import org.example.ecommerceordermanagementsystem.exception.IdempotencyKeyReusedException;
+import org.example.ecommerceordermanagementsystem.exception.InvalidIdempotencyKeyException;
+import org.example.ecommerceordermanagementsystem.repository.IdempotencyRecordRepository;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates an order at most once per {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key creates the order and, in the same transaction, stores the response JSON in
+ * {@code idempotency_keys} together with a fingerprint of the request. Retries within {@code oms.idempotency.retention}
+ * get that response back without touching {@code orders} or {@code products}, from memory for the last
+ * {@code maximum-size} keys and from the table otherwise. A duplicate arriving while the first request is still running
+ * waits up to {@code in-flight-timeout} for its outcome instead of running it again, and gets the same exception if it
+ * failed; a failed request is not remembered, so a later retry runs afresh. Reusing a key for a different request is
+ * rejected. Across instances, the primary key of {@code idempotency_keys} lets only one order commit per key.
+ * <p>
+ * Keyed orders are created in their own transaction and do not take part in group-commit intake.
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyStore.class);
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration retention;
+    private final Duration inFlightTimeout;
+    private final Cache<String, Execution> executions;
+
+    public OrderIdempotencyStore(OrderService orderService,
+                                 IdempotencyRecordRepository repository,
+                                 EntityManager entityManager,
+                                 TransactionTemplate transactionTemplate,
+                                 ObjectMapper objectMapper,
+                                 @Value("${oms.idempotency.retention:24h}") Duration retention,
+                                 @Value("${oms.idempotency.maximum-size:10000}") long maximumSize,
+                                 @Value("${oms.idempotency.in-flight-timeout:30s}") Duration inFlightTimeout) {
+        this.orderService = orderService;
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.inFlightTimeout = inFlightTimeout;
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    /**
+     * Creates the order for the first request with this key and returns the stored response for every retry.
+     */
+    public OrderResponse createOrder(String key, CreateOrderRequest request) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters long");
+        }
+        String requestHash = fingerprint(request);
+        Execution execution = new Execution(requestHash, new CompletableFuture<>());
+        Execution first = executions.asMap().putIfAbsent(key, execution);
+        if (first != null) {
+            return awaitFirst(key, first, requestHash);
+        }
+        try {
+            OrderResponse response = execute(key, requestHash, request);
+            execution.result().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            executions.asMap().remove(key, execution);
+            execution.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Deletes the stored responses that are past their retention.
+     */
+    @Scheduled(initialDelayString = "${oms.idempotency.purge-interval-ms:3600000}",
+            fixedDelayString = "${oms.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private OrderResponse awaitFirst(String key, Execution first, String requestHash) {
+        requireSameRequest(key, first.requestHash(), requestHash);
+        log.info("Order request with idempotency key {} is a retry, answering it with the first request's outcome", key);
+        try {
+            return first.result().get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException("The order request with idempotency key " + key + " is still in progress, please retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for the order request with idempotency key " + key);
+        }
+    }
+
+    private OrderResponse execute(String key, String requestHash, CreateOrderRequest request) {
+        try {
+            return transactionTemplate.execute(status -> {
+                IdempotencyRecord stored = entityManager.find(IdempotencyRecord.class, key);
+                if (stored != null) {
+                    if (!isExpired(stored)) {
+                        return replay(stored, requestHash);
+                    }
+                    entityManager.remove(stored);
+                    // Inserts are flushed before deletes, so the expired row has to go first.
+                    entityManager.flush();
+                }
+                OrderResponse response = orderService.createOrder(request);
+                entityManager.persist(new IdempotencyRecord(key, requestHash, response.getId(), toJson(response), LocalDateTime.now()));
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed an order for this key first.
+            return repository.findById(key)
+                    .map(stored -> replay(stored, requestHash))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private OrderResponse replay(IdempotencyRecord stored, String requestHash) {
+        requireSameRequest(stored.getKey(), stored.getRequestHash(), requestHash);
+        log.info("Replaying order {} for idempotency key {}", stored.getOrderId(), stored.getKey());
+        try {
+            return objectMapper.readValue(stored.getResponse(), OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response of idempotency key " + stored.getKey() + " is unreadable", e);
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord stored) {
+        return stored.getCreatedAt().isBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private static void requireSameRequest(String key, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new IdempotencyKeyReusedException("Idempotency key " + key + " was already used for a different order request");
+        }
+    }
+
+    private String toJson(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Order response could not be serialized", e);
+        }
+    }
+
+    private String fingerprint(CreateOrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Order request could not be fingerprinted", e);
+        }
+    }
+
+    private record Execution(String requestHash, CompletableFuture<OrderResponse> result) {
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.ecommerceordermanagementsystem.intake;
+
+import jakarta.annotation.PreDestroy;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entry point for order creation with an opt-in group-commit mode.
+ * <p>
+ * With {@code oms.intake.group-commit.enabled} off, {@link #createOrder} simply calls {@link OrderService#createOrder}.
+ * With it on, callers hand their request to a combiner thread and wait. The combiner collects up to
+ * {@code max-batch-size} requests, waiting at most {@code max-wait-ms} after the first one, and creates them all in
+ * one transaction through {@link OrderService#createOrders}, so a burst pays for one commit and one connection
+ * checkout instead of one per order.
+ * <p>
+ * A request that fails validation or stock reservation gets its own exception and leaves the rest of the batch
+ * intact. Successful callers are released only after the batch commits. If the commit itself fails, e.g. on a
+ * constraint violated at flush time, the batch is retried one order per transaction so that only the offending order
+ * fails. When the queue of {@code queue-capacity} requests is full, callers create their order directly.
+ */
+@Component
+public class OrderIntakeCombiner {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIntakeCombiner.class);
+
+    private final OrderService orderService;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingOrder> queue;
+    private final Thread combiner;
+    private volatile boolean running;
+
+    public OrderIntakeCombiner(OrderService orderService,
+                               @Value("${oms.intake.group-commit.enabled:false}") boolean enabled,
+                               @Value("${oms.intake.group-commit.max-batch-size:50}") int maxBatchSize,
+                               @Value("${oms.intake.group-commit.max-wait-ms:5}") long maxWaitMs,
+                               @Value("${oms.intake.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.orderService = orderService;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.running = enabled;
+        if (enabled) {
+            combiner = new Thread(this::combineLoop, "order-intake-combiner");
+            combiner.setDaemon(true);
+            combiner.start();
+            log.info("Group-commit order intake enabled with batches of up to {} orders within {} ms", maxBatchSize, maxWaitMs);
+        } else {
+            combiner = null;
+        }
+    }
+
+    /**
+     * Creates the order, sharing a transaction with concurrent callers when group commit is enabled. Failures are
+     * thrown exactly as {@link OrderService#createOrder} would throw them.
+     */
+    public OrderResponse createOrder(CreateOrderRequest request) {
+        if (!running) {
+            return orderService.createOrder(request);
+        }
+        PendingOrder pending = new PendingOrder(request, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            log.debug("Order intake queue is full, creating the order for {} directly", request.getCustomerEmail());
+            return orderService.createOrder(request);
+        }
+        // close() may have drained the queue between the check above and the offer; if the request is still queued,
+        // nobody is left to take it, so take it back and create the order directly.
+        if (!running && queue.remove(pending)) {
+            return orderService.createOrder(request);
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (combiner == null) {
+            return;
+        }
+        running = false;
+        try {
+            combiner.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Requests that were queued before the flag flipped are still waited on.
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void combineLoop() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(
+                        new IllegalStateException("Order intake was interrupted")));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Order intake combiner failed on a batch of {} orders", batch.size(), e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<PendingOrder> batch) {
+        Map<CreateOrderRequest, RuntimeException> rejected = new IdentityHashMap<>();
+        List<OrderResponse> responses;
+        try {
+            responses = orderService.createOrders(batch.stream().map(PendingOrder::request).toList(), rejected::put);
+        } catch (RuntimeException e) {
+            log.warn("Order intake batch of {} orders failed to commit, creating them one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> {
+                RuntimeException failure = rejected.get(pending.request());
+                if (failure != null) {
+                    pending.result().completeExceptionally(failure);
+                } else {
+                    createAlone(pending);
+                }
+            });
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PendingOrder pending = batch.get(i);
+            RuntimeException failure = rejected.get(pending.request());
+            if (failure != null) {
+                pending.result().completeExceptionally(failure);
+            } else {
+                pending.result().complete(responses.get(i));
+            }
+        }
+        log.debug("Committed {} of {} orders in one intake batch", batch.size() - rejected.size(), batch.size());
+    }
+
+    private void createAlone(PendingOrder pending) {
+        try {
+            pending.result().complete(orderService.createOrder(pending.request()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingOrder(CreateOrderRequest request, CompletableFuture<OrderResponse> result) {
+    }
+}
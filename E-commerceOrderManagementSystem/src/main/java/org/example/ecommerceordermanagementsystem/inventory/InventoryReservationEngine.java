@@ -0,0 +1,553 @@
+package org.example.ecommerceordermanagementsystem.inventory;
+
+import jakarta.annotation.PreDestroy;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.repository.StockLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.afterCommit;
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.onRollback;
+
+/**
+ * In-memory stock ledger that takes reservation contention off the {@code products} table.
+ * <p>
+ * For every product the engine keeps three counters:
+ * <ul>
+ *     <li><b>available</b> - units that can still be reserved, never driven below zero by a reservation</li>
+ *     <li><b>reserved</b> - units held by PENDING orders</li>
+ *     <li><b>pending delta</b> - net change to {@code products.stock} that has not been written yet</li>
+ * </ul>
+ * On-hand stock, i.e. what {@code products.stock} holds once flushed, is {@code available + reserved}.
+ * <p>
+ * Hot products can have their available units striped across {@code products.stock_shards} cells. A reservation
+ * starts at a random cell and falls back to the others when it runs dry, so concurrent buyers of the same product
+ * rarely touch the same counter. The reserved and pending counters are {@link LongAdder}s and never block.
+ * <p>
+ * Reservations take effect immediately and are handed back if the surrounding transaction rolls back; commits,
+ * releases and restocks are applied once the surrounding transaction has committed. Pending deltas are written to
+ * the database in one batch every {@code oms.inventory.flush-interval-ms} and on shutdown. The ledger is rebuilt
+ * from {@code products.stock} and the PENDING order lines at startup.
+ * <p>
+ * {@link StockStatusListener}s are told whenever a product may have sold out or come back into stock.
+ */
+@Component
+public class InventoryReservationEngine implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryReservationEngine.class);
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, StockLedger> ledgers = new ConcurrentHashMap<>();
+    // Serializes flushes with rebuilds and administrative stock overrides.
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final List<StockStatusListener> stockStatusListeners = new CopyOnWriteArrayList<>();
+
+    public InventoryReservationEngine(ProductRepository productRepository,
+                                      OrderItemRepository orderItemRepository,
+                                      TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reserves every line or none of them.
+     *
+     * @return the id of the product that could not be reserved, or an empty list when all lines were reserved
+     */
+    public List<Long> reserve(Map<Long, Integer> quantitiesByProductId) {
+        Map<Long, StockLedger> lineLedgers = ledgersFor(quantitiesByProductId.keySet());
+        Map<StockLedger, Integer> taken = new HashMap<>();
+        for (Map.Entry<Long, Integer> line : new TreeMap<>(quantitiesByProductId).entrySet()) {
+            StockLedger ledger = lineLedgers.get(line.getKey());
+            if (ledger == null || !ledger.tryReserve(line.getValue())) {
+                taken.forEach(StockLedger::release);
+                return List.of(line.getKey());
+            }
+            taken.put(ledger, line.getValue());
+        }
+        onRollback(() -> {
+            taken.forEach(StockLedger::release);
+            lineLedgers.forEach(this::publishStockStatus);
+        });
+        lineLedgers.forEach((productId, ledger) -> {
+            if (ledger.soldOut()) {
+                publishStockStatus(productId, ledger);
+            }
+        });
+        return List.of();
+    }
+
+    /**
+     * Turns reservations into a stock decrement, e.g. when an order is confirmed.
+     */
+    public void commit(Map<Long, Integer> quantitiesByProductId) {
+        apply(quantitiesByProductId, StockLedger::commit, false);
+    }
+
+    /**
+     * Undoes {@link #commit}: the units are held by a reservation again and return to {@code products.stock}.
+     */
+    public void revertCommit(Map<Long, Integer> quantitiesByProductId) {
+        apply(quantitiesByProductId, StockLedger::revertCommit, false);
+    }
+
+    /**
+     * Hands reserved units back without touching the stock, e.g. when a PENDING order is cancelled.
+     */
+    public void release(Map<Long, Integer> quantitiesByProductId) {
+        apply(quantitiesByProductId, StockLedger::release, true);
+    }
+
+    /**
+     * Returns previously committed units to stock, e.g. when a CONFIRMED order is cancelled.
+     */
+    public void restock(Map<Long, Integer> quantitiesByProductId) {
+        apply(quantitiesByProductId, StockLedger::restock, true);
+    }
+
+    /**
+     * Starts tracking a newly created product. Once the product is committed, a reservation may load its ledger
+     * before this runs; that ledger is kept, since it already holds the reservation.
+     */
+    public void track(Long productId, int stock, int shards) {
+        afterCommit(() -> {
+            StockLedger ledger = ledgers.computeIfAbsent(productId, id -> new StockLedger(stock, 0, shards));
+            publishStockStatus(productId, ledger);
+        });
+    }
+
+    /**
+     * Replaces the on-hand stock and shard count of a product with administratively set values, discarding
+     * unflushed deltas. The flusher is held off from the surrounding commit until the new values are in place.
+     */
+    public void overrideStock(Long productId, int stock, int shards) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            flushLock.lock();
+            try {
+                applyOverride(productId, stock, shards);
+            } finally {
+                flushLock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flushLock.lock();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        applyOverride(productId, stock, shards);
+                    }
+                } finally {
+                    if (flushLock.isHeldByCurrentThread()) {
+                        flushLock.unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Registers a listener for products that may have sold out or come back into stock. Listeners are called on the
+     * thread changing the stock, possibly more than once for the same status, and must not block.
+     */
+    public void addStockStatusListener(StockStatusListener listener) {
+        stockStatusListeners.add(listener);
+    }
+
+    /**
+     * Stops tracking a deleted product.
+     */
+    public void forget(Long productId) {
+        afterCommit(() -> ledgers.remove(productId));
+    }
+
+    /**
+     * On-hand stock of a tracked product, including unflushed changes.
+     */
+    public OptionalLong stockOf(Long productId) {
+        StockLedger ledger = ledgers.get(productId);
+        return ledger == null ? OptionalLong.empty() : OptionalLong.of(ledger.onHand());
+    }
+
+    /**
+     * Units of a tracked product that can still be reserved.
+     */
+    public OptionalLong availableOf(Long productId) {
+        StockLedger ledger = ledgers.get(productId);
+        return ledger == null ? OptionalLong.empty() : OptionalLong.of(ledger.available());
+    }
+
+    /**
+     * Writes all pending deltas to {@code products.stock} in a single batch.
+     */
+    @Scheduled(fixedDelayString = "${oms.inventory.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Integer> increments = new HashMap<>();
+            Map<Long, Integer> decrements = new HashMap<>();
+            ledgers.forEach((productId, ledger) -> {
+                long delta = ledger.drainPendingDelta();
+                if (delta > 0) {
+                    increments.put(productId, (int) delta);
+                } else if (delta < 0) {
+                    decrements.put(productId, (int) -delta);
+                }
+            });
+            if (increments.isEmpty() && decrements.isEmpty()) {
+                return;
+            }
+
+            List<Long> rejected;
+            try {
+                rejected = transactionTemplate.execute(status -> {
+                    productRepository.incrementStock(increments);
+                    return productRepository.decrementStock(decrements);
+                });
+            } catch (RuntimeException ex) {
+                log.error("Failed to flush stock deltas for {} products, retrying on the next cycle: {}", increments.size() + decrements.size(), ex.getMessage());
+                increments.forEach((productId, quantity) -> requeue(productId, quantity));
+                decrements.forEach((productId, quantity) -> requeue(productId, -quantity));
+                return;
+            }
+            log.debug("Flushed stock deltas: {} increments, {} decrements", increments.size(), decrements.size());
+
+            if (!rejected.isEmpty()) {
+                log.error("Database stock of products {} is lower than the in-memory ledger, resynchronizing them", rejected);
+                resynchronize(rejected);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Discards the in-memory state and reloads it from the database, after writing out pending deltas.
+     */
+    public void rebuild() {
+        flushLock.lock();
+        try {
+            flush();
+            Map<Long, StockLedger> rebuilt = transactionTemplate.execute(status -> {
+                Map<Long, Long> reserved = toMap(orderItemRepository.findPendingReservations());
+                Map<Long, StockLedger> loaded = new HashMap<>();
+                for (StockLevel level : productRepository.findAllStockLevels()) {
+                    long held = reserved.getOrDefault(level.productId(), 0L);
+                    loaded.put(level.productId(), new StockLedger(level.quantity() - held, held, level.shards()));
+                }
+                return loaded;
+            });
+            ledgers.clear();
+            ledgers.putAll(rebuilt);
+            log.info("Inventory reservation engine loaded {} products", rebuilt.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void apply(Map<Long, Integer> quantitiesByProductId, LedgerOperation operation, boolean changesAvailability) {
+        // Resolve ledgers now, inside the caller's transaction, so lazily loaded ones see the pre-transition state.
+        Map<Long, StockLedger> lineLedgers = ledgersFor(quantitiesByProductId.keySet());
+        afterCommit(() -> quantitiesByProductId.forEach((productId, quantity) -> {
+            StockLedger ledger = lineLedgers.get(productId);
+            if (ledger != null) {
+                operation.apply(ledger, quantity);
+                if (changesAvailability) {
+                    publishStockStatus(productId, ledger);
+                }
+            }
+        }));
+    }
+
+    private void applyOverride(Long productId, int stock, int shards) {
+        StockLedger ledger = ledgers.get(productId);
+        if (ledger == null) {
+            ledger = new StockLedger(stock, 0, shards);
+            ledgers.put(productId, ledger);
+        } else {
+            ledger.drainPendingDelta();
+            ledger.reset(stock - ledger.reserved.sum(), shards);
+        }
+        publishStockStatus(productId, ledger);
+    }
+
+    private void requeue(Long productId, long delta) {
+        StockLedger ledger = ledgers.get(productId);
+        if (ledger != null) {
+            ledger.pendingDelta.add(delta);
+        }
+    }
+
+    private void resynchronize(Collection<Long> productIds) {
+        Map<Long, Long> stock = toMap(productRepository.findStockLevelsByIdIn(productIds));
+        productIds.forEach(productId -> {
+            StockLedger ledger = ledgers.get(productId);
+            if (ledger != null) {
+                ledger.drainPendingDelta();
+                ledger.reset(stock.getOrDefault(productId, 0L) - ledger.reserved.sum(), ledger.shards());
+                publishStockStatus(productId, ledger);
+            }
+        });
+    }
+
+    private void publishStockStatus(Long productId, StockLedger ledger) {
+        if (stockStatusListeners.isEmpty()) {
+            return;
+        }
+        boolean inStock = !ledger.soldOut();
+        stockStatusListeners.forEach(listener -> listener.stockStatusChanged(productId, inStock));
+    }
+
+    private Map<Long, StockLedger> ledgersFor(Collection<Long> productIds) {
+        Map<Long, StockLedger> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            StockLedger ledger = ledgers.get(productId);
+            if (ledger == null) {
+                missing.add(productId);
+            } else {
+                result.put(productId, ledger);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, Long> reserved = toMap(orderItemRepository.findPendingReservationsByProductIdIn(missing));
+            for (StockLevel level : productRepository.findStockLevelsByIdIn(missing)) {
+                long held = reserved.getOrDefault(level.productId(), 0L);
+                result.put(level.productId(), ledgers.computeIfAbsent(level.productId(),
+                        productId -> new StockLedger(level.quantity() - held, held, level.shards())));
+            }
+        }
+        return result;
+    }
+
+    private static Map<Long, Long> toMap(List<StockLevel> levels) {
+        return levels.stream().collect(Collectors.toMap(StockLevel::productId, StockLevel::quantity));
+    }
+
+    @FunctionalInterface
+    private interface LedgerOperation {
+        void apply(StockLedger ledger, int quantity);
+    }
+
+    private static final class StockLedger {
+
+        // Cells sit 128 bytes apart so that neighbouring shards do not share a cache line.
+        private static final int STRIDE = 16;
+
+        private volatile AtomicLongArray cells;
+        private final LongAdder reserved = new LongAdder();
+        private final LongAdder pendingDelta = new LongAdder();
+        // Serializes gathers: two of them draining shards at once could both fall short although the stock covers one.
+        private final ReentrantLock gatherLock = new ReentrantLock();
+
+        private StockLedger(long available, long reserved, int shards) {
+            this.cells = spread(available, shards);
+            this.reserved.add(reserved);
+        }
+
+        boolean tryReserve(int quantity) {
+            while (true) {
+                AtomicLongArray current = cells;
+                if (take(current, quantity)) {
+                    reserved.add(quantity);
+                    return true;
+                }
+                // A reshard swapped the cells while we were looking; retry against the new ones.
+                if (current == cells) {
+                    return false;
+                }
+            }
+        }
+
+        void release(int quantity) {
+            reserved.add(-quantity);
+            deposit(quantity);
+        }
+
+        void commit(int quantity) {
+            reserved.add(-quantity);
+            pendingDelta.add(-quantity);
+        }
+
+        void revertCommit(int quantity) {
+            reserved.add(quantity);
+            pendingDelta.add(quantity);
+        }
+
+        void restock(int quantity) {
+            deposit(quantity);
+            pendingDelta.add(quantity);
+        }
+
+        long available() {
+            AtomicLongArray current = cells;
+            long sum = 0;
+            for (int i = 0; i < current.length(); i += STRIDE) {
+                sum += current.get(i);
+            }
+            return sum;
+        }
+
+        // Stops at the first shard with units left, so it is cheap for products that are far from selling out.
+        boolean soldOut() {
+            AtomicLongArray current = cells;
+            for (int i = 0; i < current.length(); i += STRIDE) {
+                if (current.get(i) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long onHand() {
+            return available() + reserved.sum();
+        }
+
+        int shards() {
+            return shardCount(cells);
+        }
+
+        long drainPendingDelta() {
+            long delta = pendingDelta.sum();
+            pendingDelta.add(-delta);
+            return delta;
+        }
+
+        /**
+         * Replaces the available units and shard count. Units deposited into the old cells after the swap are
+         * migrated by their depositor.
+         */
+        void reset(long available, int shards) {
+            AtomicLongArray old = cells;
+            cells = spread(available, shards);
+            for (int i = 0; i < old.length(); i += STRIDE) {
+                old.set(i, 0);
+            }
+        }
+
+        private boolean take(AtomicLongArray current, int quantity) {
+            int shards = shardCount(current);
+            int start = shards == 1 ? 0 : ThreadLocalRandom.current().nextInt(shards);
+            for (int n = 0; n < shards; n++) {
+                int index = ((start + n) % shards) * STRIDE;
+                long value;
+                while ((value = current.get(index)) >= quantity) {
+                    if (current.compareAndSet(index, value, value - quantity)) {
+                        return true;
+                    }
+                }
+            }
+            if (shards == 1) {
+                return false;
+            }
+            gatherLock.lock();
+            try {
+                return gather(current, quantity, start, shards);
+            } finally {
+                gatherLock.unlock();
+            }
+        }
+
+        // No single shard holds enough: gather the quantity across shards, handing it back if they fall short.
+        private boolean gather(AtomicLongArray current, int quantity, int start, int shards) {
+            long[] taken = new long[shards];
+            long remaining = quantity;
+            for (int n = 0; n < shards && remaining > 0; n++) {
+                int shard = (start + n) % shards;
+                int index = shard * STRIDE;
+                long value;
+                while (remaining > 0 && (value = current.get(index)) > 0) {
+                    long part = Math.min(value, remaining);
+                    if (current.compareAndSet(index, value, value - part)) {
+                        taken[shard] += part;
+                        remaining -= part;
+                    }
+                }
+            }
+            if (remaining == 0) {
+                return true;
+            }
+            for (int shard = 0; shard < shards; shard++) {
+                if (taken[shard] > 0) {
+                    deposit(current, shard * STRIDE, taken[shard]);
+                }
+            }
+            return false;
+        }
+
+        private void deposit(long quantity) {
+            AtomicLongArray current = cells;
+            int shards = shardCount(current);
+            int index = shards == 1 ? 0 : ThreadLocalRandom.current().nextInt(shards) * STRIDE;
+            deposit(current, index, quantity);
+        }
+
+        private void deposit(AtomicLongArray target, int index, long quantity) {
+            target.addAndGet(index, quantity);
+            if (target != cells) {
+                long stranded = target.getAndSet(index, 0);
+                if (stranded > 0) {
+                    deposit(stranded);
+                }
+            }
+        }
+
+        private static AtomicLongArray spread(long available, int shards) {
+            int count = Math.max(shards, 1);
+            AtomicLongArray cells = new AtomicLongArray((count - 1) * STRIDE + 1);
+            if (available <= 0) {
+                cells.set(0, available);
+                return cells;
+            }
+            for (int shard = 0; shard < count; shard++) {
+                cells.set(shard * STRIDE, available / count + (shard < available % count ? 1 : 0));
+            }
+            return cells;
+        }
+
+        private static int shardCount(AtomicLongArray cells) {
+            return (cells.length() - 1) / STRIDE + 1;
+        }
+    }
+}
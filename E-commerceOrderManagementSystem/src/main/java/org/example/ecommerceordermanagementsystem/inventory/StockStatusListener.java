@@ -0,0 +1,11 @@
+package org.example.ecommerceordermanagementsystem.inventory;
+
+/**
+ * Receives the in-stock status of a product from {@link InventoryReservationEngine} after a change that may have
+ * sold it out or brought it back. A product is in stock while it has units that can be reserved.
+ */
+@FunctionalInterface
+public interface StockStatusListener {
+
+    void stockStatusChanged(Long productId, boolean inStock);
+}
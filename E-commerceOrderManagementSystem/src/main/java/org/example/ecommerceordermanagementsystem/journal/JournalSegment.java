@@ -0,0 +1,103 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One journal file, mapped into memory as a whole. Segments are preallocated to a fixed size and named after the
+ * sequence of their first record, so that a reader can find the segment holding a sequence from the file names.
+ */
+final class JournalSegment implements AutoCloseable {
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path path;
+    private final long baseSequence;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private JournalSegment(Path path, FileChannel channel, FileChannel.MapMode mode, long size) throws IOException {
+        this.path = path;
+        this.baseSequence = baseSequenceOf(path);
+        this.channel = channel;
+        this.buffer = channel.map(mode, 0, size);
+    }
+
+    static JournalSegment create(Path directory, long baseSequence, int size) {
+        Path path = directory.resolve(String.format("%020d%s", baseSequence, SUFFIX));
+        try {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new JournalSegment(path, channel, FileChannel.MapMode.READ_WRITE, Math.max(size, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create journal segment " + path, e);
+        }
+    }
+
+    static JournalSegment open(Path path, boolean writable) {
+        try {
+            FileChannel channel = writable
+                    ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ);
+            return new JournalSegment(path, channel,
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal segment " + path, e);
+        }
+    }
+
+    /**
+     * Segment files in the directory, oldest first.
+     */
+    static List<Path> list(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(JournalSegment::baseSequenceOf))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal directory " + directory, e);
+        }
+    }
+
+    static long baseSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    void force(int offset, int length) {
+        buffer.force(offset, length);
+    }
+
+    @Override
+    public void close() {
+        // The mapping itself stays valid until the buffer is garbage collected.
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close journal segment " + path, e);
+        }
+    }
+}
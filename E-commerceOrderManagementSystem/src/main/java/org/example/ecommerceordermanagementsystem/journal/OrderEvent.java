@@ -0,0 +1,14 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+
+import java.util.List;
+
+/**
+ * One state change of an order as recorded in the {@link OrderEventJournal}. {@code fromStatus} is {@code null} for a
+ * newly placed order. {@code lines} are the order's lines at the time; stock and sales effects follow from the
+ * transition.
+ */
+public record OrderEvent(long sequence, long timestamp, long orderId, OrderStatus fromStatus, OrderStatus toStatus,
+                         List<OrderEventLine> lines) {
+}
@@ -0,0 +1,101 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of a journal record:
+ * <pre>
+ * int  payload length      (0 = not written yet, -1 = end of segment)
+ * int  CRC32C of the payload
+ * long sequence
+ * long timestamp           (epoch millis)
+ * long order id
+ * byte from status         (ordinal, -1 for none)
+ * byte to status           (ordinal)
+ * int  line count
+ * per line: long product id, int quantity, long amount in cents
+ * </pre>
+ * The length is written last, so a record is only visible once it is complete.
+ */
+final class OrderEventCodec {
+
+    static final int HEADER_SIZE = 8;
+    static final int END_OF_SEGMENT = -1;
+    private static final int FIXED_PAYLOAD_SIZE = 8 + 8 + 8 + 1 + 1 + 4;
+    private static final int LINE_SIZE = 8 + 4 + 8;
+    private static final int AMOUNT_SCALE = 2;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderEventCodec() {
+    }
+
+    static int recordSize(int lineCount) {
+        return HEADER_SIZE + FIXED_PAYLOAD_SIZE + LINE_SIZE * lineCount;
+    }
+
+    /**
+     * Length of the record at {@code offset}, or {@link #END_OF_SEGMENT} if the segment has no room for another one.
+     */
+    static int lengthAt(ByteBuffer buffer, int offset) {
+        return offset + HEADER_SIZE > buffer.capacity() ? END_OF_SEGMENT : buffer.getInt(offset);
+    }
+
+    static void write(ByteBuffer buffer, int offset, OrderEvent event) {
+        int length = recordSize(event.lines().size()) - HEADER_SIZE;
+        ByteBuffer payload = buffer.slice(offset + HEADER_SIZE, length);
+        payload.putLong(event.sequence())
+                .putLong(event.timestamp())
+                .putLong(event.orderId())
+                .put(event.fromStatus() == null ? -1 : (byte) event.fromStatus().ordinal())
+                .put((byte) event.toStatus().ordinal())
+                .putInt(event.lines().size());
+        for (OrderEventLine line : event.lines()) {
+            payload.putLong(line.productId())
+                    .putInt(line.quantity())
+                    .putLong(line.amount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        buffer.putInt(offset + 4, checksum(payload.rewind()));
+        buffer.putInt(offset, length);
+    }
+
+    /**
+     * Decodes the record at {@code offset}, or returns {@code null} if its checksum does not match.
+     */
+    static OrderEvent read(ByteBuffer buffer, int offset, int length) {
+        if (length < FIXED_PAYLOAD_SIZE || offset + HEADER_SIZE + length > buffer.capacity()) {
+            return null;
+        }
+        ByteBuffer payload = buffer.slice(offset + HEADER_SIZE, length);
+        if (checksum(payload) != buffer.getInt(offset + 4)) {
+            return null;
+        }
+        payload.rewind();
+        long sequence = payload.getLong();
+        long timestamp = payload.getLong();
+        long orderId = payload.getLong();
+        byte from = payload.get();
+        byte to = payload.get();
+        int lineCount = payload.getInt();
+        if (length != FIXED_PAYLOAD_SIZE + LINE_SIZE * lineCount) {
+            return null;
+        }
+        List<OrderEventLine> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new OrderEventLine(payload.getLong(), payload.getInt(), BigDecimal.valueOf(payload.getLong(), AMOUNT_SCALE)));
+        }
+        return new OrderEvent(sequence, timestamp, orderId, from < 0 ? null : STATUSES[from], STATUSES[to], lines);
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the {@link OrderEventJournal} in sequence order from a starting sequence. {@link #next()} returns
+ * {@code null} once the reader has caught up with the writer and picks up newly appended events when called again,
+ * so the same cursor serves both replays and tailing consumers. A cursor is not thread-safe.
+ */
+public final class OrderEventCursor implements AutoCloseable {
+
+    private final OrderEventJournal journal;
+    private JournalSegment segment;
+    private int offset;
+    // Sequence of the record at offset, and the first sequence the caller has not been handed yet.
+    private long recordSequence;
+    private long nextSequence;
+
+    OrderEventCursor(OrderEventJournal journal, long fromSequence) {
+        this.journal = journal;
+        this.recordSequence = fromSequence;
+        this.nextSequence = fromSequence;
+    }
+
+    /**
+     * Returns the next event, or {@code null} if every event appended so far has been read.
+     *
+     * @throws IllegalStateException if a record fails its checksum or breaks the sequence
+     */
+    public OrderEvent next() {
+        while (recordSequence <= journal.lastSequence()) {
+            if (segment == null) {
+                segment = journal.openSegment(recordSequence);
+                recordSequence = segment.baseSequence();
+                offset = 0;
+            }
+            ByteBuffer buffer = segment.buffer();
+            int length = OrderEventCodec.lengthAt(buffer, offset);
+            if (length == OrderEventCodec.END_OF_SEGMENT) {
+                segment.close();
+                segment = null;
+                continue;
+            }
+            if (length == 0) {
+                // Appended but not yet visible through this mapping.
+                return null;
+            }
+            OrderEvent event = OrderEventCodec.read(buffer, offset, length);
+            if (event == null || event.sequence() != recordSequence) {
+                throw new IllegalStateException("Corrupt order journal record at " + segment.path() + ":" + offset);
+            }
+            offset += OrderEventCodec.HEADER_SIZE + length;
+            recordSequence++;
+            if (event.sequence() >= nextSequence) {
+                nextSequence = event.sequence() + 1;
+                return event;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The sequence of the event the next call to {@link #next()} returns.
+     */
+    public long position() {
+        return nextSequence;
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+    }
+}
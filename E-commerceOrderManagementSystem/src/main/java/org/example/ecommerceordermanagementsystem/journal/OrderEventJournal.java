@@ -0,0 +1,394 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Append-only binary journal of order state changes: placement and every status transition, with the order's lines.
+ * Consumers replay it with an {@link OrderEventCursor} instead of querying {@code orders} and {@code order_items}.
+ * <p>
+ * Records go into memory-mapped segment files of {@code oms.journal.segment-size} under {@code oms.journal.directory}
+ * (see {@link OrderEventCodec} for the layout). A single flusher thread forces the written range to disk whenever
+ * there is something new, so appends that arrive while a force is running share the next one (group commit). With
+ * {@code oms.journal.await-fsync} the committing thread waits until the events of its transaction are on disk.
+ * <p>
+ * Events are appended after the surrounding transaction commits, so the journal never holds a change that was rolled
+ * back; a crash between the commit and the append loses the event. At startup the last segment is scanned and
+ * writing resumes after its last intact record.
+ */
+@Component
+public class OrderEventJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventJournal.class);
+    private static final long RETRY_DELAY_MS = 100;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean awaitFsync;
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+
+    // Guards the writer state below.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private JournalSegment active;
+    private int writePosition;
+    private int forcedPosition;
+    private long nextSequence;
+
+    // Signals the flusher and threads waiting on durability; a lock rather than a monitor so that virtual threads
+    // waiting for an fsync do not pin their carrier.
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushSignal = flushLock.newCondition();
+    private volatile long lastSequence;
+    private volatile long durableSequence;
+    private volatile boolean running = true;
+    private final Thread flusher;
+
+    public OrderEventJournal(@Value("${oms.journal.directory:data/journal}") Path directory,
+                             @Value("${oms.journal.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${oms.journal.await-fsync:true}") boolean awaitFsync) {
+        this.directory = directory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.awaitFsync = awaitFsync;
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve("journal.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            directoryLock = tryLock(lockChannel);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal directory " + directory, e);
+        }
+        if (directoryLock == null) {
+            throw new IllegalStateException("Order journal directory " + directory + " is in use by another process");
+        }
+        recover();
+        flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Journals the order's transition from {@code previousStatus} ({@code null} for a new order) to its current status
+     * once the surrounding transaction commits.
+     */
+    public void record(Order order, OrderStatus previousStatus) {
+        OrderStatus status = order.getStatus();
+        if (status == previousStatus) {
+            return;
+        }
+        long orderId = order.getId();
+        List<OrderEventLine> lines = order.getOrderItems().stream()
+                .map(item -> new OrderEventLine(item.getProduct().getId(), item.getQuantity(), item.getTotalPrice()))
+                .toList();
+        AtomicLong sequence = new AtomicLong();
+        // Waiting only after every order of the transaction has been appended lets one fsync cover them all.
+        afterCommit(() -> {
+            try {
+                sequence.set(append(orderId, previousStatus, status, lines));
+            } catch (RuntimeException e) {
+                // The transaction has committed; failing the request now would only misreport its outcome.
+                log.error("Failed to journal order {} moving from {} to {}", orderId, previousStatus, status, e);
+            }
+        }, () -> {
+            try {
+                if (awaitFsync && sequence.get() > 0) {
+                    awaitDurable(sequence.get());
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to sync the journal event of order {}", orderId, e);
+            }
+        });
+    }
+
+    /**
+     * Appends an event and returns its sequence. The event is readable at once and durable after
+     * {@link #awaitDurable(long)}.
+     */
+    public long append(long orderId, OrderStatus fromStatus, OrderStatus toStatus, List<OrderEventLine> lines) {
+        int size = OrderEventCodec.recordSize(lines.size());
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("An order event with " + lines.size() + " lines does not fit a journal segment");
+        }
+        long sequence;
+        writeLock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Order journal is closed");
+            }
+            if (writePosition + size > active.capacity()) {
+                roll();
+            }
+            sequence = nextSequence++;
+            OrderEventCodec.write(active.buffer(), writePosition,
+                    new OrderEvent(sequence, System.currentTimeMillis(), orderId, fromStatus, toStatus, lines));
+            writePosition += size;
+            lastSequence = sequence;
+        } finally {
+            writeLock.unlock();
+        }
+        signalFlush();
+        return sequence;
+    }
+
+    /**
+     * Blocks until every event up to {@code sequence} has been forced to disk.
+     */
+    public void awaitDurable(long sequence) {
+        flushLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (!running) {
+                    throw new IllegalStateException("Order journal closed before sequence " + sequence + " was synced");
+                }
+                flushSignal.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the order journal to sync", e);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Opens a cursor positioned at {@code fromSequence}; sequences start at 1.
+     */
+    public OrderEventCursor cursor(long fromSequence) {
+        return new OrderEventCursor(this, fromSequence);
+    }
+
+    /**
+     * Hands every event from {@code fromSequence} up to the last one appended to {@code consumer} and returns how many
+     * there were.
+     */
+    public long replay(long fromSequence, Consumer<OrderEvent> consumer) {
+        long replayed = 0;
+        try (OrderEventCursor cursor = cursor(fromSequence)) {
+            for (OrderEvent event = cursor.next(); event != null; event = cursor.next()) {
+                consumer.accept(event);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    public long durableSequence() {
+        return durableSequence;
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            writeLock.unlock();
+        }
+        signalFlush();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        try {
+            active.force(0, writePosition);
+            markDurable(lastSequence);
+            active.close();
+            directoryLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot release order journal directory " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * A read-only mapping of the segment holding {@code sequence}, or of the oldest segment if it precedes them all.
+     */
+    JournalSegment openSegment(long sequence) {
+        List<Path> segments = JournalSegment.list(directory);
+        Path found = segments.get(0);
+        for (Path segment : segments) {
+            if (JournalSegment.baseSequenceOf(segment) <= sequence) {
+                found = segment;
+            }
+        }
+        return JournalSegment.open(found, false);
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another journal in this JVM.
+            return null;
+        }
+    }
+
+    private void recover() {
+        List<Path> segments = JournalSegment.list(directory);
+        if (segments.isEmpty()) {
+            active = JournalSegment.create(directory, 1, segmentSize);
+            nextSequence = 1;
+        } else {
+            active = JournalSegment.open(segments.get(segments.size() - 1), true);
+            nextSequence = active.baseSequence();
+            while (true) {
+                int length = OrderEventCodec.lengthAt(active.buffer(), writePosition);
+                if (length == OrderEventCodec.END_OF_SEGMENT) {
+                    writePosition = active.capacity();
+                    break;
+                }
+                if (length == 0) {
+                    break;
+                }
+                OrderEvent event = OrderEventCodec.read(active.buffer(), writePosition, length);
+                if (event == null || event.sequence() != nextSequence) {
+                    log.warn("Discarding torn order journal record at {}:{}", active.path(), writePosition);
+                    discardTail(length);
+                    break;
+                }
+                writePosition += OrderEventCodec.HEADER_SIZE + length;
+                nextSequence++;
+            }
+        }
+        forcedPosition = writePosition;
+        lastSequence = nextSequence - 1;
+        durableSequence = lastSequence;
+        log.info("Order journal in {} continues at sequence {}", directory.toAbsolutePath(), nextSequence);
+    }
+
+    private void discardTail(int length) {
+        // Zeroes the torn record so that a shorter record written in its place is not followed by stale bytes.
+        int end = length > 0 ? (int) Math.min(active.capacity(), (long) writePosition + OrderEventCodec.HEADER_SIZE + length)
+                : active.capacity();
+        for (int offset = writePosition; offset < end; offset++) {
+            active.buffer().put(offset, (byte) 0);
+        }
+        active.force(writePosition, end - writePosition);
+    }
+
+    private void roll() {
+        if (writePosition + 4 <= active.capacity()) {
+            active.buffer().putInt(writePosition, OrderEventCodec.END_OF_SEGMENT);
+        }
+        // Sealing forces the whole segment, so the flusher only ever deals with the active one.
+        active.force(0, active.capacity());
+        markDurable(lastSequence);
+        JournalSegment next = JournalSegment.create(directory, nextSequence, segmentSize);
+        active.close();
+        active = next;
+        writePosition = 0;
+        forcedPosition = 0;
+    }
+
+    private void flushLoop() {
+        while (true) {
+            flushLock.lock();
+            try {
+                while (running && durableSequence >= lastSequence) {
+                    flushSignal.await();
+                }
+                if (!running) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+            JournalSegment segment;
+            int from;
+            int to;
+            long target;
+            writeLock.lock();
+            try {
+                segment = active;
+                from = forcedPosition;
+                to = writePosition;
+                target = lastSequence;
+                forcedPosition = to;
+            } finally {
+                writeLock.unlock();
+            }
+            try {
+                if (to > from) {
+                    segment.force(from, to - from);
+                }
+                markDurable(target);
+            } catch (RuntimeException e) {
+                log.error("Failed to sync the order journal up to sequence {}", target, e);
+                writeLock.lock();
+                try {
+                    if (active == segment) {
+                        forcedPosition = Math.min(forcedPosition, from);
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+                flushLock.lock();
+                try {
+                    flushSignal.await(RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    flushLock.unlock();
+                }
+            }
+        }
+    }
+
+    private void markDurable(long sequence) {
+        flushLock.lock();
+        try {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+                flushSignal.signalAll();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void signalFlush() {
+        flushLock.lock();
+        try {
+            flushSignal.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import java.math.BigDecimal;
+
+/**
+ * Product, quantity and line total of one order line in an {@link OrderEvent}. Amounts are journaled to the cent.
+ */
+public record OrderEventLine(long productId, int quantity, BigDecimal amount) {
+}
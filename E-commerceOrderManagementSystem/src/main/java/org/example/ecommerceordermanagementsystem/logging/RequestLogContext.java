@@ -0,0 +1,41 @@
+package org.example.ecommerceordermanagementsystem.logging;
+
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-request logging state of the current thread: the request ID, published to the MDC as {@value #REQUEST_ID}
+ * so that every event of the request carries it, and the head-based sampling draw that
+ * {@link RequestSamplingTurboFilter} compares with its sample rate.
+ * <p>
+ * The draw is made once when the request starts, so the INFO and DEBUG events of a request are either all kept or all
+ * dropped. Outside a request, e.g. on scheduled jobs, nothing is sampled out.
+ */
+public final class RequestLogContext {
+
+    public static final String REQUEST_ID = "requestId";
+
+    private static final ThreadLocal<Double> draw = new ThreadLocal<>();
+
+    private RequestLogContext() {
+    }
+
+    static void begin(String requestId) {
+        MDC.put(REQUEST_ID, requestId);
+        draw.set(ThreadLocalRandom.current().nextDouble());
+    }
+
+    static void end() {
+        MDC.remove(REQUEST_ID);
+        draw.remove();
+    }
+
+    /**
+     * Whether the current request falls outside a sample of the given rate. Always {@code false} outside a request.
+     */
+    static boolean isSampledOut(double sampleRate) {
+        Double value = draw.get();
+        return value != null && value >= sampleRate;
+    }
+}
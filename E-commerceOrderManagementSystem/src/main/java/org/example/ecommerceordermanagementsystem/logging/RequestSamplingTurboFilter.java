@@ -0,0 +1,42 @@
+package org.example.ecommerceordermanagementsystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Keeps the events below WARN of a {@code sampleRate} share of requests and drops the rest before the event is even
+ * created. WARN and ERROR are always kept, as is everything logged outside a request. Configured in the {@code prod}
+ * profile of {@code logback-spring.xml}.
+ */
+public class RequestSamplingTurboFilter extends TurboFilter {
+
+    private double sampleRate = 0.01;
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public void start() {
+        if (sampleRate < 0 || sampleRate > 1) {
+            addError("Sample rate must be between 0 and 1, was " + sampleRate);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.WARN) || !RequestLogContext.isSampledOut(sampleRate)) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+}
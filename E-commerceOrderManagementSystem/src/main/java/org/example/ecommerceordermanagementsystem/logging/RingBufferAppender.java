@@ -0,0 +1,227 @@
+package org.example.ecommerceordermanagementsystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender that hands events to its attached appenders through a bounded, lock-free ring buffer.
+ * <p>
+ * Logging threads claim a slot with a CAS on the tail and publish the event by advancing the slot's sequence number;
+ * a single worker thread drains the slots in order and writes the events out. Neither side takes a lock, unlike
+ * Logback's {@code AsyncAppender}, whose blocking queue locks on every event. When the buffer is full, events below
+ * WARN are dropped and counted in {@link #getDroppedCount()}; WARN and ERROR wait for a free slot.
+ * <p>
+ * Events are prepared for deferred processing on the logging thread, so their message is formatted and their MDC
+ * copied before they are handed over. Caller data is not captured. On stop, the worker gets up to
+ * {@code maxFlushTime} milliseconds to write out what is buffered.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private int bufferSize = 8192;
+    private int maxFlushTime = 1000;
+    private AtomicReferenceArray<ILoggingEvent> slots;
+    private AtomicLongArray sequences;
+    private int mask;
+    private long head;
+    private volatile boolean waiting;
+    private Thread worker;
+
+    /**
+     * Number of buffered events, rounded up to a power of two.
+     */
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    /**
+     * Events below WARN dropped so far because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (bufferSize < 2 || bufferSize > 1 << 30) {
+            addError("Buffer size must be between 2 and 2^30, was " + bufferSize);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to the ring buffer appender [" + name + "]");
+            return;
+        }
+        int capacity = Integer.highestOneBit(bufferSize - 1) << 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        mask = capacity - 1;
+        tail.set(0);
+        head = 0;
+        super.start();
+        worker = new Thread(this::drainLoop, "logback-ring-buffer-" + name);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTime);
+            if (worker.isAlive()) {
+                addWarn("Ring buffer appender [" + name + "] did not flush within " + maxFlushTime + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (offer(event)) {
+            return;
+        }
+        if (!event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            dropped.increment();
+            return;
+        }
+        while (!offer(event) && isStarted()) {
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    if (waiting) {
+                        LockSupport.unpark(worker);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (isStarted()) {
+            if (!drain()) {
+                waiting = true;
+                // Re-checked after raising the flag: a producer publishing now either sees it or is seen here.
+                if (!hasNext()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                waiting = false;
+            }
+        }
+        drain();
+    }
+
+    private boolean hasNext() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+
+    private boolean drain() {
+        boolean drained = false;
+        while (hasNext()) {
+            int index = (int) head & mask;
+            ILoggingEvent event = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.set(index, head + mask + 1);
+            head++;
+            drained = true;
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Failed to write a buffered event", e);
+            }
+        }
+        return drained;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
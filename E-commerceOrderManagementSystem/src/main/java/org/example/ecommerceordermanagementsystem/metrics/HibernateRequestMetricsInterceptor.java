@@ -0,0 +1,93 @@
+package org.example.ecommerceordermanagementsystem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the Hibernate work of each request handled by a controller, per endpoint:
+ * {@code oms.http.hibernate.statements}, {@code oms.http.hibernate.entity.loads} and
+ * {@code oms.http.hibernate.cache.misses}, tagged with the HTTP {@code method} and the {@code uri} template, e.g.
+ * {@code /api/orders/{id}}, so that the tags stay few whatever the ids requested.
+ * <p>
+ * Work done after the request has gone asynchronous, such as a streamed export, is not attributed.
+ */
+@Component
+public class HibernateRequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry registry;
+    private final Map<String, Map<String, EndpointMeters>> metersByMethod = new ConcurrentHashMap<>();
+
+    public HibernateRequestMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.begin();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStatistics.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatistics statistics = RequestStatistics.end();
+        if (statistics == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        meters(request.getMethod(), pattern instanceof String uri ? uri : UNKNOWN_URI).record(statistics);
+    }
+
+    private EndpointMeters meters(String method, String uri) {
+        Map<String, EndpointMeters> metersByUri = metersByMethod.get(method);
+        if (metersByUri == null) {
+            metersByUri = metersByMethod.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+        }
+        EndpointMeters meters = metersByUri.get(uri);
+        if (meters == null) {
+            meters = metersByUri.computeIfAbsent(uri, key -> new EndpointMeters(method, key));
+        }
+        return meters;
+    }
+
+    private final class EndpointMeters {
+
+        private final DistributionSummary statements;
+        private final DistributionSummary entityLoads;
+        private final DistributionSummary cacheMisses;
+
+        EndpointMeters(String method, String uri) {
+            statements = summary("oms.http.hibernate.statements", "JDBC statements prepared per request", method, uri);
+            entityLoads = summary("oms.http.hibernate.entity.loads", "Entities loaded per request", method, uri);
+            cacheMisses = summary("oms.http.hibernate.cache.misses", "Second-level cache misses per request", method, uri);
+        }
+
+        void record(RequestStatistics statistics) {
+            statements.record(statistics.statements());
+            entityLoads.record(statistics.entityLoads());
+            cacheMisses.record(statistics.cacheMisses());
+        }
+
+        private DistributionSummary summary(String name, String description, String method, String uri) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(registry);
+        }
+    }
+}
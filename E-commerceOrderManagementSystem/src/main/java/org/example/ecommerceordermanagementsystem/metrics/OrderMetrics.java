@@ -0,0 +1,96 @@
+package org.example.ecommerceordermanagementsystem.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.support.TransactionCallbacks;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters for the order and inventory paths:
+ * <ul>
+ *     <li>{@code oms.orders.status.transitions} - committed status changes, tagged {@code from} and {@code to}</li>
+ *     <li>{@code oms.inventory.rejections} - orders refused for stock, tagged {@code reason} {@code insufficient_stock}
+ *     or {@code inactive_product}</li>
+ *     <li>{@code oms.inventory.returned.units} - units handed back by cancellations, tagged {@code kind}
+ *     {@code released} (reservation of a PENDING order) or {@code restocked} (stock of a confirmed order)</li>
+ *     <li>{@code oms.orders.pending} - PENDING orders, counted in the database when the gauge is read</li>
+ * </ul>
+ * Every counter is registered up front, so recording is a lookup in a fixed array and an add.
+ */
+@Component
+public class OrderMetrics {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Counter[][] transitions = new Counter[STATUSES.length][STATUSES.length];
+    private final Counter insufficientStock;
+    private final Counter inactiveProduct;
+    private final Counter releasedUnits;
+    private final Counter restockedUnits;
+
+    public OrderMetrics(MeterRegistry registry, OrderRepository orderRepository) {
+        for (OrderStatus from : STATUSES) {
+            for (OrderStatus to : STATUSES) {
+                transitions[from.ordinal()][to.ordinal()] = Counter.builder("oms.orders.status.transitions")
+                        .description("Committed order status changes")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .register(registry);
+            }
+        }
+        insufficientStock = rejections(registry, "insufficient_stock");
+        inactiveProduct = rejections(registry, "inactive_product");
+        releasedUnits = returnedUnits(registry, "released");
+        restockedUnits = returnedUnits(registry, "restocked");
+        Gauge.builder("oms.orders.pending", orderRepository, repository -> repository.countByStatus(OrderStatus.PENDING))
+                .description("Orders waiting for confirmation")
+                .register(registry);
+    }
+
+    /**
+     * Counts the status change once the surrounding transaction has committed.
+     */
+    public void statusChanged(OrderStatus from, OrderStatus to) {
+        Counter counter = transitions[from.ordinal()][to.ordinal()];
+        TransactionCallbacks.afterCommit(counter::increment);
+    }
+
+    public void insufficientStock() {
+        insufficientStock.increment();
+    }
+
+    public void inactiveProduct() {
+        inactiveProduct.increment();
+    }
+
+    /**
+     * Counts units of a cancelled PENDING order going back to available stock once the transaction has committed.
+     */
+    public void stockReleased(int units) {
+        TransactionCallbacks.afterCommit(() -> releasedUnits.increment(units));
+    }
+
+    /**
+     * Counts units of a cancelled confirmed order going back on hand once the transaction has committed.
+     */
+    public void stockRestocked(int units) {
+        TransactionCallbacks.afterCommit(() -> restockedUnits.increment(units));
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("oms.inventory.rejections")
+                .description("Orders refused because a product could not be reserved")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static Counter returnedUnits(MeterRegistry registry, String kind) {
+        return Counter.builder("oms.inventory.returned.units")
+                .description("Units handed back to stock by cancellations")
+                .tag("kind", kind)
+                .register(registry);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.ecommerceordermanagementsystem.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.model.domain.NavigableRole;
+import org.hibernate.stat.internal.StatisticsImpl;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Hibernate's session factory statistics, additionally attributed to the web request running on the calling thread
+ * through {@link RequestStatistics}. Installed with {@code hibernate.stats.factory} set to {@link Factory}; Hibernate
+ * only reports to it while {@code hibernate.generate_statistics} is on.
+ */
+public class RequestAwareStatistics extends StatisticsImpl {
+
+    public RequestAwareStatistics(SessionFactoryImplementor sessionFactory) {
+        super(sessionFactory);
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        RequestStatistics request = RequestStatistics.current();
+        if (request != null) {
+            request.statementPrepared();
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        RequestStatistics request = RequestStatistics.current();
+        if (request != null) {
+            request.entityLoaded();
+        }
+    }
+
+    @Override
+    public void entityCacheMiss(NavigableRole entityName, String regionName) {
+        super.entityCacheMiss(entityName, regionName);
+        cacheMissed();
+    }
+
+    @Override
+    public void collectionCacheMiss(NavigableRole collectionRole, String regionName) {
+        super.collectionCacheMiss(collectionRole, regionName);
+        cacheMissed();
+    }
+
+    @Override
+    public void naturalIdCacheMiss(NavigableRole entityName, String regionName) {
+        super.naturalIdCacheMiss(entityName, regionName);
+        cacheMissed();
+    }
+
+    private static void cacheMissed() {
+        RequestStatistics request = RequestStatistics.current();
+        if (request != null) {
+            request.cacheMissed();
+        }
+    }
+
+    public static class Factory implements StatisticsFactory {
+
+        @Override
+        public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+            return new RequestAwareStatistics(sessionFactory);
+        }
+    }
+}
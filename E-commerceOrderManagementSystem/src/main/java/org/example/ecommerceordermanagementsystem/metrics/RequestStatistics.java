@@ -0,0 +1,73 @@
+package org.example.ecommerceordermanagementsystem.metrics;
+
+/**
+ * Hibernate work done on the current thread while a web request is being handled: JDBC statements prepared, entities
+ * loaded and second-level cache misses. {@link RequestAwareStatistics} adds to it; the counters of a thread are
+ * reused from one request to the next.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = ThreadLocal.withInitial(RequestStatistics::new);
+
+    private boolean active;
+    private long statements;
+    private long entityLoads;
+    private long cacheMisses;
+
+    private RequestStatistics() {
+    }
+
+    /**
+     * Starts counting on the current thread from zero.
+     */
+    public static void begin() {
+        RequestStatistics statistics = CURRENT.get();
+        statistics.statements = 0;
+        statistics.entityLoads = 0;
+        statistics.cacheMisses = 0;
+        statistics.active = true;
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the counters, valid until the next {@link #begin} on this thread, or {@code null} if none were started
+     */
+    public static RequestStatistics end() {
+        RequestStatistics statistics = CURRENT.get();
+        if (!statistics.active) {
+            return null;
+        }
+        statistics.active = false;
+        return statistics;
+    }
+
+    static RequestStatistics current() {
+        RequestStatistics statistics = CURRENT.get();
+        return statistics.active ? statistics : null;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long entityLoads() {
+        return entityLoads;
+    }
+
+    public long cacheMisses() {
+        return cacheMisses;
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void cacheMissed() {
+        cacheMisses++;
+    }
+}
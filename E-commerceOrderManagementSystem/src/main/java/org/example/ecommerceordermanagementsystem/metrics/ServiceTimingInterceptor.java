@@ -0,0 +1,125 @@
+package org.example.ecommerceordermanagementsystem.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every method that the given service interfaces declare as {@code oms.service}, tagged with the
+ * {@code service} interface, the {@code method} name and the {@code exception} thrown ({@code none} on success),
+ * with a percentile histogram between 1 ms and 30 s.
+ * <p>
+ * Timers are resolved once per method and exception type and kept, so a timed call costs two {@link System#nanoTime}
+ * reads and a map lookup. The registry is looked up on first use, because advisors are created before the metrics
+ * infrastructure is configured.
+ */
+public class ServiceTimingInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "oms.service";
+
+    private final List<Class<?>> services;
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public ServiceTimingInterceptor(List<Class<?>> services, ObjectProvider<MeterRegistry> registryProvider) {
+        this.services = List.copyOf(services);
+        this.registryProvider = registryProvider;
+    }
+
+    /**
+     * Matches the methods declared by the service interfaces on the beans implementing them.
+     */
+    public Pointcut pointcut() {
+        ClassFilter classFilter = type -> serviceOf(type) != null;
+        MethodMatcher methodMatcher = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                Class<?> service = serviceOf(targetClass);
+                return service != null && ClassUtils.hasMethod(service, method.getName(), method.getParameterTypes());
+            }
+        };
+        return new ComposablePointcut(classFilter, methodMatcher);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, key -> new MethodTimers(serviceOf(invocation.getThis().getClass()), key));
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            methodTimers.failure(e.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Class<?> serviceOf(Class<?> type) {
+        for (Class<?> service : services) {
+            if (service.isAssignableFrom(type)) {
+                return service;
+            }
+        }
+        return null;
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry current = registry;
+        if (current == null) {
+            current = registryProvider.getObject();
+            registry = current;
+        }
+        return current;
+    }
+
+    private final class MethodTimers {
+
+        private final String service;
+        private final String method;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        MethodTimers(Class<?> service, Method method) {
+            this.service = service.getSimpleName();
+            this.method = method.getName();
+            this.success = timer("none");
+        }
+
+        Timer failure(Class<?> exceptionType) {
+            return failures.computeIfAbsent(exceptionType, type -> timer(type.getSimpleName()));
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(METRIC_NAME)
+                    .description("Service method latency")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry());
+        }
+    }
+}
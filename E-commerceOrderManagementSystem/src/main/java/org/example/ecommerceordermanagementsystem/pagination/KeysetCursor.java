@@ -0,0 +1,127 @@
+package org.example.ecommerceordermanagementsystem.pagination;
+
+import org.example.ecommerceordermanagementsystem.exception.InvalidCursorException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ * <p>
+ * A cursor records the sort it was issued for and the sort key values (sort property plus id) of the last row
+ * returned, so the next slice seeks straight past that row instead of scanning an OFFSET.
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Rejects sort properties that are not backed by an index suitable for seeking.
+     */
+    public static void requireSortProperty(Sort.Order order, Set<String> sortableProperties) {
+        if (!sortableProperties.contains(order.getProperty())) {
+            throw new InvalidCursorException("Cursor pagination can only sort by " + sortableProperties
+                    + ", not '" + order.getProperty() + "'");
+        }
+    }
+
+    /**
+     * The sort to seek with: {@code order} followed by the id in the same direction, so that rows sharing a sort
+     * key keep a stable order across slices.
+     */
+    public static Sort sortOf(Sort.Order order) {
+        if (order.getProperty().equals("id")) {
+            return Sort.by(order);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), "id"));
+    }
+
+    public static String encode(Sort.Order order, KeysetScrollPosition position) {
+        StringJoiner token = new StringJoiner("|");
+        token.add(header(order));
+        position.getKeys().forEach((property, value) -> token.add(property + "=" + encodeValue(value)));
+        return ENCODER.encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor issued for {@code order}; a missing cursor starts at the first row.
+     */
+    public static KeysetScrollPosition decode(String cursor, Sort.Order order) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts;
+        try {
+            parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (!parts[0].equals(header(order))) {
+            throw new InvalidCursorException("Cursor was issued for a different sort order");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            for (int i = 1; i < parts.length; i++) {
+                int separator = parts[i].indexOf('=');
+                keys.put(parts[i].substring(0, separator), decodeValue(parts[i].substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        if (parts.length - 1 != keys.size() || !keys.keySet().equals(keyProperties(order))) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+        keys.forEach((property, value) -> {
+            if (!keyType(property).isInstance(value)) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+        });
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Set<String> keyProperties(Sort.Order order) {
+        return order.getProperty().equals("id") ? Set.of("id") : Set.of(order.getProperty(), "id");
+    }
+
+    /**
+     * Ids are numbers; the other properties cursors can sort by are all timestamps.
+     */
+    private static Class<?> keyType(String property) {
+        return property.equals("id") ? Long.class : LocalDateTime.class;
+    }
+
+    private static String header(Sort.Order order) {
+        return order.getProperty() + ":" + order.getDirection().name();
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return "t" + dateTime;
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            return "n" + value;
+        }
+        throw new IllegalStateException("Unsupported cursor key type: " + value.getClass().getName());
+    }
+
+    private static Object decodeValue(String value) {
+        return switch (value.charAt(0)) {
+            case 't' -> LocalDateTime.parse(value.substring(1));
+            case 'n' -> Long.parseLong(value.substring(1));
+            default -> throw new IllegalArgumentException("Unknown cursor key type: " + value.charAt(0));
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out connections whose statements report their execution time to the {@link SqlProfile} of the request that
+ * took the connection. Connections taken outside a profiled request are returned unwrapped.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    public ProfilingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection profiled(Connection connection) {
+        SqlProfile profile = SqlProfile.current();
+        if (profile == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection, profile));
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final SqlProfile profile;
+
+        ConnectionHandler(Connection target, SqlProfile profile) {
+            this.target = target;
+            this.profile = profile;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                    return statement(proxy, PreparedStatement.class, invokeTarget(target, method, args), (String) args[0]);
+                case "prepareCall":
+                    return statement(proxy, CallableStatement.class, invokeTarget(target, method, args), (String) args[0]);
+                case "createStatement":
+                    return statement(proxy, Statement.class, invokeTarget(target, method, args), null);
+                default:
+                    return invokeTarget(target, method, args);
+            }
+        }
+
+        private Object statement(Object connection, Class<? extends Statement> type, Object statement, String sql) {
+            return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, (Connection) connection, profile, sql));
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final SqlProfile profile;
+        private String sql;
+        private final List<String> bindTypes = new ArrayList<>();
+
+        StatementHandler(Statement target, Connection connection, SqlProfile profile, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.profile = profile;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") || args[1] == null ? "NULL" : args[1].getClass().getSimpleName());
+            } else if (name.equals("clearParameters")) {
+                bindTypes.clear();
+            } else if (name.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            } else if (name.equals("getConnection")) {
+                return connection;
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            try {
+                return invokeTarget(target, method, args);
+            } finally {
+                profile.executed(executed == null ? "" : executed, bindTypes, System.nanoTime() - start);
+            }
+        }
+
+        private void bind(int index, String type) {
+            while (bindTypes.size() < index) {
+                bindTypes.add("?");
+            }
+            bindTypes.set(index - 1, type);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Adds the {@code Server-Timing} header of a {@link SqlProfile} at the last moment it can still be sent: when the body
+ * is first written, or when the request completes without one.
+ */
+class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final SqlProfile profile;
+    private boolean written;
+
+    ServerTimingResponse(HttpServletResponse response, SqlProfile profile) {
+        super(response);
+        this.profile = profile;
+    }
+
+    void writeServerTiming() {
+        if (!written && !isCommitted()) {
+            written = true;
+            addHeader(SERVER_TIMING, profile.serverTiming());
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeServerTiming();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeServerTiming();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeServerTiming();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeServerTiming();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeServerTiming();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeServerTiming();
+        super.sendRedirect(location);
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement that took at least the slow query threshold, with its literals masked and only the types of its bind
+ * values.
+ */
+public record SlowQuery(Instant executedAt, long durationNanos, String endpoint, String sql, List<String> bindTypes) {
+}
@@ -0,0 +1,102 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The SQL a single sampled request ran: statement count, total execution time and its {@value #SLOWEST} slowest
+ * statements. Bound to the request thread by {@link SqlProfilingFilter}; the JDBC proxies of connections taken while
+ * it is bound report to it directly.
+ */
+public final class SqlProfile {
+
+    static final int SLOWEST = 3;
+
+    private static final ThreadLocal<SqlProfile> CURRENT = new ThreadLocal<>();
+
+    private final SqlProfiler profiler;
+    private final HttpServletRequest request;
+    private int statements;
+    private long totalNanos;
+    private final long[] slowestNanos = new long[SLOWEST];
+    private final String[] slowestSql = new String[SLOWEST];
+
+    SqlProfile(SqlProfiler profiler, HttpServletRequest request) {
+        this.profiler = profiler;
+        this.request = request;
+    }
+
+    static SqlProfile current() {
+        return CURRENT.get();
+    }
+
+    static void bind(SqlProfile profile) {
+        CURRENT.set(profile);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The HTTP method and URI template of the request, e.g. {@code GET /api/orders/{id}}; the URI itself is left out
+     * because it can carry customer data.
+     */
+    public String endpoint() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern instanceof String uri ? uri : "UNKNOWN");
+    }
+
+    public synchronized int statements() {
+        return statements;
+    }
+
+    public synchronized long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Records a statement executed on a connection of this request. {@code bindTypes} is only read during the call.
+     */
+    void executed(String sql, List<String> bindTypes, long nanos) {
+        record(sql, nanos);
+        profiler.captureIfSlow(this, sql, bindTypes, nanos);
+    }
+
+    private synchronized void record(String sql, long nanos) {
+        statements++;
+        totalNanos += nanos;
+        for (int i = 0; i < SLOWEST; i++) {
+            if (slowestSql[i] == null || nanos > slowestNanos[i]) {
+                System.arraycopy(slowestNanos, i, slowestNanos, i + 1, SLOWEST - i - 1);
+                System.arraycopy(slowestSql, i, slowestSql, i + 1, SLOWEST - i - 1);
+                slowestNanos[i] = nanos;
+                slowestSql[i] = sql;
+                return;
+            }
+        }
+    }
+
+    /**
+     * The {@code Server-Timing} value for this profile: total database time and statement count, then the slowest
+     * statements by kind and table, e.g. {@code db;dur=3.21;desc="4 statements", sql-1;dur=2.05;desc="select orders"}.
+     */
+    synchronized String serverTiming() {
+        StringBuilder header = new StringBuilder(128);
+        appendMetric(header, "db", totalNanos).append(";desc=\"").append(statements)
+                .append(statements == 1 ? " statement\"" : " statements\"");
+        for (int i = 0; i < SLOWEST && slowestSql[i] != null; i++) {
+            header.append(", ");
+            appendMetric(header, "sql-" + (i + 1), slowestNanos[i]).append(";desc=\"")
+                    .append(SqlText.summarize(slowestSql[i])).append('"');
+        }
+        return header.toString();
+    }
+
+    private static StringBuilder appendMetric(StringBuilder header, String name, long nanos) {
+        return header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1e6));
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which requests have their SQL profiled and keeps the slow queries they ran.
+ * <p>
+ * A request is profiled with probability {@code oms.profiling.sql.sample-rate}; only connections it takes are proxied,
+ * so unsampled requests and background work run on the bare pool. Statements of a profiled request taking at least
+ * {@code oms.profiling.sql.slow-threshold-ms} go into a ring buffer of the last {@code slow-query-capacity} slow
+ * queries. The sample rate and threshold can be changed while running through {@link #update}.
+ */
+@Component
+public class SqlProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+
+    private final SlowQuery[] slowQueries;
+    private int nextSlot;
+    private volatile double sampleRate;
+    private volatile long slowThresholdNanos;
+
+    public SqlProfiler(@Value("${oms.profiling.sql.sample-rate:0.1}") double sampleRate,
+                       @Value("${oms.profiling.sql.slow-threshold-ms:100}") long slowThresholdMs,
+                       @Value("${oms.profiling.sql.slow-query-capacity:100}") int slowQueryCapacity) {
+        this.slowQueries = new SlowQuery[slowQueryCapacity];
+        update(sampleRate, slowThresholdMs);
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    public long slowThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public int slowQueryCapacity() {
+        return slowQueries.length;
+    }
+
+    /**
+     * Applies new settings to requests that start from now on.
+     */
+    public void update(double sampleRate, long slowThresholdMs) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1, was " + sampleRate);
+        }
+        if (slowThresholdMs < 0) {
+            throw new IllegalArgumentException("Slow query threshold cannot be negative, was " + slowThresholdMs);
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        log.info("SQL profiling samples {} of requests and captures statements of {} ms or more", sampleRate, slowThresholdMs);
+    }
+
+    /**
+     * Starts profiling the request if it is sampled.
+     *
+     * @return the profile bound to the current thread, or {@code null} if the request is not sampled
+     */
+    SqlProfile begin(HttpServletRequest request) {
+        double rate = sampleRate;
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return null;
+        }
+        SqlProfile profile = new SqlProfile(this, request);
+        SqlProfile.bind(profile);
+        return profile;
+    }
+
+    void end() {
+        SqlProfile.unbind();
+    }
+
+    void captureIfSlow(SqlProfile profile, String sql, List<String> bindTypes, long nanos) {
+        if (nanos >= slowThresholdNanos) {
+            SlowQuery slowQuery = new SlowQuery(Instant.now(), nanos, profile.endpoint(), SqlText.mask(sql),
+                    List.copyOf(bindTypes));
+            synchronized (slowQueries) {
+                slowQueries[nextSlot] = slowQuery;
+                nextSlot = (nextSlot + 1) % slowQueries.length;
+            }
+        }
+    }
+
+    /**
+     * The slow queries in the buffer, slowest first.
+     */
+    public List<SlowQuery> slowQueries() {
+        List<SlowQuery> captured = new ArrayList<>(slowQueries.length);
+        synchronized (slowQueries) {
+            for (SlowQuery slowQuery : slowQueries) {
+                if (slowQuery != null) {
+                    captured.add(slowQuery);
+                }
+            }
+        }
+        captured.sort(Comparator.comparingLong(SlowQuery::durationNanos).reversed());
+        return captured;
+    }
+
+    public void clear() {
+        synchronized (slowQueries) {
+            Arrays.fill(slowQueries, null);
+            nextSlot = 0;
+        }
+    }
+}
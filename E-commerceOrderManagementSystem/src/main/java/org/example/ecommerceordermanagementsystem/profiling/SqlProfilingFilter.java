@@ -0,0 +1,39 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Profiles the SQL of sampled requests and reports it in a {@code Server-Timing} response header. Statements run
+ * after the body has started, or after the request has gone asynchronous, are not in the header.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private final SqlProfiler profiler;
+
+    public SqlProfilingFilter(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlProfile profile = profiler.begin(request);
+        if (profile == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ServerTimingResponse profiledResponse = new ServerTimingResponse(response, profile);
+        try {
+            filterChain.doFilter(request, profiledResponse);
+        } finally {
+            profiler.end();
+            profiledResponse.writeServerTiming();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Text handling for captured statements. Literals are masked so that no customer data leaves through the slow query
+ * log; bind values are never captured at all.
+ */
+final class SqlText {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private SqlText() {
+    }
+
+    /**
+     * The statement on one line with string and numeric literals replaced by {@code ?}.
+     */
+    static String mask(String sql) {
+        String masked = STRING_LITERAL.matcher(sql).replaceAll("?");
+        masked = NUMERIC_LITERAL.matcher(masked).replaceAll("?");
+        return WHITESPACE.matcher(masked).replaceAll(" ").trim();
+    }
+
+    /**
+     * The statement kind and first table it names, e.g. {@code select orders}.
+     */
+    static String summarize(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String kind = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        Matcher table = TABLE.matcher(trimmed);
+        return table.find() ? kind + " " + table.group(1).toLowerCase(Locale.ROOT) : kind;
+    }
+}
@@ -1,9 +1,37 @@
 package org.example.ecommerceordermanagementsystem.repository;
 
 import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.StockLevel(oi.product.id, sum(oi.quantity)) from OrderItem oi " +
+            "where oi.order.status = org.example.ecommerceordermanagementsystem.enums.OrderStatus.PENDING group by oi.product.id")
+    List<StockLevel> findPendingReservations();
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.StockLevel(oi.product.id, sum(oi.quantity)) from OrderItem oi " +
+            "where oi.order.status = org.example.ecommerceordermanagementsystem.enums.OrderStatus.PENDING and oi.product.id in :productIds group by oi.product.id")
+    List<StockLevel> findPendingReservationsByProductIdIn(Collection<Long> productIds);
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.ProductSales(oi.product.id, sum(oi.quantity)) from OrderItem oi " +
+            "where oi.order.status in :statuses and oi.order.orderDate >= :since group by oi.product.id")
+    List<ProductSales> sumQuantitiesByProductSince(Collection<OrderStatus> statuses, LocalDateTime since);
+
+    // Order counts are per category here: an order with items in two categories counts once in each.
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.SalesTotal(cast(o.orderDate as LocalDate), o.status, p.category, " +
+            "sum(oi.totalPrice), sum(oi.quantity), count(distinct o.id)) from OrderItem oi join oi.order o left join oi.product p " +
+            "group by cast(o.orderDate as LocalDate), o.status, p.category")
+    List<SalesTotal> sumSalesByDayStatusAndCategory();
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.SalesTotal(cast(o.orderDate as LocalDate), o.status, " +
+            "sum(oi.totalPrice), sum(oi.quantity), count(distinct o.id)) from OrderItem oi join oi.order o " +
+            "group by cast(o.orderDate as LocalDate), o.status")
+    List<SalesTotal> sumSalesByDayAndStatus();
 }
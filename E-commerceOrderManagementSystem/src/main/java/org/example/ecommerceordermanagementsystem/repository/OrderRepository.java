@@ -1,11 +1,59 @@
 package org.example.ecommerceordermanagementsystem.repository;
 
+import jakarta.persistence.QueryHint;
 import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByCustomerEmail(String customerEmail);
-}
\ No newline at end of file
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+    String EXPORT_FETCH_SIZE = "500";
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
+    List<Order> findWithItemsByIdIn(Collection<Long> ids);
+
+    Window<Order> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    // Orders only; the exporter fetch-joins items per chunk. Rows are pulled from the cursor EXPORT_FETCH_SIZE at a time.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o where (:status is null or o.status = :status) " +
+            "and (:from is null or o.orderDate >= :from) and (:to is null or o.orderDate < :to) order by o.id")
+    Stream<Order> streamForExport(OrderStatus status, LocalDateTime from, LocalDateTime to);
+
+    // Pages over ids only: fetch-joining the items here would make Hibernate paginate in memory.
+    @Query("select o.id from Order o")
+    Page<Long> findIdPage(Pageable pageable);
+
+    // Two scalars, so that conditional GETs are answered without loading the order graph.
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.OrderVersion(o.version, coalesce(sum(p.version), 0L)) " +
+            "from Order o left join o.orderItems oi left join oi.product p where o.id = :id group by o.id, o.version")
+    Optional<OrderVersion> findVersionById(Long id);
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.OrderRevision(o.id, o.version) from Order o where o.id in :ids")
+    List<OrderRevision> findRevisionsByIdIn(Collection<Long> ids);
+
+    long countByStatus(OrderStatus status);
+}
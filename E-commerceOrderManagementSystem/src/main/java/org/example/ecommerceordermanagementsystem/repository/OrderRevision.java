@@ -0,0 +1,7 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+/**
+ * The version of an order as a query saw it.
+ */
+public record OrderRevision(Long orderId, long version) {
+}
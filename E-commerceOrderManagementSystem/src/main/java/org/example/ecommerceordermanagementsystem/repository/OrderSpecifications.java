@@ -0,0 +1,32 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.springframework.data.jpa.domain.Specification;
+import java.time.LocalDateTime;
+
+/**
+ * Filters for order history queries. Optional filters return {@code null} when unset so that
+ * {@link Specification#and} leaves them out of the WHERE clause.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> customerEmail(String customerEmail) {
+        return (root, query, cb) -> cb.equal(root.get("customerEmail"), customerEmail);
+    }
+
+    public static Specification<Order> hasStatus(OrderStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Order> placedFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("orderDate"), from);
+    }
+
+    public static Specification<Order> placedBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("orderDate"), to);
+    }
+}
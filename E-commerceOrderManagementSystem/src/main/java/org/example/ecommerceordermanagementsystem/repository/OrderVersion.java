@@ -0,0 +1,8 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+/**
+ * Version of an order and the sum of the versions of its products, whose names appear in the order's
+ * representation. Both only grow, so together they change whenever that representation can have changed.
+ */
+public record OrderVersion(Long version, Long productVersions) {
+}
@@ -1,15 +1,32 @@
 package org.example.ecommerceordermanagementsystem.repository;
 
 import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductStockOperations {
     Page<Product> findByNameContainingIgnoreCaseAndCategoryContainingIgnoreCase(String name, String category, Pageable pageable);
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
     Page<Product> findByCategoryContainingIgnoreCase(String category, Pageable pageable);
     Page<Product> findByIsActiveTrue(Pageable pageable);
+    Window<Product> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("select p.id from Product p")
+    Page<Long> findIdPage(Pageable pageable);
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.StockLevel(p.id, p.stock, p.stockShards) from Product p")
+    List<StockLevel> findAllStockLevels();
+
+    @Query("select new org.example.ecommerceordermanagementsystem.repository.StockLevel(p.id, p.stock, p.stockShards) from Product p where p.id in :ids")
+    List<StockLevel> findStockLevelsByIdIn(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+/**
+ * Units of a product sold in orders of the queried statuses and period.
+ */
+public record ProductSales(Long productId, long unitsSold) {
+}
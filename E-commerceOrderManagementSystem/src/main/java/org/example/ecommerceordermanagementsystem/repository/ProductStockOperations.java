@@ -0,0 +1,23 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based stock adjustments executed as a single JDBC batch, without loading {@code Product} entities.
+ * Both methods must run inside the caller's transaction.
+ */
+public interface ProductStockOperations {
+
+    /**
+     * Atomically decrements the stock of every product by the given quantity, guarded by {@code stock >= quantity}.
+     *
+     * @return ids of the products whose guard failed (no row updated); empty when every line was applied
+     */
+    List<Long> decrementStock(Map<Long, Integer> quantitiesByProductId);
+
+    /**
+     * Atomically increments the stock of every product by the given quantity.
+     */
+    void incrementStock(Map<Long, Integer> quantitiesByProductId);
+}
@@ -0,0 +1,21 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue, units and number of orders of one sales bucket. Dimensions that a total is not broken down by are
+ * {@code null}; so is the category of uncategorized products.
+ */
+public record SalesTotal(LocalDate day, OrderStatus status, String category, BigDecimal revenue, long units, long orders) {
+
+    public SalesTotal(LocalDate day, OrderStatus status, String category, BigDecimal revenue, Long units, Long orders) {
+        this(day, status, category, revenue, units.longValue(), orders.longValue());
+    }
+
+    public SalesTotal(LocalDate day, OrderStatus status, BigDecimal revenue, Long units, Long orders) {
+        this(day, status, null, revenue, units, orders);
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+/**
+ * Quantity of a product, used for stock and reservation snapshots. {@code shards} is the number of stock
+ * counters the product is striped across and is only meaningful for stock snapshots.
+ */
+public record StockLevel(Long productId, long quantity, int shards) {
+
+    public StockLevel(Long productId, long quantity) {
+        this(productId, quantity, 1);
+    }
+
+    public StockLevel(Long productId, Integer quantity) {
+        this(productId, quantity.longValue());
+    }
+
+    public StockLevel(Long productId, Integer quantity, Integer shards) {
+        this(productId, quantity.longValue(), shards);
+    }
+}
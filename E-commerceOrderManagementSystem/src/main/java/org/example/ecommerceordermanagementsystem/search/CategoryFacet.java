@@ -0,0 +1,7 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+/**
+ * Number of active products in a category and how many of them are in stock.
+ */
+public record CategoryFacet(String category, long productCount, long inStockCount) {
+}
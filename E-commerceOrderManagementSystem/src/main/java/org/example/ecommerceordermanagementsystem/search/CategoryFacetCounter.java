@@ -0,0 +1,186 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Per-category counts of active products and of active products in stock, for category navigation.
+ * <p>
+ * Counts live in {@link LongAdder}s and are adjusted as products are created, updated and deleted (after commit) and
+ * as the reservation engine reports products selling out or coming back into stock. Each product's last counted
+ * state is kept so that an adjustment only moves the counters it affects. Concurrent changes to the same product can
+ * leave the counts slightly off; they are recomputed from the {@code products} table and the reservation engine at
+ * startup and every {@code oms.facets.reconcile-interval-ms}.
+ */
+@Component
+public class CategoryFacetCounter implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryFacetCounter.class);
+
+    private static final int RECONCILE_BATCH_SIZE = 10_000;
+    // ConcurrentHashMap has no null keys; products without a category are counted under this one.
+    private static final String UNCATEGORIZED = "";
+
+    private final ProductRepository productRepository;
+    private final InventoryReservationEngine inventory;
+    private volatile Counts counts = new Counts();
+
+    public CategoryFacetCounter(ProductRepository productRepository, InventoryReservationEngine inventory) {
+        this.productRepository = productRepository;
+        this.inventory = inventory;
+        inventory.addStockStatusListener(this::stockStatusChanged);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    /**
+     * Recounts every product and swaps the new counts in, logging the categories that had drifted.
+     */
+    @Scheduled(initialDelayString = "${oms.facets.reconcile-interval-ms:300000}",
+            fixedDelayString = "${oms.facets.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Counts recounted = new Counts();
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Product> window;
+        do {
+            window = productRepository.findAllBy(position, Sort.by("id"), Limit.of(RECONCILE_BATCH_SIZE));
+            window.forEach(product -> recounted.put(product.getId(), stateOf(product)));
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        List<CategoryFacet> before = counts.facets();
+        counts = recounted;
+        List<CategoryFacet> after = recounted.facets();
+        if (!before.isEmpty() && !before.equals(after)) {
+            log.warn("Category facet counts drifted and were reconciled: {} -> {}", before, after);
+        }
+        log.debug("Counted {} products across {} categories", recounted.products.size(), after.size());
+    }
+
+    /**
+     * Counts the product in its current category and state once the surrounding transaction commits.
+     */
+    public void index(Product product) {
+        Long id = product.getId();
+        ProductState state = stateOf(product);
+        afterCommit(() -> counts.put(id, state));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> counts.remove(id));
+    }
+
+    /**
+     * Active-product and in-stock counts per category, ordered by category. Categories without active products are
+     * left out; products without a category are reported under a {@code null} category.
+     */
+    public List<CategoryFacet> facets() {
+        return counts.facets();
+    }
+
+    void stockStatusChanged(Long productId, boolean inStock) {
+        counts.updateStock(productId, inStock);
+    }
+
+    private ProductState stateOf(Product product) {
+        // Newly created products are not tracked by the engine until their transaction commits.
+        boolean inStock = inventory.availableOf(product.getId()).orElse(product.getStock()) > 0;
+        String category = product.getCategory() == null ? UNCATEGORIZED : product.getCategory();
+        return new ProductState(category, product.getIsActive(), inStock);
+    }
+
+    private record ProductState(String category, boolean active, boolean inStock) {
+
+        ProductState withInStock(boolean inStock) {
+            return new ProductState(category, active, inStock);
+        }
+    }
+
+    private static final class CategoryCount {
+        private final LongAdder active = new LongAdder();
+        private final LongAdder inStock = new LongAdder();
+    }
+
+    private static final class Counts {
+
+        private final Map<Long, ProductState> products = new ConcurrentHashMap<>();
+        private final Map<String, CategoryCount> categories = new ConcurrentHashMap<>();
+
+        void put(Long id, ProductState state) {
+            products.compute(id, (key, previous) -> {
+                move(previous, state);
+                return state;
+            });
+        }
+
+        void remove(Long id) {
+            products.computeIfPresent(id, (key, previous) -> {
+                move(previous, null);
+                return null;
+            });
+        }
+
+        void updateStock(Long id, boolean inStock) {
+            ProductState current = products.get(id);
+            // Skips the map lock when nothing changes, which is the common case on the reservation path.
+            if (current == null || current.inStock() == inStock) {
+                return;
+            }
+            products.computeIfPresent(id, (key, previous) -> {
+                ProductState updated = previous.withInStock(inStock);
+                move(previous, updated);
+                return updated;
+            });
+        }
+
+        List<CategoryFacet> facets() {
+            return categories.entrySet().stream()
+                    .map(entry -> new CategoryFacet(
+                            UNCATEGORIZED.equals(entry.getKey()) ? null : entry.getKey(),
+                            entry.getValue().active.sum(),
+                            entry.getValue().inStock.sum()))
+                    .filter(facet -> facet.productCount() > 0)
+                    .sorted(Comparator.comparing(CategoryFacet::category, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+        }
+
+        private void move(ProductState from, ProductState to) {
+            add(from, -1);
+            add(to, 1);
+        }
+
+        private void add(ProductState state, int delta) {
+            if (state == null || !state.active()) {
+                return;
+            }
+            CategoryCount count = categories.computeIfAbsent(state.category(), category -> new CategoryCount());
+            count.active.add(delta);
+            if (state.inStock()) {
+                count.inStock.add(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.afterCommit;
+
+/**
+ * In-memory trigram index answering the case-insensitive substring queries of {@code searchProducts} without a
+ * table scan.
+ * <p>
+ * Every indexed product gets an int ordinal. Lower-cased name and category are split into overlapping three-character
+ * grams, and each gram maps to the ascending list of ordinals containing it, held in a plain {@code int[]}. A query of
+ * three or more characters intersects the posting lists of its grams, shortest first, and checks the survivors
+ * against the full string; shorter queries have no gram to look up and scan all entries. Matches are sorted and paged
+ * in memory, for the properties in {@link #SORTABLE_PROPERTIES}.
+ * <p>
+ * Updates append the product under a fresh ordinal and tombstone the old one, so posting lists only ever grow at the
+ * end and stay sorted. Once tombstones outnumber live entries the index is compacted. Changes are applied after the
+ * surrounding transaction commits. The index is built from the {@code products} table at startup.
+ */
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final int GRAM_LENGTH = 3;
+    static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final int MIN_ENTRIES_TO_COMPACT = 1_024;
+
+    private static final Map<String, Comparator<ProductSnapshot>> SORT_KEYS = Map.of(
+            "id", Comparator.comparing(ProductSnapshot::id),
+            "name", nullsFirst(ProductSnapshot::name),
+            "category", nullsFirst(ProductSnapshot::category),
+            "price", nullsFirst(ProductSnapshot::price),
+            "createdAt", nullsFirst(ProductSnapshot::createdAt));
+    public static final Set<String> SORTABLE_PROPERTIES = SORT_KEYS.keySet();
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Entries entries = new Entries(16);
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Re-reads all products, {@value #REBUILD_BATCH_SIZE} at a time, and swaps the new index in.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        Entries rebuilt = new Entries(REBUILD_BATCH_SIZE);
+        Sort byId = Sort.by("id");
+        ScrollPosition position = ScrollPosition.keyset();
+        Window<Product> window;
+        do {
+            window = productRepository.findAllBy(position, byId, Limit.of(REBUILD_BATCH_SIZE));
+            window.forEach(product -> rebuilt.put(ProductSnapshot.of(product)));
+            if (!window.isEmpty()) {
+                position = window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+
+        lock.writeLock().lock();
+        try {
+            entries = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} products for search in {} ms", rebuilt.live, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces the product once the surrounding transaction commits.
+     */
+    public void index(Product product) {
+        ProductSnapshot snapshot = ProductSnapshot.of(product);
+        afterCommit(() -> write(current -> current.put(snapshot)));
+    }
+
+    /**
+     * Drops the product once the surrounding transaction commits.
+     */
+    public void remove(Long id) {
+        afterCommit(() -> write(current -> current.remove(id)));
+    }
+
+    /**
+     * Whether {@link #search} can order results by the given sort.
+     */
+    public boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    /**
+     * Finds the products whose name contains {@code name} and whose category contains {@code category}, ignoring
+     * case. A {@code null} criterion matches everything, like an absent filter on the LIKE path.
+     *
+     * @throws IllegalArgumentException if the sort is not {@linkplain #supports supported}
+     */
+    public Page<ProductSnapshot> search(String name, String category, Pageable pageable) {
+        if (!supports(pageable.getSort())) {
+            throw new IllegalArgumentException("Search index cannot sort by " + pageable.getSort());
+        }
+        String nameQuery = normalize(name);
+        String categoryQuery = normalize(category);
+        Comparator<ProductSnapshot> comparator = comparatorFor(pageable.getSort());
+
+        List<ProductSnapshot> matches;
+        lock.readLock().lock();
+        try {
+            matches = entries.find(nameQuery, categoryQuery);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (pageable.isUnpaged()) {
+            matches.sort(comparator);
+            return new PageImpl<>(matches, pageable, matches.size());
+        }
+        long offset = pageable.getOffset();
+        if (offset >= matches.size()) {
+            return new PageImpl<>(List.of(), pageable, matches.size());
+        }
+        List<ProductSnapshot> top = smallest(matches, (int) Math.min(offset + pageable.getPageSize(), matches.size()), comparator);
+        return new PageImpl<>(top.subList((int) offset, top.size()), pageable, matches.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Entries> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(entries);
+            if (entries.count >= MIN_ENTRIES_TO_COMPACT && entries.count - entries.live > entries.live) {
+                entries = entries.compacted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Keeps the k first elements in a bounded heap instead of sorting every match.
+    private static List<ProductSnapshot> smallest(List<ProductSnapshot> matches, int k, Comparator<ProductSnapshot> comparator) {
+        if (k == matches.size()) {
+            matches.sort(comparator);
+            return matches;
+        }
+        PriorityQueue<ProductSnapshot> heap = new PriorityQueue<>(k + 1, comparator.reversed());
+        for (ProductSnapshot match : matches) {
+            if (heap.size() < k) {
+                heap.add(match);
+            } else if (comparator.compare(match, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(match);
+            }
+        }
+        List<ProductSnapshot> top = new ArrayList<>(heap);
+        top.sort(comparator);
+        return top;
+    }
+
+    // Ties are broken by id so that pages do not overlap.
+    private static Comparator<ProductSnapshot> comparatorFor(Sort sort) {
+        Comparator<ProductSnapshot> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<ProductSnapshot> key = SORT_KEYS.get(order.getProperty());
+            comparator = comparator.thenComparing(order.isAscending() ? key : key.reversed());
+        }
+        return comparator.thenComparing(ProductSnapshot::id);
+    }
+
+    // Matches the database default of sorting NULL below any value.
+    private static <T extends Comparable<? super T>> Comparator<ProductSnapshot> nullsFirst(Function<ProductSnapshot, T> key) {
+        return Comparator.comparing(key, Comparator.nullsFirst(Comparator.naturalOrder()));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long gram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    /**
+     * The index proper. Not thread-safe; guarded by the enclosing lock.
+     */
+    private static final class Entries {
+
+        private ProductSnapshot[] products;
+        private String[] names;
+        private String[] categories;
+        private int count;
+        private int live;
+        private final Map<Long, Integer> ordinalsById = new HashMap<>();
+        private final Map<Long, Postings> nameGrams = new HashMap<>();
+        private final Map<Long, Postings> categoryGrams = new HashMap<>();
+
+        Entries(int capacity) {
+            products = new ProductSnapshot[capacity];
+            names = new String[capacity];
+            categories = new String[capacity];
+        }
+
+        void put(ProductSnapshot product) {
+            remove(product.id());
+            if (count == products.length) {
+                int capacity = count + (count >> 1) + 1;
+                products = Arrays.copyOf(products, capacity);
+                names = Arrays.copyOf(names, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+            }
+            int ordinal = count++;
+            products[ordinal] = product;
+            names[ordinal] = normalize(product.name());
+            categories[ordinal] = normalize(product.category());
+            addGrams(nameGrams, names[ordinal], ordinal);
+            addGrams(categoryGrams, categories[ordinal], ordinal);
+            ordinalsById.put(product.id(), ordinal);
+            live++;
+        }
+
+        void remove(Long id) {
+            Integer ordinal = ordinalsById.remove(id);
+            if (ordinal != null) {
+                products[ordinal] = null;
+                names[ordinal] = null;
+                categories[ordinal] = null;
+                live--;
+            }
+        }
+
+        List<ProductSnapshot> find(String name, String category) {
+            int[] candidates = candidates(nameGrams, name, null);
+            candidates = candidates(categoryGrams, category, candidates);
+            List<ProductSnapshot> matches = new ArrayList<>();
+            int limit = candidates == null ? count : candidates.length;
+            for (int i = 0; i < limit; i++) {
+                int ordinal = candidates == null ? i : candidates[i];
+                if (products[ordinal] != null
+                        && contains(names[ordinal], name)
+                        && contains(categories[ordinal], category)) {
+                    matches.add(products[ordinal]);
+                }
+            }
+            return matches;
+        }
+
+        Entries compacted() {
+            Entries compacted = new Entries(Math.max(live, 16));
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                if (products[ordinal] != null) {
+                    compacted.put(products[ordinal]);
+                }
+            }
+            return compacted;
+        }
+
+        private static boolean contains(String text, String query) {
+            return query == null || (text != null && text.contains(query));
+        }
+
+        private static void addGrams(Map<Long, Postings> index, String text, int ordinal) {
+            if (text == null) {
+                return;
+            }
+            for (int at = 0; at + GRAM_LENGTH <= text.length(); at++) {
+                // A gram repeated within the text is appended once: the ordinal is already the last entry.
+                index.computeIfAbsent(gram(text, at), g -> new Postings()).addIfAbsent(ordinal);
+            }
+        }
+
+        /**
+         * Narrows {@code current} (all entries when {@code null}) to the ordinals holding every gram of the query.
+         * Returns {@code current} unchanged for queries too short to have a gram.
+         */
+        private static int[] candidates(Map<Long, Postings> index, String query, int[] current) {
+            if (query == null || query.length() < GRAM_LENGTH) {
+                return current;
+            }
+            List<Postings> lists = new ArrayList<>();
+            for (int at = 0; at + GRAM_LENGTH <= query.length(); at++) {
+                Postings postings = index.get(gram(query, at));
+                if (postings == null) {
+                    return new int[0];
+                }
+                lists.add(postings);
+            }
+            lists.sort(Comparator.comparingInt(postings -> postings.size));
+            int[] result = current;
+            int size = current == null ? 0 : current.length;
+            for (Postings postings : lists) {
+                if (result == null) {
+                    result = Arrays.copyOf(postings.ordinals, postings.size);
+                    size = result.length;
+                } else {
+                    size = intersect(result, size, postings);
+                }
+                if (size == 0) {
+                    break;
+                }
+            }
+            return size == result.length ? result : Arrays.copyOf(result, size);
+        }
+
+        // Intersects the first size entries of target with the postings in place; both are ascending.
+        private static int intersect(int[] target, int size, Postings postings) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size && j < postings.size; i++) {
+                int ordinal = target[i];
+                while (j < postings.size && postings.ordinals[j] < ordinal) {
+                    j++;
+                }
+                if (j < postings.size && postings.ordinals[j] == ordinal) {
+                    target[kept++] = ordinal;
+                }
+            }
+            return kept;
+        }
+    }
+
+    /**
+     * Ascending ordinals sharing one gram.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void addIfAbsent(int ordinal) {
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                return;
+            }
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size << 1);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductSales;
+import org.example.ecommerceordermanagementsystem.support.OrderChangeLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.example.ecommerceordermanagementsystem.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Prefix trie over the names of active products, for search-box typeahead.
+ * <p>
+ * A name is indexed under each of its word suffixes, so "lap" finds "Gaming Laptop". Every node keeps the
+ * {@value #MAX_SUGGESTIONS} most popular products below it, ranked by the quantity sold in orders placed within
+ * {@code oms.suggest.popularity-window} (CONFIRMED, SHIPPED or DELIVERED). A lookup is a walk of at most
+ * {@value #MAX_DEPTH} nodes followed by a copy of the node's list; longer prefixes filter the few products below the
+ * deepest node.
+ * <p>
+ * Confirmed orders raise popularity in place; product changes re-index the product. Both are applied after the
+ * surrounding transaction commits. Removing a product that sat in a full top list marks that node stale, and the list
+ * is recomputed from the subtree on its next lookup. Popularity only ever grows between rebuilds: the trie is rebuilt
+ * from the database at startup and every {@code oms.suggest.rebuild-interval-ms}, which ages out old orders and
+ * accounts for cancellations. Sales applied while a rebuild runs are replayed onto the rebuilt trie unless its snapshot
+ * already holds them, see {@link OrderChangeLog}; product changes set the product's current name and state, so they are
+ * replayed as they are.
+ */
+@Component
+public class ProductSuggestIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSuggestIndex.class);
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_DEPTH = 16;
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final Set<OrderStatus> SOLD = EnumSet.of(OrderStatus.CONFIRMED, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+    private static final Comparator<Entry> RANKING = Comparator.<Entry>comparingLong(entry -> entry.popularity).reversed()
+            .thenComparing(entry -> entry.name)
+            .thenComparing(entry -> entry.id);
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate snapshot;
+    private final Duration popularityWindow;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes rebuilds, e.g. a startup one running into the scheduled one, which share the change logs.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final OrderChangeLog<Trie> sales = new OrderChangeLog<>();
+    private Trie trie = new Trie();
+    // Product changes applied while a rebuild reads the database, replayed onto the rebuilt trie; null outside a rebuild.
+    private List<Consumer<Trie>> productChangesDuringRebuild;
+
+    public ProductSuggestIndex(ProductRepository productRepository,
+                               OrderItemRepository orderItemRepository,
+                               OrderRepository orderRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${oms.suggest.popularity-window:30d}") Duration popularityWindow) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        // The popularity query, the product scan and the version lookup of the replay must read the same snapshot.
+        this.snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.popularityWindow = popularityWindow;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${oms.suggest.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${oms.suggest.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildTrie();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildTrie() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            productChangesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        sales.startRecording();
+
+        Trie rebuilt = new Trie();
+        try {
+            snapshot.executeWithoutResult(status -> {
+                for (ProductSales sold : orderItemRepository.sumQuantitiesByProductSince(SOLD, LocalDateTime.now().minus(popularityWindow))) {
+                    rebuilt.addPopularity(sold.productId(), sold.unitsSold());
+                }
+                ScrollPosition position = ScrollPosition.keyset();
+                Window<Product> window;
+                do {
+                    window = productRepository.findAllBy(position, Sort.by("id"), Limit.of(REBUILD_BATCH_SIZE));
+                    window.forEach(product -> rebuilt.index(product.getId(), product.getName(), product.getIsActive()));
+                    if (!window.isEmpty()) {
+                        position = window.positionAt(window.size() - 1);
+                    }
+                } while (window.hasNext());
+
+                sales.awaitEarlierCommits();
+                lock.writeLock().lock();
+                try {
+                    productChangesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                    sales.replayUnseen(rebuilt, orderRepository::findRevisionsByIdIn);
+                    trie = rebuilt;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        } finally {
+            sales.stopRecording();
+            lock.writeLock().lock();
+            try {
+                productChangesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Indexed {} product names for suggestions in {} ms", rebuilt.entries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds, renames or, for an inactive product, removes the product once the surrounding transaction commits.
+     */
+    public void index(Product product) {
+        Long id = product.getId();
+        String name = product.getName();
+        boolean active = product.getIsActive();
+        afterCommit(() -> writeProductChange(current -> current.index(id, name, active)));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> writeProductChange(current -> current.remove(id)));
+    }
+
+    /**
+     * Adds the quantities of a confirmed order to the popularity of its products once the surrounding transaction
+     * commits.
+     */
+    public void recordSales(Order order, Map<Long, Integer> quantitiesByProductId) {
+        sales.afterCommit(() -> {
+            Consumer<Trie> change = current -> quantitiesByProductId.forEach(current::addPopularity);
+            lock.writeLock().lock();
+            try {
+                change.accept(trie);
+                // After commit the order holds the version it was committed at.
+                sales.record(order.getId(), order.getVersion(), change);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns up to {@code limit} active products with a name word starting with {@code prefix}, ignoring case, most
+     * popular first. A blank prefix returns the most popular products overall.
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        int size = Math.min(limit, MAX_SUGGESTIONS);
+        lock.readLock().lock();
+        try {
+            Node node = trie.find(key);
+            if (node == null) {
+                return List.of();
+            }
+            if (key.length() > MAX_DEPTH) {
+                return suggestions(node.rank(entry -> entry.hasKeyStartingWith(key)), size);
+            }
+            if (!node.stale) {
+                return suggestions(Arrays.asList(node.top).subList(0, node.topSize), size);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            Node node = trie.find(key);
+            if (node == null) {
+                return List.of();
+            }
+            node.refill();
+            return suggestions(Arrays.asList(node.top).subList(0, node.topSize), size);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void writeProductChange(Consumer<Trie> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(trie);
+            if (productChangesDuringRebuild != null) {
+                productChangesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<ProductSuggestion> suggestions(List<Entry> ranked, int size) {
+        return ranked.stream()
+                .limit(size)
+                .map(entry -> new ProductSuggestion(entry.id, entry.name, entry.popularity))
+                .toList();
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT).stripLeading().replaceAll("\\s+", " ");
+    }
+
+    // "Gaming Laptop Pro" is reachable as "gaming laptop pro", "laptop pro" and "pro".
+    private static String[] keysOf(String name) {
+        String[] words = normalize(name).strip().split(" ");
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < words.length; i++) {
+            keys.add(String.join(" ", Arrays.asList(words).subList(i, words.length)));
+        }
+        return keys.toArray(String[]::new);
+    }
+
+    /**
+     * The index proper. Not thread-safe; guarded by the enclosing lock.
+     */
+    private static final class Trie {
+
+        private final Node root = new Node();
+        private final Map<Long, Entry> entries = new HashMap<>();
+        // Kept for inactive products too, so that reactivating one restores its ranking.
+        private final Map<Long, Long> popularity = new HashMap<>();
+
+        void index(Long id, String name, boolean active) {
+            remove(id);
+            if (!active) {
+                return;
+            }
+            Entry entry = new Entry(id, name, keysOf(name), popularity.getOrDefault(id, 0L));
+            entries.put(id, entry);
+            for (String key : entry.keys) {
+                Node node = root;
+                node.offer(entry);
+                for (int depth = 0; depth < Math.min(key.length(), MAX_DEPTH); depth++) {
+                    node = node.childOrCreate(key.charAt(depth));
+                    node.offer(entry);
+                }
+                node.addToBucket(entry);
+            }
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String key : entry.keys) {
+                Node node = root;
+                node.withdraw(entry);
+                for (int depth = 0; depth < Math.min(key.length(), MAX_DEPTH); depth++) {
+                    node = node.child(key.charAt(depth));
+                    node.withdraw(entry);
+                }
+                node.removeFromBucket(entry);
+            }
+        }
+
+        void addPopularity(Long id, long quantity) {
+            popularity.merge(id, quantity, Long::sum);
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                return;
+            }
+            entry.popularity += quantity;
+            for (String key : entry.keys) {
+                Node node = root;
+                node.offer(entry);
+                for (int depth = 0; depth < Math.min(key.length(), MAX_DEPTH); depth++) {
+                    node = node.child(key.charAt(depth));
+                    node.offer(entry);
+                }
+            }
+        }
+
+        Node find(String key) {
+            Node node = root;
+            for (int depth = 0; node != null && depth < Math.min(key.length(), MAX_DEPTH); depth++) {
+                node = node.child(key.charAt(depth));
+            }
+            return node;
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        // Best entries of the subtree, best first. When not full it holds every entry of the subtree.
+        private Entry[] top = NO_ENTRIES;
+        private int topSize;
+        private boolean stale;
+        // Entries with a key ending here, or cut off here at MAX_DEPTH.
+        private Entry[] bucket = NO_ENTRIES;
+        private int bucketSize;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int at = -index - 1;
+            char[] grownLabels = new char[labels.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, grownLabels, 0, at);
+            System.arraycopy(children, 0, grownChildren, 0, at);
+            System.arraycopy(labels, at, grownLabels, at + 1, labels.length - at);
+            System.arraycopy(children, at, grownChildren, at + 1, children.length - at);
+            grownLabels[at] = label;
+            grownChildren[at] = new Node();
+            labels = grownLabels;
+            children = grownChildren;
+            return grownChildren[at];
+        }
+
+        // Inserts the entry or moves it up after its popularity grew.
+        void offer(Entry entry) {
+            int at = indexOf(top, topSize, entry);
+            if (at < 0) {
+                if (topSize < MAX_SUGGESTIONS) {
+                    if (topSize == top.length) {
+                        top = Arrays.copyOf(top, Math.min(MAX_SUGGESTIONS, Math.max(1, topSize * 2)));
+                    }
+                    at = topSize++;
+                } else if (RANKING.compare(entry, top[topSize - 1]) < 0) {
+                    at = topSize - 1;
+                } else {
+                    return;
+                }
+                top[at] = entry;
+            }
+            for (; at > 0 && RANKING.compare(top[at], top[at - 1]) < 0; at--) {
+                Entry swapped = top[at - 1];
+                top[at - 1] = top[at];
+                top[at] = swapped;
+            }
+        }
+
+        void withdraw(Entry entry) {
+            int at = indexOf(top, topSize, entry);
+            if (at < 0) {
+                return;
+            }
+            // A full list may have hidden the next best entry of the subtree.
+            stale |= topSize == MAX_SUGGESTIONS;
+            System.arraycopy(top, at + 1, top, at, topSize - at - 1);
+            top[--topSize] = null;
+        }
+
+        void refill() {
+            if (!stale) {
+                return;
+            }
+            List<Entry> ranked = rank(entry -> true);
+            top = ranked.subList(0, Math.min(MAX_SUGGESTIONS, ranked.size())).toArray(Entry[]::new);
+            topSize = top.length;
+            stale = false;
+        }
+
+        List<Entry> rank(Predicate<Entry> filter) {
+            Set<Entry> found = Collections.newSetFromMap(new IdentityHashMap<>());
+            collect(found);
+            List<Entry> ranked = new ArrayList<>();
+            for (Entry entry : found) {
+                if (filter.test(entry)) {
+                    ranked.add(entry);
+                }
+            }
+            ranked.sort(RANKING);
+            return ranked;
+        }
+
+        void addToBucket(Entry entry) {
+            if (bucketSize == bucket.length) {
+                bucket = Arrays.copyOf(bucket, Math.max(1, bucketSize * 2));
+            }
+            bucket[bucketSize++] = entry;
+        }
+
+        void removeFromBucket(Entry entry) {
+            int at = indexOf(bucket, bucketSize, entry);
+            if (at >= 0) {
+                System.arraycopy(bucket, at + 1, bucket, at, bucketSize - at - 1);
+                bucket[--bucketSize] = null;
+            }
+        }
+
+        private void collect(Set<Entry> found) {
+            for (int i = 0; i < bucketSize; i++) {
+                found.add(bucket[i]);
+            }
+            for (Node child : children) {
+                child.collect(found);
+            }
+        }
+
+        private static int indexOf(Entry[] entries, int size, Entry entry) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i] == entry) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long id;
+        private final String name;
+        private final String[] keys;
+        private long popularity;
+
+        Entry(Long id, String name, String[] keys, long popularity) {
+            this.id = id;
+            this.name = name;
+            this.keys = keys;
+            this.popularity = popularity;
+        }
+
+        boolean hasKeyStartingWith(String prefix) {
+            for (String key : keys) {
+                if (key.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
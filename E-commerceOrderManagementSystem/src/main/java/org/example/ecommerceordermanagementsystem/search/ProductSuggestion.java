@@ -0,0 +1,8 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+/**
+ * A typeahead match from {@link ProductSuggestIndex}. {@code popularity} is the quantity sold within the popularity
+ * window.
+ */
+public record ProductSuggestion(Long id, String name, long popularity) {
+}
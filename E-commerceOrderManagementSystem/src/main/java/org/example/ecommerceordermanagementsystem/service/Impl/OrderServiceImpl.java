@@ -1,52 +1,108 @@
 package org.example.ecommerceordermanagementsystem.service.Impl;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.cache.ProductCache;
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
 import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
+import org.example.ecommerceordermanagementsystem.dto.OrderConfirmationResponse;
 import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemResponse;
 import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
 import org.example.ecommerceordermanagementsystem.entity.Order;
 import org.example.ecommerceordermanagementsystem.entity.OrderItem;
-import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
 import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
 import org.example.ecommerceordermanagementsystem.exception.InsufficientStockException;
 import org.example.ecommerceordermanagementsystem.exception.InvalidOrderStatusException;
 import org.example.ecommerceordermanagementsystem.exception.OrderNotFoundException;
 import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.journal.OrderEventJournal;
+import org.example.ecommerceordermanagementsystem.metrics.OrderMetrics;
+import org.example.ecommerceordermanagementsystem.pagination.KeysetCursor;
 import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderSpecifications;
+import org.example.ecommerceordermanagementsystem.repository.OrderVersion;
 import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestIndex;
 import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.example.ecommerceordermanagementsystem.service.SalesAggregateService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("orderDate", "id");
+    private static final Sort.Order HISTORY_ORDER = Sort.Order.desc("orderDate");
+    private static final int EXPORT_CHUNK_SIZE = Integer.parseInt(OrderRepository.EXPORT_FETCH_SIZE);
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final InventoryReservationEngine inventory;
+    private final ProductCache productCache;
+    private final ProductSuggestIndex suggestIndex;
+    private final SalesAggregateService salesAggregates;
+    private final OrderEventJournal journal;
+    private final OrderMetrics metrics;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
         log.info("Fetching all orders with pagination: {}", pageable);
-        return orderRepository.findAll(pageable).map(OrderResponse::fromEntity);
+        Page<Long> idPage = orderRepository.findIdPage(pageable);
+        if (idPage.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, idPage.getTotalElements());
+        }
+        Map<Long, Order> ordersById = orderRepository.findWithItemsByIdIn(idPage.getContent()).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return idPage.map(id -> OrderResponse.fromEntity(ordersById.get(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> scrollOrders(Sort.Order order, String after, int size) {
+        log.info("Scrolling orders sorted by {} after cursor {} with size {}", order, after, size);
+        KeysetCursor.requireSortProperty(order, CURSOR_SORT_PROPERTIES);
+        Window<Order> window = orderRepository.findAllBy(KeysetCursor.decode(after, order), KeysetCursor.sortOf(order), Limit.of(size));
+        return toCursorPage(window, order);
     }
 
     @Override
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
         log.info("Fetching order by ID: {}", id);
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> {
                     log.warn("Order with ID {} not found", id);
                     return new OrderNotFoundException("Order with ID " + id + " not found");
@@ -54,63 +110,107 @@ public class OrderServiceImpl implements OrderService {
         return OrderResponse.fromEntity(order);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getOrderETag(Long id) {
+        OrderVersion version = orderRepository.findVersionById(id)
+                .orElseThrow(() -> new OrderNotFoundException("Order with ID " + id + " not found"));
+        return version.version() + "-" + version.productVersions();
+    }
+
     @Override
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
+        return placeOrder(request);
+    }
+
+    @Override
+    @Transactional
+    public List<OrderResponse> createOrders(List<CreateOrderRequest> requests, BiConsumer<CreateOrderRequest, RuntimeException> rejected) {
+        log.info("Creating a batch of {} orders in one transaction", requests.size());
+        List<OrderResponse> responses = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            try {
+                responses.add(placeOrder(request));
+            } catch (RuntimeException e) {
+                // placeOrder fails before it persists anything or holds stock, so the rest of the batch is unaffected.
+                rejected.accept(request, e);
+                responses.add(null);
+            }
+        }
+        return responses;
+    }
+
+    private OrderResponse placeOrder(CreateOrderRequest request) {
         log.info("Initiating new order creation for customer: {}", request.getCustomerEmail());
 
         BigDecimal totalAmount = BigDecimal.ZERO;
         Order order = new Order();
         order.setCustomerName(request.getCustomerName());
-        order.setCustomerEmail(request.getCustomerEmail());
+        order.setCustomerEmail(normalizeEmail(request.getCustomerEmail()));
         order.setStatus(OrderStatus.PENDING);
 
         Set<Long> productIdsInOrder = new HashSet<>();
-
         for (OrderItemRequest itemRequest : request.getOrderItems()) {
             if (!productIdsInOrder.add(itemRequest.getProductId())) {
                 log.error("Duplicate product ID {} found in order request for order: {}", itemRequest.getProductId(), request.getCustomerEmail());
                 throw new IllegalArgumentException("Product with ID " + itemRequest.getProductId() + " already exists in this order.");
             }
+        }
 
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> {
-                        log.warn("Product with ID {} not found during order creation", itemRequest.getProductId());
-                        return new ProductNotFoundException("Product with ID " + itemRequest.getProductId() + " not found.");
-                    });
+        // Price and active checks come from the product cache; misses are resolved in a single round-trip.
+        Map<Long, ProductSnapshot> productsById = productCache.getAll(productIdsInOrder);
 
-            if (!product.getIsActive() || product.getStock() <= 0) {
-                log.error("Product {} is inactive or out of stock during order creation", product.getName());
-                throw new InsufficientStockException("Product " + product.getName() + " is currently out of stock or inactive.");
+        for (OrderItemRequest itemRequest : request.getOrderItems()) {
+            ProductSnapshot product = productsById.get(itemRequest.getProductId());
+            if (product == null) {
+                log.warn("Product with ID {} not found during order creation", itemRequest.getProductId());
+                throw new ProductNotFoundException("Product with ID " + itemRequest.getProductId() + " not found.");
             }
 
-            if (product.getStock() < itemRequest.getQuantity()) {
-                log.error("Insufficient stock for product {} (requested: {}, available: {})", product.getName(), itemRequest.getQuantity(), product.getStock());
-                throw new InsufficientStockException("Insufficient stock for product: " + product.getName() + ". Available: " + product.getStock() + ", Requested: " + itemRequest.getQuantity());
+            if (!product.active()) {
+                log.error("Product {} is inactive or out of stock during order creation", product.name());
+                metrics.inactiveProduct();
+                throw new InsufficientStockException("Product " + product.name() + " is currently out of stock or inactive.");
             }
 
             OrderItem orderItem = new OrderItem();
-            orderItem.setProduct(product);
+            orderItem.setProduct(productRepository.getReferenceById(product.id()));
             orderItem.setQuantity(itemRequest.getQuantity());
-            orderItem.setUnitPrice(product.getPrice());
-            orderItem.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+            orderItem.setUnitPrice(product.price());
+            orderItem.setTotalPrice(product.price().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
 
             order.addOrderItem(orderItem);
             totalAmount = totalAmount.add(orderItem.getTotalPrice());
         }
 
+        // Stock is held in memory from now on; the reservation is handed back if this transaction rolls back.
+        List<Long> rejectedProductIds = inventory.reserve(quantitiesByProductId(order));
+        if (!rejectedProductIds.isEmpty()) {
+            OrderItem item = findItemByProductId(order, rejectedProductIds.get(0));
+            String productName = productsById.get(item.getProduct().getId()).name();
+            long available = inventory.availableOf(item.getProduct().getId()).orElse(0);
+            log.error("Insufficient stock for product {} (requested: {}, available: {})", productName, item.getQuantity(), available);
+            metrics.insufficientStock();
+            throw new InsufficientStockException("Insufficient stock for product: " + productName + ". Available: " + available + ", Requested: " + item.getQuantity());
+        }
+
         order.setTotalAmount(totalAmount);
         Order savedOrder = orderRepository.save(order);
+        salesAggregates.orderPlaced(savedOrder, productsById);
+        journal.record(savedOrder, null);
         log.info("Order created successfully with ID: {}", savedOrder.getId());
 
-        return OrderResponse.fromEntity(savedOrder);
+        // Product references are uninitialized proxies; take the names from the snapshots instead of loading them.
+        return OrderResponse.fromEntity(savedOrder,
+                item -> OrderItemResponse.fromEntity(item, productsById.get(item.getProduct().getId()).name()));
     }
 
     @Override
     @Transactional
     public OrderResponse updateOrderStatus(Long id, OrderStatus newStatus) {
         log.info("Updating status for order ID {} to {}", id, newStatus);
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> {
                     log.warn("Order with ID {} not found for status update", id);
                     return new OrderNotFoundException("Order with ID " + id + " not found");
@@ -121,30 +221,15 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOrderStatusException("Order status can only be changed from PENDING or CONFIRMED. Current status: " + order.getStatus());
         }
 
-        if (newStatus == OrderStatus.CONFIRMED && order.getStatus() == OrderStatus.PENDING) {
-            log.info("Confirming order ID {}. Reducing product stock.", id);
-            for (OrderItem item : order.getOrderItems()) {
-                Product product = item.getProduct();
-                if (product.getStock() < item.getQuantity()) {
-                    log.error("Insufficient stock for product {} during order confirmation (requested: {}, available: {})", product.getName(), item.getQuantity(), product.getStock());
-                    throw new InsufficientStockException("Insufficient stock for product: " + product.getName() + " to confirm order. Available: " + product.getStock() + ", Requested: " + item.getQuantity());
-                }
-                product.setStock(product.getStock() - item.getQuantity());
-                productRepository.save(product);
-                log.debug("Reduced stock for product {} by {}", product.getName(), item.getQuantity());
-            }
-        } else if (newStatus == OrderStatus.CANCELLED && (order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.SHIPPED)) {
-            log.info("Cancelling order ID {}. Returning product stock.", id);
-            for (OrderItem item : order.getOrderItems()) {
-                Product product = item.getProduct();
-                product.setStock(product.getStock() + item.getQuantity());
-                productRepository.save(product); // Return stock
-                log.debug("Returned stock for product {} by {}", product.getName(), item.getQuantity());
-            }
-        }
-
+        OrderStatus previousStatus = order.getStatus();
+        applyStockTransition(order, newStatus);
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
+        salesAggregates.statusChanged(updatedOrder, previousStatus);
+        journal.record(updatedOrder, previousStatus);
+        if (previousStatus != newStatus) {
+            metrics.statusChanged(previousStatus, newStatus);
+        }
         log.info("Order ID {} status updated to {}", id, newStatus);
         return OrderResponse.fromEntity(updatedOrder);
     }
@@ -153,7 +238,7 @@ public class OrderServiceImpl implements OrderService {
     @Transactional
     public void cancelOrder(Long id) {
         log.info("Attempting to cancel order with ID: {}", id);
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithItemsById(id)
                 .orElseThrow(() -> {
                     log.warn("Order with ID {} not found for cancellation", id);
                     return new OrderNotFoundException("Order with ID " + id + " not found");
@@ -164,28 +249,163 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOrderStatusException("Cannot cancel a delivered order.");
         }
 
-        if (order.getStatus() == OrderStatus.CONFIRMED || order.getStatus() == OrderStatus.SHIPPED) {
-            log.info("Order ID {} was CONFIRMED/SHIPPED, returning product stock upon cancellation.", id);
-            for (OrderItem item : order.getOrderItems()) {
-                Product product = item.getProduct();
-                product.setStock(product.getStock() + item.getQuantity());
-                productRepository.save(product);
-                log.debug("Returned stock for product {} by {}", product.getName(), item.getQuantity());
-            }
-        }
-
+        OrderStatus previousStatus = order.getStatus();
+        applyStockTransition(order, OrderStatus.CANCELLED);
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        salesAggregates.statusChanged(order, previousStatus);
+        journal.record(order, previousStatus);
+        if (previousStatus != OrderStatus.CANCELLED) {
+            metrics.statusChanged(previousStatus, OrderStatus.CANCELLED);
+        }
         log.info("Order with ID {} cancelled successfully", id);
     }
 
+    @Override
+    @Transactional
+    public List<OrderConfirmationResponse> confirmOrders(List<Long> orderIds) {
+        log.info("Confirming a batch of {} orders", orderIds.size());
+        Map<Long, Order> ordersById = orderRepository.findWithItemsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        // Stock is committed once per product for the whole batch rather than once per order line.
+        Map<Long, Integer> coalesced = new HashMap<>();
+        List<OrderConfirmationResponse> results = new ArrayList<>(ordersById.size());
+        for (Long id : new LinkedHashSet<>(orderIds)) {
+            Order order = ordersById.get(id);
+            if (order == null) {
+                results.add(OrderConfirmationResponse.of(id, ConfirmationOutcome.NOT_FOUND, "Order with ID " + id + " not found"));
+            } else if (order.getStatus() == OrderStatus.CONFIRMED) {
+                results.add(OrderConfirmationResponse.of(id, ConfirmationOutcome.ALREADY_CONFIRMED, "Order is already confirmed."));
+            } else if (order.getStatus() != OrderStatus.PENDING) {
+                results.add(OrderConfirmationResponse.of(id, ConfirmationOutcome.INVALID_STATUS,
+                        "Only PENDING orders can be confirmed. Current status: " + order.getStatus()));
+            } else {
+                Map<Long, Integer> quantities = quantitiesByProductId(order);
+                quantities.forEach((productId, quantity) -> coalesced.merge(productId, quantity, Integer::sum));
+                suggestIndex.recordSales(order, quantities);
+                order.setStatus(OrderStatus.CONFIRMED);
+                salesAggregates.statusChanged(order, OrderStatus.PENDING);
+                journal.record(order, OrderStatus.PENDING);
+                metrics.statusChanged(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+                results.add(OrderConfirmationResponse.of(id, ConfirmationOutcome.CONFIRMED, "Order confirmed."));
+            }
+        }
+        if (!coalesced.isEmpty()) {
+            inventory.commit(coalesced);
+        }
+        log.info("Confirmed {} of {} orders, committing stock for {} products", results.stream()
+                .filter(result -> result.getOutcome() == ConfirmationOutcome.CONFIRMED).count(), results.size(), coalesced.size());
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to, Consumer<OrderResponse> sink) {
+        log.info("Exporting orders with status={}, from={}, to={}", status, from, to);
+        long exported = 0;
+        List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Order> orders = orderRepository.streamForExport(status, from, to)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    exported += exportChunk(chunk, sink);
+                }
+            }
+        }
+        log.info("Exported {} orders", exported);
+        return exported;
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByCustomerEmail(String customerEmail) {
-        log.info("Fetching orders for customer email: {}", customerEmail);
-        return orderRepository.findByCustomerEmail(customerEmail)
-                .stream()
-                .map(OrderResponse::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<OrderResponse> getOrdersByCustomerEmail(String customerEmail, OrderStatus status, LocalDateTime from,
+                                                              LocalDateTime to, String after, int size) {
+        log.info("Fetching orders for customer email: {} with status={}, from={}, to={}, after={}, size={}",
+                customerEmail, status, from, to, after, size);
+        Specification<Order> filter = OrderSpecifications.customerEmail(normalizeEmail(customerEmail))
+                .and(OrderSpecifications.hasStatus(status))
+                .and(OrderSpecifications.placedFrom(from))
+                .and(OrderSpecifications.placedBefore(to));
+        KeysetScrollPosition position = KeysetCursor.decode(after, HISTORY_ORDER);
+        Window<Order> window = orderRepository.findBy(filter,
+                query -> query.sortBy(KeysetCursor.sortOf(HISTORY_ORDER)).limit(size).scroll(position));
+        return toCursorPage(window, HISTORY_ORDER);
+    }
+
+    private CursorPage<OrderResponse> toCursorPage(Window<Order> window, Sort.Order order) {
+        if (!window.isEmpty()) {
+            // Initializes the items and products of the orders already in the persistence context in one query.
+            orderRepository.findWithItemsByIdIn(window.map(Order::getId).getContent());
+        }
+        return CursorPage.<OrderResponse>builder()
+                .content(window.map(OrderResponse::fromEntity).getContent())
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(window.hasNext()
+                        ? KeysetCursor.encode(order, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                        : null)
+                .build();
+    }
+
+    private int exportChunk(List<Order> chunk, Consumer<OrderResponse> sink) {
+        // Initializes items and products of the whole chunk in one query, then detaches it so the heap stays flat.
+        orderRepository.findWithItemsByIdIn(chunk.stream().map(Order::getId).toList());
+        chunk.forEach(order -> sink.accept(OrderResponse.fromEntity(order)));
+        int size = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return size;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void applyStockTransition(Order order, OrderStatus newStatus) {
+        OrderStatus currentStatus = order.getStatus();
+        if (currentStatus == newStatus) {
+            return;
+        }
+        if (currentStatus == OrderStatus.PENDING && newStatus == OrderStatus.CANCELLED) {
+            log.info("Cancelling PENDING order ID {}. Releasing reserved stock.", order.getId());
+            Map<Long, Integer> quantities = quantitiesByProductId(order);
+            inventory.release(quantities);
+            metrics.stockReleased(totalUnits(quantities));
+        } else if (currentStatus == OrderStatus.PENDING) {
+            log.info("Confirming order ID {}. Reducing product stock.", order.getId());
+            Map<Long, Integer> quantities = quantitiesByProductId(order);
+            inventory.commit(quantities);
+            suggestIndex.recordSales(order, quantities);
+        } else if (newStatus == OrderStatus.CANCELLED && (currentStatus == OrderStatus.CONFIRMED || currentStatus == OrderStatus.SHIPPED)) {
+            log.info("Cancelling order ID {}. Returning product stock.", order.getId());
+            Map<Long, Integer> quantities = quantitiesByProductId(order);
+            inventory.restock(quantities);
+            metrics.stockRestocked(totalUnits(quantities));
+        } else if (newStatus == OrderStatus.PENDING) {
+            log.info("Moving order ID {} back to PENDING. Holding its stock as a reservation again.", order.getId());
+            inventory.revertCommit(quantitiesByProductId(order));
+        }
+    }
+
+    private static Map<Long, Integer> quantitiesByProductId(Order order) {
+        return order.getOrderItems().stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getId(), OrderItem::getQuantity, Integer::sum));
+    }
+
+    private static int totalUnits(Map<Long, Integer> quantitiesByProductId) {
+        int units = 0;
+        for (int quantity : quantitiesByProductId.values()) {
+            units += quantity;
+        }
+        return units;
+    }
+
+    private static OrderItem findItemByProductId(Order order, Long productId) {
+        return order.getOrderItems().stream()
+                .filter(item -> item.getProduct().getId().equals(productId))
+                .findFirst()
+                .orElseThrow();
     }
 }
\ No newline at end of file
@@ -1,19 +1,38 @@
 package org.example.ecommerceordermanagementsystem.service.Impl;
 
 import lombok.RequiredArgsConstructor;
+import org.example.ecommerceordermanagementsystem.cache.ProductCache;
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.dto.CategoryFacetResponse;
 import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
 import org.example.ecommerceordermanagementsystem.dto.ProductResponse;
+import org.example.ecommerceordermanagementsystem.dto.ProductSuggestionResponse;
 import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
 import org.example.ecommerceordermanagementsystem.entity.Product;
 import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.pagination.KeysetCursor;
 import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.search.CategoryFacetCounter;
+import org.example.ecommerceordermanagementsystem.search.ProductSearchIndex;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestIndex;
 import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 
 @Service
@@ -21,25 +40,62 @@ import org.slf4j.LoggerFactory;
 public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
+    private static final Set<String> CURSOR_SORT_PROPERTIES = Set.of("createdAt", "id");
     private final ProductRepository productRepository;
+    private final InventoryReservationEngine inventory;
+    private final ProductCache productCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductSuggestIndex suggestIndex;
+    private final CategoryFacetCounter facetCounter;
 
+    // Served from the product cache without opening a transaction; misses run their own repository query.
     @Override
-    @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         log.info("Fetching all products with pagination: {}", pageable);
-        return productRepository.findAll(pageable).map(ProductResponse::fromEntity);
+        Page<Long> idPage = productCache.getIdPage(pageable);
+        Map<Long, ProductSnapshot> productsById = productCache.getAll(idPage.getContent());
+        // A product deleted since the page was cached is skipped until the page is reloaded.
+        List<ProductResponse> content = idPage.getContent().stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .map(this::toResponse)
+                .toList();
+        return new PageImpl<>(content, pageable, idPage.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> scrollProducts(Sort.Order order, String after, int size) {
+        log.info("Scrolling products sorted by {} after cursor {} with size {}", order, after, size);
+        KeysetCursor.requireSortProperty(order, CURSOR_SORT_PROPERTIES);
+        Window<Product> window = productRepository.findAllBy(KeysetCursor.decode(after, order), KeysetCursor.sortOf(order), Limit.of(size));
+        return CursorPage.<ProductResponse>builder()
+                .content(window.map(this::toResponse).getContent())
+                .size(window.size())
+                .hasNext(window.hasNext())
+                .nextCursor(window.hasNext()
+                        ? KeysetCursor.encode(order, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                        : null)
+                .build();
+    }
+
+    @Override
     public ProductResponse getProductById(Long id) {
         log.info("Fetching product by ID: {}", id);
-        Product product = productRepository.findById(id)
+        ProductSnapshot product = productCache.get(id)
                 .orElseThrow(() -> {
                     log.warn("Product with ID {} not found", id);
                     return new ProductNotFoundException("Product with ID " + id + " not found");
                 });
-        return ProductResponse.fromEntity(product);
+        return toResponse(product);
+    }
+
+    // Validator for conditional GETs: the version covers every column, the live stock what is written behind.
+    @Override
+    public String getProductETag(Long id) {
+        ProductSnapshot product = productCache.get(id)
+                .orElseThrow(() -> new ProductNotFoundException("Product with ID " + id + " not found"));
+        return product.version() + "-" + inventory.stockOf(id).orElse(product.stock());
     }
 
     @Override
@@ -52,8 +108,14 @@ public class ProductServiceImpl implements ProductService {
         product.setStock(request.getStock());
         product.setCategory(request.getCategory());
         product.setIsActive(request.getIsActive() != null ? request.getIsActive() : true);
+        product.setStockShards(request.getStockShards() != null ? request.getStockShards() : 1);
 
         Product savedProduct = productRepository.save(product);
+        inventory.track(savedProduct.getId(), savedProduct.getStock(), savedProduct.getStockShards());
+        productCache.put(savedProduct);
+        searchIndex.index(savedProduct);
+        suggestIndex.index(savedProduct);
+        facetCounter.index(savedProduct);
         log.info("Product created successfully with ID: {}", savedProduct.getId());
         return ProductResponse.fromEntity(savedProduct);
     }
@@ -73,8 +135,16 @@ public class ProductServiceImpl implements ProductService {
         product.setStock(request.getStock());
         product.setCategory(request.getCategory());
         product.setIsActive(request.getIsActive());
+        if (request.getStockShards() != null) {
+            product.setStockShards(request.getStockShards());
+        }
 
         Product updatedProduct = productRepository.save(product);
+        inventory.overrideStock(updatedProduct.getId(), updatedProduct.getStock(), updatedProduct.getStockShards());
+        productCache.put(updatedProduct);
+        searchIndex.index(updatedProduct);
+        suggestIndex.index(updatedProduct);
+        facetCounter.index(updatedProduct);
         log.info("Product with ID {} updated successfully", updatedProduct.getId());
         return ProductResponse.fromEntity(updatedProduct);
     }
@@ -88,25 +158,67 @@ public class ProductServiceImpl implements ProductService {
             throw new ProductNotFoundException("Product with ID " + id + " not found");
         }
         productRepository.deleteById(id);
+        inventory.forget(id);
+        productCache.evict(id);
+        searchIndex.remove(id);
+        suggestIndex.remove(id);
+        facetCounter.remove(id);
         log.info("Product with ID {} deleted successfully", id);
     }
 
+    // Substring criteria are answered by the trigram index; the LIKE queries remain for sorts it cannot apply.
     @Override
-    @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(String name, String category, Pageable pageable) {
         log.info("Searching products by name '{}' and category '{}' with pagination: {}", name, category, pageable);
+        if (name == null && category == null) {
+            return productRepository.findByIsActiveTrue(pageable)
+                    .map(this::toResponse);
+        }
+        if (searchIndex.supports(pageable.getSort())) {
+            return searchIndex.search(name, category, pageable)
+                    .map(this::toResponse);
+        }
+        log.debug("Sort {} is not supported by the search index, falling back to a table scan", pageable.getSort());
         if (name != null && category != null) {
             return productRepository.findByNameContainingIgnoreCaseAndCategoryContainingIgnoreCase(name, category, pageable)
-                    .map(ProductResponse::fromEntity);
+                    .map(this::toResponse);
         } else if (name != null) {
             return productRepository.findByNameContainingIgnoreCase(name, pageable)
-                    .map(ProductResponse::fromEntity);
-        } else if (category != null) {
-            return productRepository.findByCategoryContainingIgnoreCase(category, pageable)
-                    .map(ProductResponse::fromEntity);
+                    .map(this::toResponse);
         } else {
-            return productRepository.findByIsActiveTrue(pageable)
-                    .map(ProductResponse::fromEntity);
+            return productRepository.findByCategoryContainingIgnoreCase(category, pageable)
+                    .map(this::toResponse);
         }
     }
+
+    @Override
+    public List<ProductSuggestionResponse> suggestProducts(String prefix, int limit) {
+        log.debug("Suggesting up to {} products for prefix '{}'", limit, prefix);
+        int size = Math.max(1, Math.min(limit, ProductSuggestIndex.MAX_SUGGESTIONS));
+        return suggestIndex.suggest(prefix, size).stream()
+                .map(ProductSuggestionResponse::fromSuggestion)
+                .toList();
+    }
+
+    @Override
+    public List<CategoryFacetResponse> getCategoryFacets() {
+        log.debug("Fetching category facet counts");
+        return facetCounter.facets().stream()
+                .map(CategoryFacetResponse::fromFacet)
+                .toList();
+    }
+
+    // products.stock is written behind; the reservation engine holds the current on-hand value.
+    private ProductResponse toResponse(Product product) {
+        return withCurrentStock(ProductResponse.fromEntity(product));
+    }
+
+    private ProductResponse toResponse(ProductSnapshot product) {
+        return withCurrentStock(ProductResponse.fromSnapshot(product));
+    }
+
+    private ProductResponse withCurrentStock(ProductResponse response) {
+        inventory.stockOf(response.getId()).ifPresent(stock -> response.setStock((int) stock));
+        return response;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,279 @@
+package org.example.ecommerceordermanagementsystem.service.Impl;
+
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.dto.SalesAggregateResponse;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.enums.SalesDimension;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.repository.SalesTotal;
+import org.example.ecommerceordermanagementsystem.service.SalesAggregateService;
+import org.example.ecommerceordermanagementsystem.support.OrderChangeLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Sales pre-aggregated into day &times; status &times; category buckets, so that reports cost one pass over the buckets
+ * of the requested days instead of one over the orders.
+ * <p>
+ * Each day keeps revenue, units and order count per (status, category) and per status. The second set exists because
+ * an order with items in several categories is counted once in each category, but must count once in a day or status
+ * total. A placed order is added to the PENDING buckets of its order date; a status change moves the order's amounts
+ * from the old status to the new one. Both are applied after the surrounding transaction commits.
+ * <p>
+ * Buckets live in memory and are rebuilt from {@code order_items} at startup and every
+ * {@code oms.analytics.sales.rebuild-interval-ms}. Changes applied while a rebuild runs are replayed onto the rebuilt
+ * buckets unless its snapshot already holds them, see {@link OrderChangeLog}. A status change takes the categories the
+ * products have at the time, so recategorizing a product drifts the category buckets of its older orders until the next
+ * rebuild.
+ */
+@Service
+public class SalesAggregateServiceImpl implements SalesAggregateService, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesAggregateServiceImpl.class);
+    private static final Comparator<SalesTotal> ROW_ORDER = Comparator
+            .comparing(SalesTotal::day, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SalesTotal::status, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(SalesTotal::category, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate snapshot;
+    // Order changes commute, so they share the read lock. Reports take the write lock so that they never see half of a
+    // status move; a rebuild takes it to swap.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializes rebuilds, e.g. a manual one running into the scheduled one, which share the change log.
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private final OrderChangeLog<Buckets> changes = new OrderChangeLog<>();
+    private volatile Buckets buckets = new Buckets();
+
+    public SalesAggregateServiceImpl(OrderItemRepository orderItemRepository, OrderRepository orderRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        // Both aggregate queries and the version lookup of the replay must read the same snapshot.
+        this.snapshot = new TransactionTemplate(transactionManager);
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${oms.analytics.sales.rebuild-interval-ms:86400000}",
+            fixedDelayString = "${oms.analytics.sales.rebuild-interval-ms:86400000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            rebuildBuckets();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildBuckets() {
+        long start = System.nanoTime();
+        changes.startRecording();
+        Buckets rebuilt = new Buckets();
+        try {
+            snapshot.executeWithoutResult(status -> {
+                orderItemRepository.sumSalesByDayStatusAndCategory().forEach(total -> rebuilt.day(total.day())
+                        .byCategory.put(new StatusCategory(total.status(), total.category()), Totals.of(total)));
+                orderItemRepository.sumSalesByDayAndStatus().forEach(total -> rebuilt.day(total.day())
+                        .byStatus.put(total.status(), Totals.of(total)));
+
+                changes.awaitEarlierCommits();
+                lock.writeLock().lock();
+                try {
+                    changes.replayUnseen(rebuilt, orderRepository::findRevisionsByIdIn);
+                    buckets = rebuilt;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+        } finally {
+            changes.stopRecording();
+        }
+        log.info("Aggregated sales of {} days in {} ms", rebuilt.days.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a newly saved order to the buckets of its status once the surrounding transaction commits. Categories are
+     * taken from the snapshots the order was priced from, so that the product references need not be loaded.
+     */
+    @Override
+    public void orderPlaced(Order order, Map<Long, ProductSnapshot> productsById) {
+        LocalDate day = order.getOrderDate().toLocalDate();
+        OrderStatus status = order.getStatus();
+        Map<String, Totals> lines = linesByCategory(order, item -> productsById.get(item.getProduct().getId()).category());
+        changes.afterCommit(() -> write(order, current -> current.add(day, status, lines, 1)));
+    }
+
+    /**
+     * Moves the order's amounts from {@code previousStatus} to its current status once the surrounding transaction
+     * commits. The order's items and products must be loaded.
+     */
+    @Override
+    public void statusChanged(Order order, OrderStatus previousStatus) {
+        OrderStatus status = order.getStatus();
+        if (status == previousStatus) {
+            return;
+        }
+        LocalDate day = order.getOrderDate().toLocalDate();
+        Map<String, Totals> lines = linesByCategory(order, item -> item.getProduct().getCategory());
+        changes.afterCommit(() -> write(order, current -> {
+            current.add(day, previousStatus, lines, -1);
+            current.add(day, status, lines, 1);
+        }));
+    }
+
+    /**
+     * Sums the buckets of the days from {@code from} to {@code to}, both inclusive and either open, broken down by the
+     * given dimensions and ordered by them. Without dimensions the result is a single grand total, if there were sales.
+     */
+    @Override
+    public List<SalesAggregateResponse> getSales(LocalDate from, LocalDate to, Set<SalesDimension> groupBy) {
+        log.info("Aggregating sales from {} to {} grouped by {}", from, to, groupBy);
+        boolean byDay = groupBy.contains(SalesDimension.DAY);
+        boolean byStatus = groupBy.contains(SalesDimension.STATUS);
+        boolean byCategory = groupBy.contains(SalesDimension.CATEGORY);
+
+        Map<Group, Totals> groups = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            buckets.range(from, to).forEach((day, dayBuckets) -> {
+                LocalDate dayKey = byDay ? day : null;
+                if (byCategory) {
+                    dayBuckets.byCategory.forEach((key, totals) -> groups.merge(
+                            new Group(dayKey, byStatus ? key.status() : null, key.category()), totals, Totals::plus));
+                } else {
+                    dayBuckets.byStatus.forEach((status, totals) -> groups.merge(
+                            new Group(dayKey, byStatus ? status : null, null), totals, Totals::plus));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return groups.entrySet().stream()
+                .filter(entry -> entry.getValue().orders() != 0)
+                .map(entry -> entry.getValue().toTotal(entry.getKey()))
+                .sorted(ROW_ORDER)
+                .map(SalesAggregateResponse::fromTotal)
+                .toList();
+    }
+
+    // Runs after commit, when the order holds the version it was committed at.
+    private void write(Order order, Consumer<Buckets> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(buckets);
+            changes.record(order.getId(), order.getVersion(), change);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<String, Totals> linesByCategory(Order order, Function<OrderItem, String> categoryOf) {
+        // HashMap rather than Collectors.groupingBy, which rejects the null category of uncategorized products.
+        Map<String, Totals> lines = new HashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            lines.merge(categoryOf.apply(item), new Totals(item.getTotalPrice(), item.getQuantity(), 1), Totals::withLine);
+        }
+        return lines;
+    }
+
+    private record StatusCategory(OrderStatus status, String category) {
+    }
+
+    private record Group(LocalDate day, OrderStatus status, String category) {
+    }
+
+    private record Totals(BigDecimal revenue, long units, long orders) {
+
+        static Totals of(SalesTotal total) {
+            return new Totals(total.revenue(), total.units(), total.orders());
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(revenue.add(other.revenue), units + other.units, orders + other.orders);
+        }
+
+        // Adds the amounts of another line of the same order, which does not make it another order.
+        Totals withLine(Totals line) {
+            return new Totals(revenue.add(line.revenue), units + line.units, orders);
+        }
+
+        Totals times(int sign) {
+            return sign > 0 ? this : new Totals(revenue.negate(), -units, -orders);
+        }
+
+        SalesTotal toTotal(Group group) {
+            return new SalesTotal(group.day(), group.status(), group.category(), revenue, units, orders);
+        }
+    }
+
+    private static final class DayBuckets {
+        private final Map<StatusCategory, Totals> byCategory = new ConcurrentHashMap<>();
+        private final Map<OrderStatus, Totals> byStatus = new ConcurrentHashMap<>();
+    }
+
+    private static final class Buckets {
+
+        private final NavigableMap<LocalDate, DayBuckets> days = new ConcurrentSkipListMap<>();
+
+        DayBuckets day(LocalDate day) {
+            return days.computeIfAbsent(day, key -> new DayBuckets());
+        }
+
+        NavigableMap<LocalDate, DayBuckets> range(LocalDate from, LocalDate to) {
+            if (from != null && to != null && from.isAfter(to)) {
+                return new ConcurrentSkipListMap<>();
+            }
+            NavigableMap<LocalDate, DayBuckets> range = days;
+            if (from != null) {
+                range = range.tailMap(from, true);
+            }
+            if (to != null) {
+                range = range.headMap(to, true);
+            }
+            return range;
+        }
+
+        void add(LocalDate day, OrderStatus status, Map<String, Totals> linesByCategory, int sign) {
+            DayBuckets buckets = day(day);
+            Totals order = new Totals(BigDecimal.ZERO, 0, 1);
+            for (Map.Entry<String, Totals> line : linesByCategory.entrySet()) {
+                buckets.byCategory.merge(new StatusCategory(status, line.getKey()), line.getValue().times(sign), Totals::plus);
+                order = order.withLine(line.getValue());
+            }
+            buckets.byStatus.merge(status, order.times(sign), Totals::plus);
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package org.example.ecommerceordermanagementsystem.service;
 
 import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
+import org.example.ecommerceordermanagementsystem.dto.OrderConfirmationResponse;
 import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
 import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface OrderService {
     Page<OrderResponse> getAllOrders(Pageable pageable);
+    CursorPage<OrderResponse> scrollOrders(Sort.Order order, String after, int size);
     OrderResponse getOrderById(Long id);
+    String getOrderETag(Long id);
     OrderResponse createOrder(CreateOrderRequest request);
+    List<OrderResponse> createOrders(List<CreateOrderRequest> requests, BiConsumer<CreateOrderRequest, RuntimeException> rejected);
     OrderResponse updateOrderStatus(Long id, OrderStatus newStatus);
     void cancelOrder(Long id);
-    List<OrderResponse> getOrdersByCustomerEmail(String customerEmail);
+    List<OrderConfirmationResponse> confirmOrders(List<Long> orderIds);
+    long exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to, Consumer<OrderResponse> sink);
+    CursorPage<OrderResponse> getOrdersByCustomerEmail(String customerEmail, OrderStatus status, LocalDateTime from,
+                                                       LocalDateTime to, String after, int size);
 }
\ No newline at end of file
@@ -1,16 +1,25 @@
 package org.example.ecommerceordermanagementsystem.service;
 
+import org.example.ecommerceordermanagementsystem.dto.CategoryFacetResponse;
 import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
 import org.example.ecommerceordermanagementsystem.dto.ProductResponse;
+import org.example.ecommerceordermanagementsystem.dto.ProductSuggestionResponse;
 import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.util.List;
 
 public interface ProductService {
     Page<ProductResponse> getAllProducts(Pageable pageable);
+    CursorPage<ProductResponse> scrollProducts(Sort.Order order, String after, int size);
     ProductResponse getProductById(Long id);
+    String getProductETag(Long id);
     ProductResponse createProduct(CreateProductRequest request);
     ProductResponse updateProduct(Long id, UpdateProductRequest request);
     void deleteProduct(Long id);
     Page<ProductResponse> searchProducts(String name, String category, Pageable pageable);
+    List<ProductSuggestionResponse> suggestProducts(String prefix, int limit);
+    List<CategoryFacetResponse> getCategoryFacets();
 }
\ No newline at end of file
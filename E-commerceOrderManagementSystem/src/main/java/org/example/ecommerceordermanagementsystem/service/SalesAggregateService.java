@@ -0,0 +1,18 @@
+package org.example.ecommerceordermanagementsystem.service;
+
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.dto.SalesAggregateResponse;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.enums.SalesDimension;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface SalesAggregateService {
+    void orderPlaced(Order order, Map<Long, ProductSnapshot> productsById);
+    void statusChanged(Order order, OrderStatus previousStatus);
+    List<SalesAggregateResponse> getSales(LocalDate from, LocalDate to, Set<SalesDimension> groupBy);
+    void rebuild();
+}
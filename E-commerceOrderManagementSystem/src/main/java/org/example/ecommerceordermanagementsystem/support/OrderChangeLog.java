@@ -0,0 +1,119 @@
+package org.example.ecommerceordermanagementsystem.support;
+
+import org.example.ecommerceordermanagementsystem.repository.OrderRevision;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Order changes to an in-memory view that is periodically rebuilt from the database, recorded while a rebuild runs so
+ * that the rebuilt view gets each of them exactly once.
+ * <p>
+ * Changes reach the view after their transaction commits, so a change recorded during a rebuild may or may not already
+ * be visible to the rebuild's queries. Each change is therefore recorded with the version its order was committed at.
+ * The rebuild runs its queries in one snapshot, waits for the after-commit callbacks of every transaction that may have
+ * committed before that snapshot, then looks up in the same snapshot the version of each recorded order and replays
+ * only the changes made after it. Changes of transactions that commit later are not visible to the snapshot, so
+ * applying them to the rebuilt view, replayed or not, is always right.
+ */
+public final class OrderChangeLog<V> {
+
+    // Transactions that registered a change since the last rebuild took its snapshot and have not completed yet.
+    private volatile Pending pending = new Pending();
+    private Map<Long, List<Change<V>>> recorded;
+
+    /**
+     * Runs {@code action}, which must apply a change to the view, once the surrounding transaction commits.
+     */
+    public void afterCommit(Runnable action) {
+        Pending registered = pending;
+        registered.enter();
+        TransactionCallbacks.afterCommit(action);
+        TransactionCallbacks.afterCompletion(registered::exit);
+    }
+
+    /**
+     * Starts recording changes; called before the rebuild's snapshot is taken.
+     */
+    public synchronized void startRecording() {
+        recorded = new HashMap<>();
+    }
+
+    /**
+     * Records a change just applied to the view, if a rebuild is running. Must be called atomically with applying it,
+     * with respect to the rebuild swapping the view.
+     */
+    public synchronized void record(long orderId, long version, Consumer<V> change) {
+        if (recorded != null) {
+            recorded.computeIfAbsent(orderId, id -> new ArrayList<>()).add(new Change<>(version, change));
+        }
+    }
+
+    /**
+     * Waits until the changes of every transaction that may have committed before the rebuild's snapshot have been
+     * applied and recorded; called after the snapshot is taken.
+     */
+    public void awaitEarlierCommits() {
+        Pending earlier = pending;
+        pending = new Pending();
+        earlier.await();
+    }
+
+    /**
+     * Applies to {@code view} the recorded changes that the snapshot {@code view} was loaded from did not see.
+     *
+     * @param revisionsOf looks up, in the rebuild's snapshot, the versions of the given orders
+     */
+    public synchronized void replayUnseen(V view, Function<Collection<Long>, List<OrderRevision>> revisionsOf) {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> seen = new HashMap<>();
+        revisionsOf.apply(recorded.keySet()).forEach(revision -> seen.put(revision.orderId(), revision.version()));
+        recorded.forEach((orderId, changes) -> {
+            // An order the snapshot does not hold was placed after it, so all of its changes are new to it.
+            long seenVersion = seen.getOrDefault(orderId, -1L);
+            changes.stream()
+                    .filter(change -> change.version() > seenVersion)
+                    .forEach(change -> change.apply().accept(view));
+        });
+    }
+
+    public synchronized void stopRecording() {
+        recorded = null;
+    }
+
+    private record Change<V>(long version, Consumer<V> apply) {
+    }
+
+    private static final class Pending {
+
+        private int transactions;
+
+        synchronized void enter() {
+            transactions++;
+        }
+
+        synchronized void exit() {
+            if (--transactions == 0) {
+                notifyAll();
+            }
+        }
+
+        synchronized void await() {
+            try {
+                while (transactions > 0) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for committed order changes", e);
+            }
+        }
+    }
+}
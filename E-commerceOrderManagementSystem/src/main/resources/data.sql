@@ -1,22 +1,22 @@
-INSERT INTO products (name, price, stock, category, is_active, created_at)
-VALUES ('Laptop', 1200.00, 10, 'Electronics', true, CURRENT_TIMESTAMP);
+MERGE INTO products (id, name, price, stock, stock_shards, category, is_active, created_at, version) KEY (id)
+VALUES (1, 'Laptop', 1200.00, 10, 1, 'Electronics', true, CURRENT_TIMESTAMP, 0);
 
-INSERT INTO products (name, price, stock, category, is_active, created_at)
-VALUES ('Phone', 800.00, 15, 'Electronics', true, CURRENT_TIMESTAMP);
+MERGE INTO products (id, name, price, stock, stock_shards, category, is_active, created_at, version) KEY (id)
+VALUES (2, 'Phone', 800.00, 15, 1, 'Electronics', true, CURRENT_TIMESTAMP, 0);
 
-INSERT INTO products (name, price, stock, category, is_active, created_at)
-VALUES ('Shoes', 50.00, 30, 'Fashion', true, CURRENT_TIMESTAMP);
+MERGE INTO products (id, name, price, stock, stock_shards, category, is_active, created_at, version) KEY (id)
+VALUES (3, 'Shoes', 50.00, 30, 1, 'Fashion', true, CURRENT_TIMESTAMP, 0);
 
-INSERT INTO products (name, price, stock, category, is_active, created_at)
-VALUES ('Book', 20.00, 50, 'Education', true, CURRENT_TIMESTAMP);
+MERGE INTO products (id, name, price, stock, stock_shards, category, is_active, created_at, version) KEY (id)
+VALUES (4, 'Book', 20.00, 50, 1, 'Education', true, CURRENT_TIMESTAMP, 0);
 
 
-INSERT INTO orders (customer_name, customer_email, order_date, status, total_amount)
-VALUES ('John Doe', 'john@example.com', CURRENT_TIMESTAMP, 'PENDING', 2020.00);
+MERGE INTO orders (id, customer_name, customer_email, order_date, status, total_amount, version) KEY (id)
+VALUES (1, 'John Doe', 'john@example.com', CURRENT_TIMESTAMP, 'PENDING', 2020.00, 0);
 
 
-INSERT INTO order_items (order_id, product_id, quantity, unit_price, total_price)
-VALUES (1, 1, 1, 1200.00, 1200.00);
+MERGE INTO order_items (id, order_id, product_id, quantity, unit_price, total_price) KEY (id)
+VALUES (1, 1, 1, 1, 1200.00, 1200.00);
 
-INSERT INTO order_items (order_id, product_id, quantity, unit_price, total_price)
-VALUES (1, 2, 1, 800.00, 800.00);
+MERGE INTO order_items (id, order_id, product_id, quantity, unit_price, total_price) KEY (id)
+VALUES (2, 1, 2, 1, 800.00, 800.00);
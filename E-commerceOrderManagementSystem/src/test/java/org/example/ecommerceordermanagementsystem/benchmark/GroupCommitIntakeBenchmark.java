@@ -0,0 +1,127 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.intake.OrderIntakeCombiner;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency/throughput curve of {@code POST /api/orders} intake: orders/sec and per-order p50/p99 latency for 1 to 128
+ * concurrent callers, with one transaction per order and with group commit at batch sizes 10 and 50 (2 ms wait).
+ * Every order has 3 lines and is journaled with an fsync wait, as configured by default.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=GroupCommitIntakeBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "logging.level.org.example.ecommerceordermanagementsystem=WARN"
+})
+class GroupCommitIntakeBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int[] CALLERS = {1, 8, 32, 128};
+    private static final int[] BATCH_SIZES = {1, 10, 50};
+    private static final long MAX_WAIT_MS = 2;
+    private static final long RUN_MILLIS = 3_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryReservationEngine inventory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("UPDATE products SET stock = 1000000000 WHERE id <= ?", ITEMS_PER_ORDER);
+        inventory.rebuild();
+    }
+
+    @Test
+    void intakeCurve() throws Exception {
+        run(open(1), 32, "warm-up, one tx per order");
+        run(open(10), 32, "warm-up, group commit");
+        System.out.printf("%n%-26s %8s %14s %10s %10s%n", "mode", "callers", "orders/sec", "p50 ms", "p99 ms");
+        for (int batchSize : BATCH_SIZES) {
+            for (int callers : CALLERS) {
+                run(open(batchSize), callers, batchSize == 1 ? "one tx per order" : "group commit, batch " + batchSize);
+            }
+        }
+    }
+
+    private OrderIntakeCombiner open(int batchSize) {
+        return new OrderIntakeCombiner(orderService, batchSize > 1, batchSize, MAX_WAIT_MS, 10_000);
+    }
+
+    private void run(OrderIntakeCombiner intake, int callers, String label) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> workers = new ArrayList<>();
+        try {
+            for (int t = 0; t < callers; t++) {
+                workers.add(executor.submit(() -> {
+                    CreateOrderRequest request = newRequest();
+                    long[] latencies = new long[1 << 16];
+                    int count = 0;
+                    start.await();
+                    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+                    for (long now = System.nanoTime(); now < deadline && count < latencies.length; ) {
+                        intake.createOrder(request);
+                        long done = System.nanoTime();
+                        latencies[count++] = done - now;
+                        now = done;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            start.countDown();
+            long[] all = new long[0];
+            for (Future<long[]> worker : workers) {
+                long[] latencies = worker.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+            System.out.printf("%-26s %8d %,14.0f %10.2f %10.2f%n", label, callers, all.length / (RUN_MILLIS / 1000.0),
+                    percentile(all, 0.50), percentile(all, 0.99));
+        } finally {
+            executor.shutdown();
+            intake.close();
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * sorted.length))] / 1e6;
+    }
+
+    private static CreateOrderRequest newRequest() {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Benchmark Customer");
+        request.setCustomerEmail("bench@example.com");
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (long productId = 1; productId <= ITEMS_PER_ORDER; productId++) {
+            items.add(new OrderItemRequest(productId, 1));
+        }
+        request.setOrderItems(items);
+        return request;
+    }
+}
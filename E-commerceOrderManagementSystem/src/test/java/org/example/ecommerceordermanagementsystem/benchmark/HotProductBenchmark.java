@@ -0,0 +1,77 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures reserve-and-confirm throughput on a single product from 64 threads with its stock striped across
+ * 1, 8 and 64 shards. The engine is driven directly, without a database, so the numbers isolate counter
+ * contention; nothing is flushed during a run.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=HotProductBenchmark}.
+ */
+class HotProductBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int THREADS = 64;
+    private static final long RUN_MILLIS = 2_000;
+
+    @Test
+    void confirmsOnSingleProduct() throws Exception {
+        run("warm-up", 8);
+        double[] results = new double[3];
+        int[] shardCounts = {1, 8, 64};
+        for (int i = 0; i < shardCounts.length; i++) {
+            results[i] = run(shardCounts[i] + " shard(s)", shardCounts[i]);
+        }
+        System.out.printf("%nHot product confirms/sec on %d CPU(s): 1 shard %.0f, 8 shards %.0f, 64 shards %.0f%n",
+                Runtime.getRuntime().availableProcessors(), results[0], results[1], results[2]);
+    }
+
+    private double run(String label, int shards) throws Exception {
+        InventoryReservationEngine engine = new InventoryReservationEngine(
+                mock(ProductRepository.class), mock(OrderItemRepository.class), mock(TransactionTemplate.class));
+        engine.overrideStock(PRODUCT_ID, Integer.MAX_VALUE, shards);
+        Map<Long, Integer> line = Map.of(PRODUCT_ID, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> workers = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                long confirms = 0;
+                while (System.nanoTime() < deadline) {
+                    if (engine.reserve(line).isEmpty()) {
+                        engine.commit(line);
+                        confirms++;
+                    }
+                }
+                return confirms;
+            }));
+        }
+        start.countDown();
+        long total = 0;
+        for (Future<Long> worker : workers) {
+            total += worker.get();
+        }
+        executor.shutdown();
+
+        double confirmsPerSecond = total / (RUN_MILLIS / 1000.0);
+        System.out.printf("%-12s %,14.0f confirms/sec%n", label, confirmsPerSecond);
+        return confirmsPerSecond;
+    }
+}
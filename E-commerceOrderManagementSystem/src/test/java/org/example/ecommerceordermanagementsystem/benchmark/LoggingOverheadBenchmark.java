@@ -0,0 +1,134 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.ECommerceOrderManagementSystemApplication;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Compares the throughput and latency of the product and order GET endpoints with logging off, with the default
+ * synchronous text file logging, and with the {@code prod} logging mode: JSON events through the ring buffer
+ * appender, once with 1% of requests sampled and once with all of them. Each endpoint logs at INFO in the controller
+ * and in the service. Console output is switched off in every mode, so that only the file appender is compared.
+ * <p>
+ * The application is started once per mode on a random port and driven over HTTP/1.1 by {@code -Dclients} clients
+ * (64 by default), each keeping one request in flight, after a first run that only warms up the JVM.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=LoggingOverheadBenchmark}.
+ */
+class LoggingOverheadBenchmark {
+
+    private static final long RUN_MILLIS = 5_000;
+    private static final long PRODUCT_ID = 1L;
+    private static final Path LOG_DIRECTORY = Path.of("target", "benchmark", "logging");
+
+    @Test
+    void loggingOnVersusOff() throws IOException {
+        int clients = Integer.getInteger("clients", 64);
+        run("warm-up, off", clients, "--logging.level.root=OFF");
+        System.out.printf("%n%-28s %12s %10s %10s %8s %12s%n", "logging", "requests/s", "p50 ms", "p99 ms", "errors", "log bytes");
+        run("off", clients, "--logging.level.root=OFF");
+        run("sync text, all requests", clients);
+        run("async JSON, 1% sampled", clients, "--spring.profiles.active=prod");
+        run("async JSON, all requests", clients, "--spring.profiles.active=prod", "--oms.logging.request-sample-rate=1.0");
+    }
+
+    private void run(String label, int clients, String... args) throws IOException {
+        Path logFile = LOG_DIRECTORY.resolve(label.replaceAll("[^A-Za-z0-9]+", "-") + ".log");
+        Files.createDirectories(LOG_DIRECTORY);
+        deleteLogs(logFile);
+        List<String> arguments = new ArrayList<>(List.of(args));
+        arguments.addAll(List.of("--server.port=0",
+                "--logging.file.name=" + logFile,
+                "--logging.threshold.console=OFF",
+                "--oms.journal.directory=" + LOG_DIRECTORY.resolve("journal-" + System.nanoTime())));
+        long logBytes;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceOrderManagementSystemApplication.class)
+                .run(arguments.toArray(String[]::new))) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Long orderId = placeOrder(context.getBean(OrderService.class));
+            List<URI> uris = List.of(URI.create(base + "/api/products/" + PRODUCT_ID), URI.create(base + "/api/orders/" + orderId));
+            drive(uris, clients);
+            long before = sizeOf(logFile);
+            double[] result = drive(uris, clients);
+            logBytes = sizeOf(logFile) - before;
+            System.out.printf("%-28s %,12.0f %10.2f %10.2f %8.0f %,12d%n", label, result[0], result[1], result[2], result[3], logBytes);
+        }
+    }
+
+    private double[] drive(List<URI> uris, int clients) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        List<CompletableFuture<List<Long>>> chains = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            chains.add(request(client, uris, i, deadline, new ArrayList<>(), errors));
+        }
+        long[] latencies = chains.stream().flatMap(chain -> chain.join().stream()).mapToLong(Long::longValue).sorted().toArray();
+        return new double[]{latencies.length / (RUN_MILLIS / 1000.0), percentile(latencies, 0.50), percentile(latencies, 0.99),
+                errors.sum()};
+    }
+
+    private CompletableFuture<List<Long>> request(HttpClient client, List<URI> uris, int next, long deadline,
+                                                  List<Long> latencies, LongAdder errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(latencies);
+        }
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(uris.get(next % uris.size())).timeout(Duration.ofSeconds(60)).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (failure == null && response.statusCode() == 200) {
+                        latencies.add(System.nanoTime() - start);
+                    } else {
+                        errors.increment();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> request(client, uris, next + 1, deadline, latencies, errors));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * sorted.length))] / 1e6;
+    }
+
+    private static long sizeOf(Path logFile) throws IOException {
+        return Files.exists(logFile) ? Files.size(logFile) : 0;
+    }
+
+    private static void deleteLogs(Path logFile) throws IOException {
+        try (Stream<Path> files = Files.list(LOG_DIRECTORY)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().startsWith(logFile.getFileName().toString())).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static Long placeOrder(OrderService orderService) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Benchmark Customer");
+        request.setCustomerEmail("bench@example.com");
+        request.setOrderItems(List.of(new OrderItemRequest(PRODUCT_ID, 1)));
+        return orderService.createOrder(request).getId();
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.example.ecommerceordermanagementsystem.confirmation.ConfirmationTicket;
+import org.example.ecommerceordermanagementsystem.confirmation.OrderConfirmationPipeline;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures confirms/sec for 5k PENDING orders (3 items each): confirming them one request at a time through
+ * {@code updateOrderStatus}, then through the {@link OrderConfirmationPipeline} at batch sizes 1 to 1000. Every
+ * confirmation is journaled with an fsync wait, as configured by default.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=OrderConfirmationBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "logging.level.org.example.ecommerceordermanagementsystem=WARN"
+})
+class OrderConfirmationBenchmark {
+
+    private static final int ORDERS = 5_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int CHUNK = 500;
+    private static final int[] BATCH_SIZES = {1, 10, 50, 200, 1000};
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InventoryReservationEngine inventory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("UPDATE products SET stock = 1000000000 WHERE id <= ?", ITEMS_PER_ORDER);
+        inventory.rebuild();
+    }
+
+    @Test
+    void confirmations() throws Exception {
+        runPipeline("warm-up", 200);
+        double oneByOne = runOneByOne();
+        StringBuilder summary = new StringBuilder();
+        for (int batchSize : BATCH_SIZES) {
+            double confirmsPerSecond = runPipeline("pipeline, batch size " + batchSize, batchSize);
+            summary.append(String.format(", batch %d %.0f (x%.1f)", batchSize, confirmsPerSecond, confirmsPerSecond / oneByOne));
+        }
+        System.out.printf("%nOrder confirms/sec: one by one %.0f%s%n", oneByOne, summary);
+    }
+
+    private double runOneByOne() {
+        List<Long> orderIds = placePendingOrders();
+        long start = System.nanoTime();
+        orderIds.forEach(id -> orderService.updateOrderStatus(id, OrderStatus.CONFIRMED));
+        return report("updateOrderStatus, one by one", start);
+    }
+
+    private double runPipeline(String label, int batchSize) throws Exception {
+        List<Long> orderIds = placePendingOrders();
+        OrderConfirmationPipeline pipeline = new OrderConfirmationPipeline(orderService, RestClient.create(), ORDERS,
+                batchSize, Duration.ofMinutes(5), Set.of());
+        try {
+            long start = System.nanoTime();
+            ConfirmationTicket ticket = pipeline.submit(orderIds, null);
+            ticket.completion().get(10, TimeUnit.MINUTES);
+            double confirmsPerSecond = report(label, start);
+            assertTrue(ticket.results().stream().allMatch(result -> result.getOutcome() == ConfirmationOutcome.CONFIRMED));
+            return confirmsPerSecond;
+        } finally {
+            pipeline.close();
+        }
+    }
+
+    private static double report(String label, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double confirmsPerSecond = ORDERS / seconds;
+        System.out.printf("%-32s %,10.0f confirms/sec (%.2f s)%n", label, confirmsPerSecond, seconds);
+        return confirmsPerSecond;
+    }
+
+    private List<Long> placePendingOrders() {
+        List<Long> orderIds = new ArrayList<>(ORDERS);
+        for (int offset = 0; offset < ORDERS; offset += CHUNK) {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderRepository.saveAll(newOrders()).forEach(order -> orderIds.add(order.getId()));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        // Picks the new order lines up as reservations, as a restart would.
+        inventory.rebuild();
+        return orderIds;
+    }
+
+    private List<Order> newOrders() {
+        List<Order> orders = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) {
+            Order order = new Order();
+            order.setCustomerName("Benchmark Customer");
+            order.setCustomerEmail("bench@example.com");
+            order.setStatus(OrderStatus.PENDING);
+            BigDecimal total = BigDecimal.ZERO;
+            for (long productId = 1; productId <= ITEMS_PER_ORDER; productId++) {
+                OrderItem item = new OrderItem();
+                item.setProduct(entityManager.getReference(Product.class, productId));
+                item.setQuantity(1);
+                item.setUnitPrice(BigDecimal.TEN);
+                item.setTotalPrice(BigDecimal.TEN);
+                order.addOrderItem(item);
+                total = total.add(item.getTotalPrice());
+            }
+            order.setTotalAmount(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
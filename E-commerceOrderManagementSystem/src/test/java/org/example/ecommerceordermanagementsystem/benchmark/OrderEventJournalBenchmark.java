@@ -0,0 +1,79 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.journal.OrderEventJournal;
+import org.example.ecommerceordermanagementsystem.journal.OrderEventLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures order journal throughput: appends without waiting for the disk, appends from concurrent committers that
+ * each wait for the group fsync covering their event, and a full replay.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=OrderEventJournalBenchmark}.
+ */
+class OrderEventJournalBenchmark {
+
+    private static final int EVENTS = 2_000_000;
+    private static final int COMMITTERS = 32;
+    private static final int EVENTS_PER_COMMITTER = 500;
+    private static final List<OrderEventLine> LINES = List.of(
+            new OrderEventLine(1L, 2, new BigDecimal("2400.00")),
+            new OrderEventLine(2L, 1, new BigDecimal("25.50")),
+            new OrderEventLine(3L, 4, new BigDecimal("19.96")));
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void appendAndReplay() throws Exception {
+        OrderEventJournal journal = new OrderEventJournal(directory, DataSize.ofMegabytes(64), false);
+        try {
+            long start = System.nanoTime();
+            for (long orderId = 1; orderId <= EVENTS; orderId++) {
+                journal.append(orderId, OrderStatus.PENDING, OrderStatus.CONFIRMED, LINES);
+            }
+            journal.awaitDurable(journal.lastSequence());
+            report("append", EVENTS, start);
+
+            start = System.nanoTime();
+            ExecutorService committers = Executors.newFixedThreadPool(COMMITTERS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < COMMITTERS; i++) {
+                futures.add(committers.submit(() -> {
+                    for (int n = 0; n < EVENTS_PER_COMMITTER; n++) {
+                        journal.awaitDurable(journal.append(n, OrderStatus.CONFIRMED, OrderStatus.SHIPPED, LINES));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            committers.shutdown();
+            report("append + await fsync, " + COMMITTERS + " threads", COMMITTERS * EVENTS_PER_COMMITTER, start);
+
+            for (int round = 0; round < 2; round++) {
+                AtomicLong units = new AtomicLong();
+                start = System.nanoTime();
+                long replayed = journal.replay(1, event -> event.lines().forEach(line -> units.addAndGet(line.quantity())));
+                report(round == 0 ? "replay (warm-up)" : "replay", replayed, start);
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static void report(String label, long events, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-36s %,12d events in %6.2f s  %,12.0f events/s%n", label, events, seconds, events / seconds);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures rows/sec when persisting 10k orders (3 items each) through {@code orderRepository.saveAll}.
+ * <p>
+ * The "unbatched" pass forces a JDBC batch size of 1, which is what {@code GenerationType.IDENTITY} used to
+ * impose: one round-trip per row. The "batched" pass uses the configured {@code hibernate.jdbc.batch_size},
+ * which only works because ids are now generated application-side.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=OrderIntakeBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN"
+})
+class OrderIntakeBenchmark {
+
+    private static final int ORDERS = 10_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void intake() {
+        run("warm-up", 50);
+        double unbatched = run("unbatched (batch size 1)", 1);
+        double batched = run("batched (batch size 50)", 50);
+        System.out.printf("%nOrder intake: %.0f rows/sec unbatched, %.0f rows/sec batched (x%.1f)%n",
+                unbatched, batched, batched / unbatched);
+    }
+
+    private double run(String label, int jdbcBatchSize) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ORDERS; offset += CHUNK) {
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                orderRepository.saveAll(newOrders());
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double rowsPerSecond = ORDERS * (1 + ITEMS_PER_ORDER) / seconds;
+        System.out.printf("%-28s %,10.0f rows/sec (%.2f s)%n", label, rowsPerSecond, seconds);
+        return rowsPerSecond;
+    }
+
+    private List<Order> newOrders() {
+        List<Order> orders = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) {
+            Order order = new Order();
+            order.setCustomerName("Benchmark Customer");
+            order.setCustomerEmail("bench@example.com");
+            order.setStatus(OrderStatus.PENDING);
+            BigDecimal total = BigDecimal.ZERO;
+            for (long productId = 1; productId <= ITEMS_PER_ORDER; productId++) {
+                OrderItem item = new OrderItem();
+                item.setProduct(entityManager.getReference(Product.class, productId));
+                item.setQuantity(1);
+                item.setUnitPrice(BigDecimal.TEN);
+                item.setTotalPrice(BigDecimal.TEN);
+                order.addOrderItem(item);
+                total = total.add(item.getTotalPrice());
+            }
+            order.setTotalAmount(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
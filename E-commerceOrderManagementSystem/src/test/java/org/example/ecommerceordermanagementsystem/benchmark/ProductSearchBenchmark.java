@@ -0,0 +1,90 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.search.ProductSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.function.Supplier;
+
+/**
+ * Compares {@code searchProducts} on the LIKE queries against the trigram index with 1M products in H2: a selective
+ * name query, a broad one, a query too short for a trigram and a name-plus-category query, each sorted by name.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=ProductSearchBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN"
+})
+class ProductSearchBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int RUNS = 5;
+    private static final Pageable FIRST_PAGE_BY_NAME = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Test
+    void search() {
+        jdbcTemplate.update("""
+                insert into products (id, name, price, stock, stock_shards, category, is_active, created_at)
+                select 1000000000 + x,
+                       concat((array['Wireless', 'Gaming', 'Ergonomic', 'Compact', 'Premium', 'Portable', 'Smart',
+                                     'Classic', 'Ultra', 'Eco', 'Pro', 'Mini', 'Rugged'])[mod(x, 13) + 1], ' ',
+                              (array['Mouse', 'Keyboard', 'Laptop', 'Monitor', 'Headset', 'Speaker', 'Camera',
+                                     'Charger', 'Tablet', 'Router', 'Webcam', 'Desk', 'Chair', 'Lamp', 'Backpack',
+                                     'Bottle', 'Watch'])[mod(x / 13, 17) + 1], ' ', x),
+                       mod(x, 1000) + 0.99, 100, 1,
+                       (array['Electronics', 'Accessories', 'Furniture', 'Office', 'Outdoor', 'Audio', 'Home',
+                              'Sports'])[mod(x, 8) + 1],
+                       true, timestampadd(second, x, timestamp '2024-01-01 00:00:00')
+                from system_range(1, ?)
+                """, PRODUCTS);
+        long start = System.nanoTime();
+        searchIndex.rebuild();
+        System.out.printf("%nIndexed %,d products in %.1f s%n", searchIndex.size(), (System.nanoTime() - start) / 1e9);
+
+        compare("selective name 'mouse 12'", () -> productRepository.findByNameContainingIgnoreCase("mouse 12", FIRST_PAGE_BY_NAME).getTotalElements(),
+                () -> searchIndex.search("mouse 12", null, FIRST_PAGE_BY_NAME).getTotalElements());
+        compare("broad name 'laptop'", () -> productRepository.findByNameContainingIgnoreCase("laptop", FIRST_PAGE_BY_NAME).getTotalElements(),
+                () -> searchIndex.search("laptop", null, FIRST_PAGE_BY_NAME).getTotalElements());
+        compare("short name 'pr'", () -> productRepository.findByNameContainingIgnoreCase("pr", FIRST_PAGE_BY_NAME).getTotalElements(),
+                () -> searchIndex.search("pr", null, FIRST_PAGE_BY_NAME).getTotalElements());
+        compare("name 'gaming lap' + category 'electr'",
+                () -> productRepository.findByNameContainingIgnoreCaseAndCategoryContainingIgnoreCase("gaming lap", "electr", FIRST_PAGE_BY_NAME).getTotalElements(),
+                () -> searchIndex.search("gaming lap", "electr", FIRST_PAGE_BY_NAME).getTotalElements());
+    }
+
+    private void compare(String label, Supplier<Long> like, Supplier<Long> index) {
+        long likeMatches = like.get();
+        long indexMatches = index.get();
+        if (likeMatches != indexMatches) {
+            throw new IllegalStateException(label + ": LIKE found " + likeMatches + ", index found " + indexMatches);
+        }
+        double likeMillis = time(like);
+        double indexMillis = time(index);
+        System.out.printf("%-40s %,9d matches   LIKE %9.2f ms   index %8.2f ms   (x%.0f)%n",
+                label, indexMatches, likeMillis, indexMillis, likeMillis / indexMillis);
+    }
+
+    private static double time(Supplier<Long> query) {
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / RUNS;
+    }
+}
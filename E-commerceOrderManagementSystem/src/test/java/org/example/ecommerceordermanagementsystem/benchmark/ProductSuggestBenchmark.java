@@ -0,0 +1,67 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures typeahead latency on 100k products with random popularity, for prefixes of one to six characters. The
+ * index is driven directly, without a database.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=ProductSuggestBenchmark}.
+ */
+class ProductSuggestBenchmark {
+
+    private static final int PRODUCTS = 100_000;
+    private static final int LOOKUPS = 1_000_000;
+    private static final String[] ADJECTIVES = {"Wireless", "Gaming", "Ergonomic", "Compact", "Premium", "Portable",
+            "Smart", "Classic", "Ultra", "Eco", "Pro", "Mini", "Rugged"};
+    private static final String[] NOUNS = {"Mouse", "Keyboard", "Laptop", "Monitor", "Headset", "Speaker", "Camera",
+            "Charger", "Tablet", "Router", "Webcam", "Desk", "Chair", "Lamp", "Backpack", "Bottle", "Watch"};
+
+    @Test
+    void suggest() {
+        ProductSuggestIndex index = new ProductSuggestIndex(mock(ProductRepository.class), mock(OrderItemRepository.class),
+                mock(OrderRepository.class), mock(PlatformTransactionManager.class), Duration.ofDays(30));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.nanoTime();
+        for (long id = 1; id <= PRODUCTS; id++) {
+            String name = ADJECTIVES[(int) (id % ADJECTIVES.length)] + " " + NOUNS[(int) (id / ADJECTIVES.length % NOUNS.length)] + " " + id;
+            index.index(new Product(id, name, BigDecimal.TEN, 10, 1, "Electronics", true, LocalDateTime.now(), 0L));
+            Order order = new Order();
+            order.setId(id);
+            order.setVersion(0L);
+            index.recordSales(order, Map.of(id, random.nextInt(1_000)));
+        }
+        System.out.printf("%nIndexed %,d products in %.1f s%n", PRODUCTS, (System.nanoTime() - start) / 1e9);
+
+        String[] prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String word = random.nextBoolean() ? ADJECTIVES[random.nextInt(ADJECTIVES.length)] : NOUNS[random.nextInt(NOUNS.length)];
+            prefixes[i] = word.substring(0, 1 + random.nextInt(Math.min(6, word.length())));
+        }
+        run(index, prefixes, "warm-up");
+        run(index, prefixes, "measured");
+    }
+
+    private static void run(ProductSuggestIndex index, String[] prefixes, String label) {
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            found += index.suggest(prefixes[i & (prefixes.length - 1)], ProductSuggestIndex.MAX_SUGGESTIONS).size();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / LOOKUPS;
+        System.out.printf("%-10s %.2f us per suggestion lookup (%,d results)%n", label, micros, found);
+    }
+}
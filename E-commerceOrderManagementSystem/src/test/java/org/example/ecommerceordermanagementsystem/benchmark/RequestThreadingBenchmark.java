@@ -0,0 +1,118 @@
+package org.example.ecommerceordermanagementsystem.benchmark;
+
+import org.example.ecommerceordermanagementsystem.ECommerceOrderManagementSystemApplication;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares request throughput and latency of the product and order GET endpoints with Tomcat on platform threads and
+ * on virtual threads, at 1k, 5k and 10k concurrent clients. Order reads block on JPA for their ETag and body; the
+ * Hikari pool stays at its configured size in both modes.
+ * <p>
+ * The application is started once per threading model on a random port and driven over HTTP/1.1, each client keeping
+ * one request in flight. Virtual threads need a Java 21 runtime; on older runtimes only the platform run is made.
+ * <p>
+ * Run with {@code mvn test -Pbenchmark -Dtest=RequestThreadingBenchmark}, or with {@code -Pbenchmark,java21} on a
+ * Java 21 JDK for both runs. {@code -Dclients=1000,2000} overrides the client counts.
+ */
+class RequestThreadingBenchmark {
+
+    private static final long RUN_MILLIS = 5_000;
+    private static final long PRODUCT_ID = 1L;
+
+    @Test
+    void platformVersusVirtualThreads() {
+        int[] clients = Arrays.stream(System.getProperty("clients", "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        System.out.printf("%n%-10s %8s %12s %10s %10s %8s%n", "threads", "clients", "requests/s", "p50 ms", "p99 ms", "errors");
+        run(false, clients);
+        if (Runtime.version().feature() >= 21) {
+            run(true, clients);
+        } else {
+            System.out.printf("virtual    skipped: running on Java %d, virtual threads need Java 21 (-Pjava21)%n",
+                    Runtime.version().feature());
+        }
+    }
+
+    private void run(boolean virtual, int[] clientCounts) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ECommerceOrderManagementSystemApplication.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                        "logging.level.org.example.ecommerceordermanagementsystem=WARN")
+                .run()) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Long orderId = placeOrder(context.getBean(OrderService.class));
+            List<URI> uris = List.of(URI.create(base + "/api/products/" + PRODUCT_ID), URI.create(base + "/api/orders/" + orderId));
+            String label = virtual ? "virtual" : "platform";
+            drive(uris, 500, label + " warm-up");
+            for (int clients : clientCounts) {
+                drive(uris, clients, label);
+            }
+        }
+    }
+
+    private void drive(List<URI> uris, int clients, String label) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        List<CompletableFuture<List<Long>>> chains = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            chains.add(request(client, uris, i, deadline, new ArrayList<>(), errors));
+        }
+        long[] latencies = chains.stream().flatMap(chain -> chain.join().stream()).mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%-10s %8d %,12.0f %10.2f %10.2f %8d%n", label, clients, latencies.length / (RUN_MILLIS / 1000.0),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), errors.sum());
+    }
+
+    private CompletableFuture<List<Long>> request(HttpClient client, List<URI> uris, int next, long deadline,
+                                                  List<Long> latencies, LongAdder errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(latencies);
+        }
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(uris.get(next % uris.size())).timeout(Duration.ofSeconds(60)).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (failure == null && response.statusCode() == 200) {
+                        latencies.add(System.nanoTime() - start);
+                    } else {
+                        errors.increment();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> request(client, uris, next + 1, deadline, latencies, errors));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.round(quantile * sorted.length))] / 1e6;
+    }
+
+    private static Long placeOrder(OrderService orderService) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Benchmark Customer");
+        request.setCustomerEmail("bench@example.com");
+        request.setOrderItems(List.of(new OrderItemRequest(PRODUCT_ID, 1)));
+        return orderService.createOrder(request).getId();
+    }
+}
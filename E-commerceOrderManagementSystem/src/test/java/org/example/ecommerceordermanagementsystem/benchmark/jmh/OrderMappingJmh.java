@@ -0,0 +1,72 @@
+package org.example.ecommerceordermanagementsystem.benchmark.jmh;
+
+import org.example.ecommerceordermanagementsystem.dto.OrderItemResponse;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping with {@link OrderResponse#fromEntity} and {@link OrderItemResponse#fromEntity} on detached
+ * orders of 1, 10 and 50 lines, without a database.
+ * <p>
+ * Run with {@code mvn test -Pjmh -Djmh.args=OrderMappingJmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderMappingJmh {
+
+    @Param({"1", "10", "50"})
+    int lines;
+
+    private Order order;
+    private OrderItem item;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        order = new Order(1L, "Benchmark Customer", "bench@example.com", LocalDateTime.now(), OrderStatus.PENDING,
+                BigDecimal.ZERO, new ArrayList<>(), 0L);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            Product product = new Product((long) i + 1, "Product " + i, BigDecimal.valueOf(1999, 2), 100, 1,
+                    SeededApplication.category(i), true, LocalDateTime.now(), 0L);
+            BigDecimal unitPrice = product.getPrice();
+            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(2));
+            order.addOrderItem(new OrderItem((long) i + 1, null, product, 2, unitPrice, totalPrice));
+            total = total.add(totalPrice);
+        }
+        order.setTotalAmount(total);
+        item = order.getOrderItems().get(0);
+    }
+
+    @Benchmark
+    public OrderResponse orderFromEntity() {
+        return OrderResponse.fromEntity(order);
+    }
+
+    @Benchmark
+    public OrderItemResponse orderItemFromEntity() {
+        return OrderItemResponse.fromEntity(item);
+    }
+}
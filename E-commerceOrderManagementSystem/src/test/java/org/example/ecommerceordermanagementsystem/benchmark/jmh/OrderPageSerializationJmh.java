@@ -0,0 +1,54 @@
+package org.example.ecommerceordermanagementsystem.benchmark.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a {@code Page<OrderResponse>} as returned by {@code GET /api/orders}, using the
+ * application's {@link ObjectMapper}, for pages of 20 and 100 seeded orders.
+ * <p>
+ * Run with {@code mvn test -Pjmh -Djmh.args=OrderPageSerializationJmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderPageSerializationJmh {
+
+    @Param({"20", "100"})
+    int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<OrderResponse> page;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        objectMapper = application.bean(ObjectMapper.class);
+        page = application.bean(OrderService.class).getAllOrders(PageRequest.of(0, pageSize, Sort.by("id")));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
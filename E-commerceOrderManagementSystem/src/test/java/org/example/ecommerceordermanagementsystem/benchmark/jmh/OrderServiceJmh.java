@@ -0,0 +1,87 @@
+package org.example.ecommerceordermanagementsystem.benchmark.jmh;
+
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order write paths through {@link OrderService}: {@code createOrder} at 1, 10 and 50 lines, and confirming or
+ * cancelling a freshly placed order with {@code updateOrderStatus}. Each call runs in its own transaction and is
+ * journaled as configured by default.
+ * <p>
+ * Run with {@code mvn test -Pjmh -Djmh.args=OrderServiceJmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceJmh {
+
+    @State(Scope.Thread)
+    public static class CreateState {
+
+        @Param({"1", "10", "50"})
+        int lines;
+
+        OrderService orderService;
+        CreateOrderRequest request;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededApplication application) {
+            orderService = application.bean(OrderService.class);
+            request = application.newOrderRequest(new Random(lines), lines);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PendingOrderState {
+
+        OrderService orderService;
+        SeededApplication application;
+        Random random;
+        Long orderId;
+
+        @Setup(Level.Trial)
+        public void setUp(SeededApplication application) {
+            this.application = application;
+            this.orderService = application.bean(OrderService.class);
+            this.random = new Random(7);
+        }
+
+        @Setup(Level.Invocation)
+        public void placeOrder() {
+            orderId = orderService.createOrder(application.newOrderRequest(random, 3)).getId();
+        }
+    }
+
+    @Benchmark
+    public OrderResponse createOrder(CreateState state) {
+        return state.orderService.createOrder(state.request);
+    }
+
+    @Benchmark
+    public OrderResponse confirmOrder(PendingOrderState state) {
+        return state.orderService.updateOrderStatus(state.orderId, OrderStatus.CONFIRMED);
+    }
+
+    @Benchmark
+    public OrderResponse cancelOrder(PendingOrderState state) {
+        return state.orderService.updateOrderStatus(state.orderId, OrderStatus.CANCELLED);
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.ecommerceordermanagementsystem.benchmark.jmh;
+
+import org.example.ecommerceordermanagementsystem.dto.ProductResponse;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProductServiceImpl.searchProducts} over the seeded catalogue, one page of 20 by name, by category and by
+ * both. Sorting by {@code name} is served from the search index; sorting by {@code stock} falls back to the
+ * repository queries.
+ * <p>
+ * Run with {@code mvn test -Pjmh -Djmh.args=ProductSearchJmh}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductSearchJmh {
+
+    @Param({"name", "category", "nameAndCategory"})
+    String criteria;
+
+    @Param({"name", "stock"})
+    String sortBy;
+
+    private ProductService productService;
+    private String name;
+    private String category;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededApplication application) {
+        productService = application.bean(ProductService.class);
+        name = criteria.equals("category") ? null : "smart";
+        category = criteria.equals("name") ? null : SeededApplication.category(7);
+        pageable = PageRequest.of(0, 20, Sort.by(sortBy));
+    }
+
+    @Benchmark
+    public Page<ProductResponse> searchProducts() {
+        return productService.searchProducts(name, category, pageable);
+    }
+}
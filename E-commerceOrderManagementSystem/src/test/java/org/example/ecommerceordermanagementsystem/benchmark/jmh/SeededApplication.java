@@ -0,0 +1,164 @@
+package org.example.ecommerceordermanagementsystem.benchmark.jmh;
+
+import jakarta.persistence.EntityManager;
+import org.example.ecommerceordermanagementsystem.ECommerceOrderManagementSystemApplication;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.example.ecommerceordermanagementsystem.service.SalesAggregateService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The application context shared by the JMH suites: the full service stack without the web server, on the embedded
+ * H2 database seeded with {@value #PRODUCTS} products in {@value #CATEGORIES} categories and {@value #ORDERS} orders
+ * of 1 to 10 lines spread over the last year and all statuses. Seeding uses a fixed random seed, so every fork
+ * measures the same data.
+ * <p>
+ * Products are created through {@link ProductService} so the search, suggest and facet indexes pick them up; orders
+ * are inserted in bulk and the reservation engine and sales aggregates are rebuilt from them afterwards. Stock is
+ * set high enough that the write benchmarks never run out.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    static final int PRODUCTS = 2_000;
+    static final int CATEGORIES = 20;
+    static final int ORDERS = 20_000;
+    static final int MAX_LINES = 10;
+
+    private static final int CHUNK = 500;
+    private static final String[] ADJECTIVES = {"Classic", "Compact", "Deluxe", "Eco", "Ergonomic", "Portable", "Pro",
+            "Smart", "Ultra", "Vintage"};
+    private static final String[] NOUNS = {"Backpack", "Blender", "Camera", "Chair", "Headphones", "Jacket", "Kettle",
+            "Lamp", "Laptop", "Monitor", "Phone", "Sneakers", "Speaker", "Tent", "Watch"};
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private ConfigurableApplicationContext context;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ECommerceOrderManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+                        "logging.level.org.example.ecommerceordermanagementsystem=WARN",
+                        "logging.file.name=target/jmh/ecommerce-oms.log")
+                .run();
+        Random random = new Random(42);
+        productIds = seedProducts(random);
+        seedOrders(random);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public List<Long> productIds() {
+        return productIds;
+    }
+
+    /**
+     * A new order request for {@code lines} distinct products, picked at random.
+     */
+    public CreateOrderRequest newOrderRequest(Random random, int lines) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Benchmark Customer");
+        request.setCustomerEmail("customer" + random.nextInt(5_000) + "@example.com");
+        List<OrderItemRequest> items = new ArrayList<>(lines);
+        int first = random.nextInt(productIds.size());
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItemRequest(productIds.get((first + i) % productIds.size()), 1 + random.nextInt(3)));
+        }
+        request.setOrderItems(items);
+        return request;
+    }
+
+    static String category(int index) {
+        return "Category " + (index % CATEGORIES);
+    }
+
+    private List<Long> seedProducts(Random random) {
+        ProductService productService = bean(ProductService.class);
+        List<Long> ids = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            CreateProductRequest request = new CreateProductRequest();
+            request.setName(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i);
+            request.setPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+            request.setStock(1_000_000_000);
+            request.setCategory(category(i));
+            ids.add(productService.createProduct(request).getId());
+        }
+        return List.copyOf(ids);
+    }
+
+    private void seedOrders(Random random) {
+        OrderRepository orderRepository = bean(OrderRepository.class);
+        EntityManager entityManager = bean(EntityManager.class);
+        TransactionTemplate transactionTemplate = bean(TransactionTemplate.class);
+        for (int offset = 0; offset < ORDERS; offset += CHUNK) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Order> orders = new ArrayList<>(CHUNK);
+                for (int i = 0; i < CHUNK; i++) {
+                    orders.add(newOrder(random, entityManager));
+                }
+                orderRepository.saveAll(orders);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        // Order dates are stamped on insert; spread them over the last year.
+        JdbcTemplate jdbcTemplate = bean(JdbcTemplate.class);
+        jdbcTemplate.update("UPDATE orders SET order_date = DATEADD('MINUTE', -MOD(id * 7919, 525600), order_date)");
+        // The PENDING orders hold reservations and every order counts towards the sales buckets, as after a restart.
+        bean(InventoryReservationEngine.class).rebuild();
+        bean(SalesAggregateService.class).rebuild();
+    }
+
+    private Order newOrder(Random random, EntityManager entityManager) {
+        Order order = new Order();
+        order.setCustomerName("Customer " + random.nextInt(5_000));
+        order.setCustomerEmail("customer" + random.nextInt(5_000) + "@example.com");
+        order.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        BigDecimal total = BigDecimal.ZERO;
+        int lines = 1 + random.nextInt(MAX_LINES);
+        int first = random.nextInt(productIds.size());
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = new OrderItem();
+            item.setProduct(entityManager.getReference(Product.class, productIds.get((first + i) % productIds.size())));
+            item.setQuantity(1 + random.nextInt(3));
+            item.setUnitPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2));
+            item.setTotalPrice(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            order.addOrderItem(item);
+            total = total.add(item.getTotalPrice());
+        }
+        order.setTotalAmount(total);
+        return order;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.ecommerceordermanagementsystem.cache;
+
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCacheTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productCache = new ProductCache(productRepository, 100, Duration.ofMinutes(10), 10, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should load a product once and serve repeated lookups from memory")
+    void get_shouldReadThroughOnce() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+
+        assertEquals("Laptop", productCache.get(1L).orElseThrow().name());
+        assertEquals("Laptop", productCache.get(1L).orElseThrow().name());
+
+        verify(productRepository, times(1)).findById(1L);
+        assertEquals(1, productCache.stats().get(ProductCache.PRODUCTS).hitCount());
+        assertEquals(1, productCache.stats().get(ProductCache.PRODUCTS).missCount());
+    }
+
+    @Test
+    @DisplayName("Should rethrow a failed load as is and retry it on the next lookup")
+    void get_shouldNotCacheFailedLoads() {
+        when(productRepository.findById(1L))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(Optional.of(product(1L, "Laptop")));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> productCache.get(1L));
+        assertEquals("connection lost", ex.getMessage());
+        assertEquals("Laptop", productCache.get(1L).orElseThrow().name());
+
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache unknown products")
+    void get_shouldReturnEmpty_whenProductDoesNotExist() {
+        when(productRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(productCache.get(9L).isEmpty());
+        assertTrue(productCache.get(9L).isEmpty());
+
+        verify(productRepository, times(2)).findById(9L);
+    }
+
+    @Test
+    @DisplayName("Should load only the missing products of a bulk lookup, in one query")
+    void getAll_shouldLoadMissesInOneQuery() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+        productCache.get(1L);
+        when(productRepository.findAllById(Set.of(2L, 3L))).thenReturn(List.of(product(2L, "Phone")));
+
+        Map<Long, ProductSnapshot> result = productCache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(1L, 2L), result.keySet());
+        verify(productRepository, times(1)).findAllById(Set.of(2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should write updates through and drop cached pages")
+    void put_shouldReplaceSnapshotAndInvalidatePages() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.findIdPage(pageable)).thenReturn(new PageImpl<>(List.of(1L), pageable, 1));
+        productCache.getIdPage(pageable);
+        productCache.getIdPage(pageable);
+
+        productCache.put(product(1L, "Renamed Laptop"));
+        productCache.getIdPage(pageable);
+
+        assertEquals("Renamed Laptop", productCache.get(1L).orElseThrow().name());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productRepository, times(2)).findIdPage(pageable);
+    }
+
+    @Test
+    @DisplayName("Should reload a product after it has been evicted")
+    void evict_shouldDropSnapshot() {
+        productCache.put(product(1L, "Laptop"));
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        productCache.evict(1L);
+
+        assertTrue(productCache.get(1L).isEmpty());
+    }
+
+    private static Product product(Long id, String name) {
+        return new Product(id, name, BigDecimal.TEN, 10, 1, "Electronics", true, LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.ecommerceordermanagementsystem.confirmation;
+
+import org.example.ecommerceordermanagementsystem.dto.OrderConfirmationResponse;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
+import org.example.ecommerceordermanagementsystem.exception.ConfirmationQueueFullException;
+import org.example.ecommerceordermanagementsystem.exception.InsufficientStockException;
+import org.example.ecommerceordermanagementsystem.exception.InvalidCallbackUrlException;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OrderConfirmationPipelineTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private OrderConfirmationPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    @DisplayName("Should confirm queued orders in batches of at most the batch size and complete the ticket")
+    void submit_shouldConfirmInBatches() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(orderService.confirmOrders(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            batchSizes.add(ids.size());
+            return confirmed(ids);
+        });
+        pipeline = open(100, 4);
+
+        ConfirmationTicket ticket = pipeline.submit(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 1L), null);
+        ticket.completion().get(5, TimeUnit.SECONDS);
+
+        assertTrue(ticket.isCompleted());
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(),
+                ticket.results().stream().map(OrderConfirmationResponse::getOrderId).toList());
+        assertTrue(ticket.results().stream().allMatch(result -> result.getOutcome() == ConfirmationOutcome.CONFIRMED));
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertSame(ticket, pipeline.ticket(ticket.id()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should confirm orders one by one when their batch fails, isolating the failing order")
+    void submit_shouldFallBackToSingleOrders_whenBatchFails() throws Exception {
+        when(orderService.confirmOrders(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            if (ids.contains(2L)) {
+                throw new InsufficientStockException("Insufficient stock for product: Laptop");
+            }
+            return confirmed(ids);
+        });
+        pipeline = open(100, 10);
+
+        ConfirmationTicket ticket = pipeline.submit(List.of(1L, 2L, 3L), null);
+        ticket.completion().get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(ConfirmationOutcome.CONFIRMED, ConfirmationOutcome.FAILED, ConfirmationOutcome.CONFIRMED),
+                ticket.results().stream().map(OrderConfirmationResponse::getOutcome).toList());
+        assertEquals("Insufficient stock for product: Laptop", ticket.results().get(1).getMessage());
+        verify(orderService).confirmOrders(List.of(1L));
+        verify(orderService).confirmOrders(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("Should reject a wave that does not fit in the queue as a whole")
+    void submit_shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.confirmOrders(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return confirmed(invocation.getArgument(0));
+        });
+        pipeline = open(3, 1);
+
+        ConfirmationTicket first = pipeline.submit(List.of(1L), null);
+        verify(orderService, timeout(5000)).confirmOrders(List.of(1L));
+        ConfirmationTicket second = pipeline.submit(List.of(2L, 3L), null);
+
+        assertThrows(ConfirmationQueueFullException.class, () -> pipeline.submit(List.of(4L, 5L), null));
+        release.countDown();
+        first.completion().get(5, TimeUnit.SECONDS);
+        second.completion().get(5, TimeUnit.SECONDS);
+        verify(orderService, never()).confirmOrders(List.of(4L));
+    }
+
+    @Test
+    @DisplayName("Should reject callback URLs that do not point to an allowed host")
+    void submit_shouldRejectCallbacksToHostsNotAllowed() {
+        pipeline = open(10, 10);
+
+        for (String callbackUrl : List.of("http://localhost:8080/actuator/shutdown", "http://127.0.0.1/internal/sql-profiling",
+                "https://callbacks.example.com.attacker.io/hook", "http://user@callbacks.example.com/hook",
+                "ftp://callbacks.example.com/hook", "callbacks.example.com/hook")) {
+            assertThrows(InvalidCallbackUrlException.class, () -> pipeline.submit(List.of(1L), callbackUrl), callbackUrl);
+        }
+        verifyNoInteractions(orderService);
+    }
+
+    private OrderConfirmationPipeline open(int queueCapacity, int batchSize) {
+        return new OrderConfirmationPipeline(orderService, RestClient.create(), queueCapacity, batchSize, Duration.ofMinutes(1),
+                Set.of("callbacks.example.com"));
+    }
+
+    private static List<OrderConfirmationResponse> confirmed(List<Long> ids) {
+        return ids.stream().map(id -> OrderConfirmationResponse.of(id, ConfirmationOutcome.CONFIRMED, "Order confirmed.")).toList();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.ecommerceordermanagementsystem.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2025-06-01T12:00:00Z").getEpochSecond();
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids that encode the creation second")
+    void nextId_shouldBeIncreasingAndTimeOrdered() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, clock::get);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        clock.addAndGet(5);
+        long later = generator.nextId();
+
+        assertTrue(first < second);
+        assertTrue(second < later);
+        assertEquals(Instant.ofEpochSecond(NOW), SnowflakeIdGenerator.timestampOf(first));
+        assertEquals(Instant.ofEpochSecond(NOW + 5), SnowflakeIdGenerator.timestampOf(later));
+        assertTrue(later < (1L << 53), "ids must stay within the exact JSON number range");
+    }
+
+    @Test
+    @DisplayName("Should borrow the next second instead of repeating ids when the sequence is exhausted")
+    void nextId_shouldStayUniqueWhenSequenceOverflows() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, () -> NOW);
+        long previous = generator.nextId();
+        for (int i = 0; i < 70_000; i++) {
+            long next = generator.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+        assertEquals(Instant.ofEpochSecond(NOW + 1), SnowflakeIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    @DisplayName("Should not hand out duplicate ids to concurrent callers")
+    void nextId_shouldBeUniqueAcrossThreads() throws InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(80_000, ids.size());
+    }
+
+    @Test
+    @DisplayName("Should reject node ids that do not fit the node bits")
+    void constructor_shouldRejectOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.ecommerceordermanagementsystem.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.exception.IdempotencyKeyReusedException;
+import org.example.ecommerceordermanagementsystem.exception.InvalidIdempotencyKeyException;
+import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import org.example.ecommerceordermanagementsystem.repository.IdempotencyRecordRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.example.ecommerceordermanagementsystem.support.CountQueries;
+import org.example.ecommerceordermanagementsystem.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@CountQueries
+class OrderIdempotencyStoreTest {
+
+    @Autowired
+    private OrderIdempotencyStore store;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final String customerEmail = "retry-" + System.nanoTime() + "@example.com";
+    private final List<String> keys = new ArrayList<>();
+    private final List<Long> orderIds = new ArrayList<>();
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        CreateProductRequest product = new CreateProductRequest();
+        product.setName("Idempotent product");
+        product.setPrice(BigDecimal.valueOf(25));
+        product.setStock(100);
+        product.setCategory("Idempotency");
+        product.setIsActive(true);
+        productId = productService.createProduct(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAllById(keys);
+        orderRepository.deleteAllById(orderIds);
+        productService.deleteProduct(productId);
+    }
+
+    @Test
+    @DisplayName("Should answer a retry with the first response from memory without issuing SQL")
+    void createOrder_shouldReplayRetryFromMemory() throws Exception {
+        String key = key();
+        OrderResponse first = place(store, key, orderRequest(2));
+
+        OrderResponse[] retry = new OrderResponse[1];
+        SqlStatementCounter.count(() -> retry[0] = store.createOrder(key, orderRequest(2))).assertNone();
+
+        assertEquals(first, retry[0]);
+        assertEquals(1, placedOrders());
+    }
+
+    @Test
+    @DisplayName("Should answer a retry from the table with one SELECT once the key has left memory")
+    void createOrder_shouldReplayRetryFromTable() throws Exception {
+        String key = key();
+        OrderResponse first = place(store, key, orderRequest(1));
+        OrderIdempotencyStore restarted = newStore(Duration.ofHours(24));
+
+        OrderResponse[] retry = new OrderResponse[1];
+        SqlStatementCounter.count(() -> retry[0] = restarted.createOrder(key, orderRequest(1)))
+                .assertSelects(1)
+                .assertInserts(0)
+                .assertUpdates(0)
+                .assertDeletes(0);
+
+        assertEquals(first.getId(), retry[0].getId());
+        assertEquals(first.getTotalAmount(), retry[0].getTotalAmount());
+        assertEquals(first.getOrderItems(), retry[0].getOrderItems());
+        assertEquals(1, placedOrders());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different order request")
+    void createOrder_shouldRejectKeyReusedForDifferentRequest() {
+        String key = key();
+        place(store, key, orderRequest(1));
+
+        assertThrows(IdempotencyKeyReusedException.class, () -> store.createOrder(key, orderRequest(3)));
+        assertThrows(IdempotencyKeyReusedException.class, () -> newStore(Duration.ofHours(24)).createOrder(key, orderRequest(3)));
+        assertEquals(1, placedOrders());
+    }
+
+    @Test
+    @DisplayName("Should reject blank and overlong keys")
+    void createOrder_shouldRejectInvalidKeys() {
+        assertThrows(InvalidIdempotencyKeyException.class, () -> store.createOrder(" ", orderRequest(1)));
+        assertThrows(InvalidIdempotencyKeyException.class, () -> store.createOrder("k".repeat(256), orderRequest(1)));
+    }
+
+    @Test
+    @DisplayName("Should create a single order for concurrent duplicates and give every one of them its response")
+    void createOrder_shouldCreateOneOrderForConcurrentDuplicates() throws Exception {
+        String key = key();
+        int duplicates = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(duplicates);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<CompletableFuture<OrderResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < duplicates; i++) {
+                responses.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return store.createOrder(key, orderRequest(1));
+                }, executor));
+            }
+            start.countDown();
+
+            Set<Long> ids = responses.stream().map(CompletableFuture::join).map(OrderResponse::getId).collect(Collectors.toSet());
+            assertEquals(1, ids.size());
+            orderIds.addAll(ids);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, placedOrders());
+    }
+
+    @Test
+    @DisplayName("Should not remember a failed request, so that a retry runs again")
+    void createOrder_shouldNotRememberFailure() {
+        String key = key();
+        CreateOrderRequest unknownProduct = orderRequest(1);
+        unknownProduct.setOrderItems(List.of(new OrderItemRequest(Long.MAX_VALUE, 1)));
+
+        assertThrows(ProductNotFoundException.class, () -> store.createOrder(key, unknownProduct));
+        assertTrue(idempotencyRecordRepository.findById(key).isEmpty());
+
+        OrderResponse retried = place(store, key, orderRequest(1));
+        assertEquals(1, placedOrders());
+        assertEquals(retried.getId(), idempotencyRecordRepository.findById(key).orElseThrow().getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should run a request again once its key is past retention and purge expired keys")
+    void createOrder_shouldExpireKeysAfterRetention() throws Exception {
+        String key = key();
+        OrderResponse first = place(store, key, orderRequest(1));
+        OrderIdempotencyStore shortLived = newStore(Duration.ofMillis(1));
+        Thread.sleep(5);
+
+        OrderResponse second = place(shortLived, key, orderRequest(1));
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(2, placedOrders());
+
+        Thread.sleep(5);
+        shortLived.purgeExpired();
+        assertTrue(idempotencyRecordRepository.findById(key).isEmpty());
+    }
+
+    private OrderIdempotencyStore newStore(Duration retention) {
+        return new OrderIdempotencyStore(orderService, idempotencyRecordRepository, entityManager, transactionTemplate,
+                objectMapper, retention, 100, Duration.ofSeconds(30));
+    }
+
+    private OrderResponse place(OrderIdempotencyStore target, String key, CreateOrderRequest request) {
+        OrderResponse response = target.createOrder(key, request);
+        orderIds.add(response.getId());
+        return response;
+    }
+
+    private int placedOrders() {
+        return orderService.getOrdersByCustomerEmail(customerEmail, null, null, null, null, 10).getContent().size();
+    }
+
+    private String key() {
+        String key = "test-" + System.nanoTime();
+        keys.add(key);
+        return key;
+    }
+
+    private CreateOrderRequest orderRequest(int quantity) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Retrying Customer");
+        request.setCustomerEmail(customerEmail);
+        request.setOrderItems(List.of(new OrderItemRequest(productId, quantity)));
+        return request;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.ecommerceordermanagementsystem.intake;
+
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.exception.InsufficientStockException;
+import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "oms.intake.group-commit.enabled=true",
+        "oms.intake.group-commit.max-batch-size=4",
+        "oms.intake.group-commit.max-wait-ms=2000"
+})
+class OrderIntakeCombinerTest {
+
+    @Autowired
+    private OrderIntakeCombiner orderIntake;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private Long productId;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        CreateProductRequest product = new CreateProductRequest();
+        product.setName("Intake product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(3);
+        product.setCategory("Intake");
+        product.setIsActive(true);
+        productId = productService.createProduct(product).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        productService.deleteProduct(productId);
+    }
+
+    @Test
+    @DisplayName("Should create a batch in one transaction while failing only the invalid orders")
+    void createOrder_shouldIsolateFailuresWithinBatch() throws Exception {
+        List<Future<OrderResponse>> results = submitTogether(List.of(
+                request("Alice", productId, 1),
+                request("Bob", 999_999_999L, 1),
+                request("Carol", productId, 5),
+                request("Dave", productId, 2)));
+
+        OrderResponse alice = results.get(0).get();
+        OrderResponse dave = results.get(3).get();
+        orderIds.addAll(List.of(alice.getId(), dave.getId()));
+        assertInstanceOf(ProductNotFoundException.class, causeOf(results.get(1)));
+        assertInstanceOf(InsufficientStockException.class, causeOf(results.get(2)));
+        assertTrue(orderRepository.existsById(alice.getId()));
+        assertTrue(orderRepository.existsById(dave.getId()));
+    }
+
+    @Test
+    @DisplayName("Should retry the batch one order at a time when its commit fails")
+    void createOrder_shouldFallBackToSingleOrders_whenCommitFails() throws Exception {
+        List<Future<OrderResponse>> results = submitTogether(List.of(
+                request("Alice", productId, 1),
+                request("B".repeat(300), productId, 1),
+                request("Carol", productId, 1),
+                request("Dave", 999_999_999L, 1)));
+
+        OrderResponse alice = results.get(0).get();
+        OrderResponse carol = results.get(2).get();
+        orderIds.addAll(List.of(alice.getId(), carol.getId()));
+        assertInstanceOf(DataIntegrityViolationException.class, causeOf(results.get(1)));
+        assertInstanceOf(ProductNotFoundException.class, causeOf(results.get(3)));
+        assertTrue(orderRepository.existsById(alice.getId()));
+        assertTrue(orderRepository.existsById(carol.getId()));
+    }
+
+    @Test
+    @DisplayName("Should answer every caller that races with close")
+    void createOrder_shouldNotStrandCallers_whenClosedConcurrently() throws Exception {
+        OrderService orderService = mock(OrderService.class);
+        OrderResponse created = OrderResponse.builder().id(1L).build();
+        when(orderService.createOrder(any())).thenReturn(created);
+        when(orderService.createOrders(anyList(), any())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(0).size(), created));
+        OrderIntakeCombiner combiner = new OrderIntakeCombiner(orderService, true, 4, 1, 1000);
+        CreateOrderRequest request = request("Racer", productId, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> callers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            callers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    assertEquals(created, combiner.createOrder(request));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        Thread.sleep(20);
+        combiner.close();
+        executor.shutdown();
+
+        for (Future<?> caller : callers) {
+            caller.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private List<Future<OrderResponse>> submitTogether(List<CreateOrderRequest> requests) {
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> results = new ArrayList<>();
+        for (CreateOrderRequest request : requests) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return orderIntake.createOrder(request);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private static Throwable causeOf(Future<OrderResponse> result) {
+        return assertThrows(ExecutionException.class, result::get).getCause();
+    }
+
+    private static CreateOrderRequest request(String customerName, Long productId, int quantity) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName(customerName);
+        request.setCustomerEmail("intake@example.com");
+        request.setOrderItems(List.of(new OrderItemRequest(productId, quantity)));
+        return request;
+    }
+}
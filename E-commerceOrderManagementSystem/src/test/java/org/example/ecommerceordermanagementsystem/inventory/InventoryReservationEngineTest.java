@@ -0,0 +1,250 @@
+package org.example.ecommerceordermanagementsystem.inventory;
+
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.repository.StockLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InventoryReservationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(productRepository.findAllStockLevels()).thenReturn(List.of(new StockLevel(1L, 10L), new StockLevel(2L, 5L)));
+        when(orderItemRepository.findPendingReservations()).thenReturn(List.of(new StockLevel(1L, 3L)));
+        engine = new InventoryReservationEngine(productRepository, orderItemRepository, transactionTemplate);
+        engine.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should rebuild on-hand and available stock from products and PENDING order lines")
+    void rebuild_shouldSubtractPendingReservations() {
+        assertEquals(10, engine.stockOf(1L).orElseThrow());
+        assertEquals(7, engine.availableOf(1L).orElseThrow());
+        assertEquals(5, engine.availableOf(2L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should keep reservations made against a new product between its commit and the tracking callback")
+    void track_shouldKeepLedgerLoadedBeforeCallback() {
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> callbacks;
+        try {
+            engine.track(3L, 10, 1);
+            callbacks = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(productRepository.findStockLevelsByIdIn(List.of(3L))).thenReturn(List.of(new StockLevel(3L, 10L, 1)));
+        when(orderItemRepository.findPendingReservationsByProductIdIn(List.of(3L))).thenReturn(List.of());
+
+        assertTrue(engine.reserve(Map.of(3L, 4)).isEmpty());
+        callbacks.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(6, engine.availableOf(3L).orElseThrow());
+        assertEquals(10, engine.stockOf(3L).orElseThrow());
+        assertEquals(List.of(3L), engine.reserve(Map.of(3L, 7)));
+    }
+
+    @Test
+    @DisplayName("Should reserve all lines or none of them")
+    void reserve_shouldBeAllOrNothing() {
+        List<Long> rejected = engine.reserve(Map.of(1L, 4, 2L, 6));
+
+        assertEquals(List.of(2L), rejected);
+        assertEquals(7, engine.availableOf(1L).orElseThrow());
+        assertEquals(5, engine.availableOf(2L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should tell listeners when a product sells out and when it comes back into stock")
+    void stockStatusListeners_shouldSeeSellOutAndRestock() {
+        List<String> events = new ArrayList<>();
+        engine.addStockStatusListener((productId, inStock) -> events.add(productId + ":" + inStock));
+
+        assertTrue(engine.reserve(Map.of(2L, 4)).isEmpty());
+        assertTrue(engine.reserve(Map.of(2L, 1)).isEmpty());
+        engine.commit(Map.of(2L, 5));
+        engine.restock(Map.of(2L, 2));
+
+        assertEquals(List.of("2:false", "2:true"), events);
+    }
+
+    @Test
+    @DisplayName("Should write committed and restocked units behind in one flush")
+    void flush_shouldWriteNetDeltas() {
+        assertTrue(engine.reserve(Map.of(1L, 4, 2L, 2)).isEmpty());
+        engine.commit(Map.of(1L, 4, 2L, 2));
+        engine.restock(Map.of(2L, 3));
+        when(productRepository.decrementStock(Map.of(1L, 4))).thenReturn(Collections.emptyList());
+
+        engine.flush();
+        engine.flush();
+
+        verify(productRepository, times(1)).incrementStock(Map.of(2L, 1));
+        verify(productRepository, times(1)).decrementStock(Map.of(1L, 4));
+        assertEquals(6, engine.stockOf(1L).orElseThrow());
+        assertEquals(6, engine.stockOf(2L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should keep deltas for the next cycle when a flush fails")
+    void flush_shouldRequeueDeltas_whenDatabaseFails() {
+        assertTrue(engine.reserve(Map.of(2L, 2)).isEmpty());
+        engine.commit(Map.of(2L, 2));
+        when(productRepository.decrementStock(Map.of(2L, 2)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(Collections.emptyList());
+
+        engine.flush();
+        engine.flush();
+
+        verify(productRepository, times(2)).decrementStock(Map.of(2L, 2));
+    }
+
+    @Test
+    @DisplayName("Should hand reserved units back on release and take on-hand stock from an override")
+    void releaseAndOverride_shouldAdjustAvailableStock() {
+        assertTrue(engine.reserve(Map.of(1L, 7)).isEmpty());
+        assertEquals(0, engine.availableOf(1L).orElseThrow());
+
+        engine.release(Map.of(1L, 7));
+        assertEquals(7, engine.availableOf(1L).orElseThrow());
+
+        engine.overrideStock(1L, 20, 1);
+        assertEquals(20, engine.stockOf(1L).orElseThrow());
+        assertEquals(17, engine.availableOf(1L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should reserve across shards when no single shard holds the requested quantity")
+    void reserve_shouldGatherAcrossShards() {
+        engine.overrideStock(2L, 10, 4);
+
+        assertTrue(engine.reserve(Map.of(2L, 9)).isEmpty());
+        assertEquals(1, engine.availableOf(2L).orElseThrow());
+        assertEquals(List.of(2L), engine.reserve(Map.of(2L, 2)));
+        assertEquals(1, engine.availableOf(2L).orElseThrow());
+        assertEquals(10, engine.stockOf(2L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Concurrent reservations that each need several shards should not reject each other when stock covers both")
+    void reserve_shouldNotRejectConcurrentGathers_whenStockCoversThem() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 500; round++) {
+                engine.overrideStock(2L, 8, 4);
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Callable<List<Long>> gather = () -> {
+                    barrier.await();
+                    return engine.reserve(Map.of(2L, 4));
+                };
+                Future<List<Long>> first = executor.submit(gather);
+                Future<List<Long>> second = executor.submit(gather);
+
+                assertEquals(List.of(), first.get(5, TimeUnit.SECONDS), "round " + round);
+                assertEquals(List.of(), second.get(5, TimeUnit.SECONDS), "round " + round);
+                assertEquals(0, engine.availableOf(2L).orElseThrow());
+                engine.release(Map.of(2L, 8));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep available and reserved units when a product is resharded")
+    void overrideStock_shouldPreserveReservations_whenResharding() {
+        assertTrue(engine.reserve(Map.of(1L, 2)).isEmpty());
+
+        engine.overrideStock(1L, 10, 8);
+        assertEquals(5, engine.availableOf(1L).orElseThrow());
+        engine.release(Map.of(1L, 2));
+
+        assertEquals(7, engine.availableOf(1L).orElseThrow());
+        assertEquals(10, engine.stockOf(1L).orElseThrow());
+    }
+
+    @ParameterizedTest(name = "{0} shard(s)")
+    @ValueSource(ints = {1, 8})
+    @DisplayName("Concurrent reservations, commits and releases should never drive stock below zero")
+    void reserve_shouldNeverGoBelowZeroUnderContention(int shards) throws InterruptedException {
+        engine.overrideStock(2L, 1_000, shards);
+        AtomicLong committed = new AtomicLong();
+        AtomicBoolean negativeSeen = new AtomicBoolean();
+        int threads = 32;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    int quantity = random.nextInt(1, 4);
+                    if (engine.reserve(Map.of(2L, quantity)).isEmpty()) {
+                        if (random.nextBoolean()) {
+                            engine.commit(Map.of(2L, quantity));
+                            committed.addAndGet(quantity);
+                        } else {
+                            engine.release(Map.of(2L, quantity));
+                        }
+                    }
+                    if (engine.availableOf(2L).orElseThrow() < 0) {
+                        negativeSeen.set(true);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertFalse(negativeSeen.get());
+        assertTrue(committed.get() <= 1_000);
+        assertEquals(1_000 - committed.get(), engine.stockOf(2L).orElseThrow());
+        assertEquals(engine.stockOf(2L).orElseThrow(), engine.availableOf(2L).orElseThrow());
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.ecommerceordermanagementsystem.journal;
+
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventJournalTest {
+
+    private static final List<OrderEventLine> LINES = List.of(
+            new OrderEventLine(1L, 2, new BigDecimal("2400.00")),
+            new OrderEventLine(2L, 1, new BigDecimal("25.50")));
+
+    @TempDir
+    private Path directory;
+
+    private final List<OrderEventJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(OrderEventJournal::close);
+    }
+
+    @Test
+    @DisplayName("Should read back appended events in sequence order")
+    void append_shouldBeReadableInOrder() {
+        OrderEventJournal journal = open(DataSize.ofKilobytes(64));
+
+        assertEquals(1, journal.append(10L, null, OrderStatus.PENDING, LINES));
+        assertEquals(2, journal.append(10L, OrderStatus.PENDING, OrderStatus.CONFIRMED, LINES));
+
+        List<OrderEvent> events = replay(journal, 1);
+        assertEquals(2, events.size());
+        OrderEvent placed = events.get(0);
+        assertEquals(1, placed.sequence());
+        assertEquals(10L, placed.orderId());
+        assertNull(placed.fromStatus());
+        assertEquals(OrderStatus.PENDING, placed.toStatus());
+        assertEquals(LINES, placed.lines());
+        assertEquals(OrderStatus.CONFIRMED, events.get(1).toStatus());
+        assertEquals(List.of(2L), replay(journal, 2).stream().map(OrderEvent::sequence).toList());
+    }
+
+    @Test
+    @DisplayName("Should roll over to new segments and read across them")
+    void append_shouldRollSegments() {
+        // Room for three two-line records per segment.
+        OrderEventJournal journal = open(DataSize.ofBytes(3 * OrderEventCodec.recordSize(2) + 4));
+        for (long orderId = 1; orderId <= 10; orderId++) {
+            journal.append(orderId, null, OrderStatus.PENDING, LINES);
+        }
+
+        assertEquals(4, JournalSegment.list(directory).size());
+        assertEquals(10, replay(journal, 1).size());
+        assertEquals(List.of(7L, 8L, 9L, 10L), replay(journal, 7).stream().map(OrderEvent::orderId).toList());
+    }
+
+    @Test
+    @DisplayName("Should let a cursor tail events appended after it caught up")
+    void cursor_shouldTailNewEvents() {
+        OrderEventJournal journal = open(DataSize.ofBytes(2 * OrderEventCodec.recordSize(2)));
+        journal.append(1L, null, OrderStatus.PENDING, LINES);
+
+        try (OrderEventCursor cursor = journal.cursor(1)) {
+            assertEquals(1L, cursor.next().orderId());
+            assertNull(cursor.next());
+
+            journal.append(2L, null, OrderStatus.PENDING, LINES);
+            journal.append(3L, null, OrderStatus.PENDING, LINES);
+            assertEquals(2L, cursor.next().orderId());
+            assertEquals(3L, cursor.next().orderId());
+            assertNull(cursor.next());
+            assertEquals(4, cursor.position());
+        }
+    }
+
+    @Test
+    @DisplayName("Should make an event durable once the flusher has synced it")
+    void awaitDurable_shouldReturnOnceSynced() {
+        OrderEventJournal journal = open(DataSize.ofKilobytes(64));
+        long sequence = journal.append(1L, null, OrderStatus.PENDING, LINES);
+
+        journal.awaitDurable(sequence);
+
+        assertTrue(journal.durableSequence() >= sequence);
+    }
+
+    @Test
+    @DisplayName("Should continue after the last intact record on reopen, discarding a torn one")
+    void reopen_shouldResumeAfterLastIntactRecord() throws IOException {
+        OrderEventJournal journal = open(DataSize.ofKilobytes(64));
+        journal.append(1L, null, OrderStatus.PENDING, LINES);
+        journal.append(2L, null, OrderStatus.PENDING, LINES);
+        journal.close();
+        opened.remove(journal);
+        try (RandomAccessFile file = new RandomAccessFile(JournalSegment.list(directory).get(0).toFile(), "rw")) {
+            // Flips a byte in the payload of the second record.
+            file.seek(OrderEventCodec.recordSize(2) + OrderEventCodec.HEADER_SIZE + 3);
+            file.write(0x7f);
+        }
+
+        OrderEventJournal reopened = open(DataSize.ofKilobytes(64));
+        assertEquals(1, reopened.lastSequence());
+        assertEquals(2, reopened.append(3L, null, OrderStatus.PENDING, List.of(LINES.get(0))));
+        assertEquals(List.of(1L, 3L), replay(reopened, 1).stream().map(OrderEvent::orderId).toList());
+    }
+
+    @Test
+    @DisplayName("Should journal an order transition with its lines")
+    void record_shouldAppendTransition() {
+        OrderEventJournal journal = open(DataSize.ofKilobytes(64));
+        Product product = new Product(5L, "Laptop", new BigDecimal("1200.00"), 10, 1, "Electronics", true, LocalDateTime.now(), 0L);
+        Order order = new Order();
+        order.setId(42L);
+        order.setStatus(OrderStatus.SHIPPED);
+        order.addOrderItem(new OrderItem(1L, null, product, 2, product.getPrice(), new BigDecimal("2400.00")));
+
+        assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+        journal.record(order, OrderStatus.CONFIRMED);
+        journal.record(order, OrderStatus.SHIPPED);
+
+        List<OrderEvent> events = replay(journal, 1);
+        assertEquals(1, events.size());
+        assertEquals(OrderStatus.CONFIRMED, events.get(0).fromStatus());
+        assertEquals(OrderStatus.SHIPPED, events.get(0).toStatus());
+        assertEquals(List.of(new OrderEventLine(5L, 2, new BigDecimal("2400.00"))), events.get(0).lines());
+        assertEquals(1, journal.durableSequence());
+    }
+
+    @Test
+    @DisplayName("Should refuse a directory that another journal holds")
+    void open_shouldRejectDirectoryInUse() {
+        open(DataSize.ofKilobytes(64));
+
+        assertThrows(IllegalStateException.class, () -> open(DataSize.ofKilobytes(64)));
+    }
+
+    private OrderEventJournal open(DataSize segmentSize) {
+        OrderEventJournal journal = new OrderEventJournal(directory, segmentSize, true);
+        opened.add(journal);
+        return journal;
+    }
+
+    private static List<OrderEvent> replay(OrderEventJournal journal, long fromSequence) {
+        List<OrderEvent> events = new ArrayList<>();
+        journal.replay(fromSequence, events::add);
+        return events;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.ecommerceordermanagementsystem.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLoggingFilterTest {
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter();
+
+    @Test
+    @DisplayName("Should put a generated request ID in the MDC and the response, and clear it afterwards")
+    void doFilter_shouldGenerateRequestId() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response,
+                (request, res) -> seen.set(MDC.get(RequestLogContext.REQUEST_ID)));
+
+        assertNotNull(seen.get());
+        assertEquals(seen.get(), response.getHeader(RequestLoggingFilter.HEADER));
+        assertNull(MDC.get(RequestLogContext.REQUEST_ID));
+    }
+
+    @Test
+    @DisplayName("Should keep a well-formed incoming request ID and replace a malformed one")
+    void doFilter_shouldReuseWellFormedRequestId() throws Exception {
+        assertEquals("trace-42.a_b", filterWithHeader("trace-42.a_b"));
+        assertNotEquals("bad id\r\nX-Injected: 1", filterWithHeader("bad id\r\nX-Injected: 1"));
+        assertNotEquals("x".repeat(65), filterWithHeader("x".repeat(65)));
+    }
+
+    @Test
+    @DisplayName("Should sample INFO per request and always keep WARN and events outside requests")
+    void turboFilter_shouldSampleWholeRequests() throws Exception {
+        RequestSamplingTurboFilter none = samplingFilter(0.0);
+        RequestSamplingTurboFilter all = samplingFilter(1.0);
+        Logger logger = new LoggerContext().getLogger("sampling-test");
+
+        assertEquals(FilterReply.NEUTRAL, none.decide(null, logger, Level.INFO, "outside a request", null, null));
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+            assertEquals(FilterReply.DENY, none.decide(null, logger, Level.INFO, "dropped", null, null));
+            assertEquals(FilterReply.DENY, none.decide(null, logger, Level.DEBUG, "dropped", null, null));
+            assertEquals(FilterReply.NEUTRAL, none.decide(null, logger, Level.WARN, "kept", null, null));
+            assertEquals(FilterReply.NEUTRAL, none.decide(null, logger, Level.ERROR, "kept", null, null));
+            assertEquals(FilterReply.NEUTRAL, all.decide(null, logger, Level.INFO, "kept", null, null));
+        });
+        assertEquals(FilterReply.NEUTRAL, none.decide(null, logger, Level.INFO, "outside a request", null, null));
+    }
+
+    @Test
+    @DisplayName("Should keep about the configured share of requests")
+    void turboFilter_shouldKeepConfiguredShareOfRequests() throws Exception {
+        RequestSamplingTurboFilter sampling = samplingFilter(0.1);
+        Logger logger = new LoggerContext().getLogger("sampling-test");
+        int[] kept = new int[1];
+
+        for (int i = 0; i < 10_000; i++) {
+            filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+                if (sampling.decide(null, logger, Level.INFO, "first", null, null) == FilterReply.NEUTRAL) {
+                    kept[0]++;
+                    assertEquals(FilterReply.NEUTRAL, sampling.decide(null, logger, Level.INFO, "second", null, null));
+                }
+            });
+        }
+
+        assertTrue(kept[0] > 800 && kept[0] < 1200, "kept " + kept[0] + " of 10000 requests");
+    }
+
+    private String filterWithHeader(String requestId) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestLoggingFilter.HEADER, requestId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+        });
+        return response.getHeader(RequestLoggingFilter.HEADER);
+    }
+
+    private static RequestSamplingTurboFilter samplingFilter(double sampleRate) {
+        RequestSamplingTurboFilter sampling = new RequestSamplingTurboFilter();
+        sampling.setSampleRate(sampleRate);
+        sampling.start();
+        return sampling;
+    }
+}
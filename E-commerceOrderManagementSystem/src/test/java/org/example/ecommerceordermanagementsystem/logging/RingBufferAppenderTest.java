@@ -0,0 +1,142 @@
+package org.example.ecommerceordermanagementsystem.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("ring-buffer-test");
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(MDC.getMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should hand every WARN event to the attached appender in order, with the MDC captured at logging time")
+    void append_shouldDeliverEventsInOrder() {
+        ListAppender<ILoggingEvent> target = new ListAppender<>();
+        RingBufferAppender appender = ringBuffer(16, target);
+
+        MDC.put(RequestLogContext.REQUEST_ID, "abc");
+        for (int i = 0; i < 1000; i++) {
+            logger.warn("event {}", i);
+        }
+        MDC.clear();
+        appender.stop();
+
+        assertEquals(IntStream.range(0, 1000).mapToObj(i -> "event " + i).toList(),
+                target.list.stream().map(ILoggingEvent::getFormattedMessage).toList());
+        assertTrue(target.list.stream().allMatch(event -> "abc".equals(event.getMDCPropertyMap().get(RequestLogContext.REQUEST_ID))));
+        assertEquals(0, appender.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("Should keep the events of concurrent loggers without losing any")
+    void append_shouldDeliverEventsOfConcurrentLoggers() throws InterruptedException {
+        ListAppender<ILoggingEvent> target = new ListAppender<>();
+        RingBufferAppender appender = ringBuffer(64, target);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    logger.warn("event {}", i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        appender.stop();
+
+        assertEquals(4000, target.list.size());
+    }
+
+    @Test
+    @DisplayName("Should drop INFO but wait with WARN when the buffer is full")
+    void append_shouldDropInfoAndKeepWarn_whenBufferIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingAppender target = new BlockingAppender(writing, release);
+        RingBufferAppender appender = ringBuffer(4, target);
+
+        logger.info("first");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 14; i++) {
+            logger.info("buffered or dropped {}", i);
+        }
+        Thread warner = new Thread(() -> logger.warn("kept"));
+        warner.start();
+        warner.join(200);
+        assertTrue(warner.isAlive(), "WARN should wait for a free slot");
+
+        release.countDown();
+        warner.join(5_000);
+        appender.stop();
+
+        assertEquals(10, appender.getDroppedCount());
+        assertEquals(List.of("first", "buffered or dropped 0", "buffered or dropped 1", "buffered or dropped 2",
+                "buffered or dropped 3", "kept"), target.messages);
+    }
+
+    private RingBufferAppender ringBuffer(int bufferSize, AppenderBase<ILoggingEvent> target) {
+        target.setContext(context);
+        target.start();
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("ring");
+        appender.setBufferSize(bufferSize);
+        appender.addAppender(target);
+        appender.start();
+        assertTrue(appender.isStarted());
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        return appender;
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch writing;
+        private final CountDownLatch release;
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+
+        BlockingAppender(CountDownLatch writing, CountDownLatch release) {
+            this.writing = writing;
+            this.release = release;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.ecommerceordermanagementsystem.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.util.List;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    @DisplayName("Should expose service timers, order counters, Hibernate request statistics and pool gauges")
+    void prometheus_shouldExposeOrderAndInventoryMetrics() throws Exception {
+        CreateProductRequest product = new CreateProductRequest();
+        product.setName("Metrics product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(5);
+        product.setCategory("Metrics");
+        product.setIsActive(true);
+        Long productId = productService.createProduct(product).getId();
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Metrics Customer");
+        request.setCustomerEmail("metrics@example.com");
+        request.setOrderItems(List.of(new OrderItemRequest(productId, 2)));
+        Long orderId = orderService.createOrder(request).getId();
+
+        mockMvc.perform(get("/api/orders/{id}", orderId)).andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/{id}", orderId)).andExpect(status().isNoContent());
+
+        assertTrue(registry.get("oms.http.hibernate.statements").tag("method", "GET").tag("uri", "/api/orders/{id}")
+                .summary().totalAmount() > 0);
+        assertEquals(2, registry.get("oms.inventory.returned.units").tag("kind", "released").counter().count());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("oms_service_seconds_bucket{application=\"ecommerce-oms\",exception=\"none\",method=\"createOrder\",service=\"OrderService\"")))
+                .andExpect(content().string(containsString("oms_service_seconds_count{application=\"ecommerce-oms\",exception=\"none\",method=\"cancelOrder\",service=\"OrderService\"")))
+                .andExpect(content().string(containsString("oms_orders_status_transitions_total{application=\"ecommerce-oms\",from=\"PENDING\",to=\"CANCELLED\"} 1.0")))
+                .andExpect(content().string(containsString("oms_inventory_rejections_total{application=\"ecommerce-oms\",reason=\"insufficient_stock\"}")))
+                .andExpect(content().string(containsString("oms_http_hibernate_entity_loads_count{application=\"ecommerce-oms\",method=\"DELETE\",uri=\"/api/orders/{id}\"} 1")))
+                .andExpect(content().string(containsString("oms_orders_pending{application=\"ecommerce-oms\"}")))
+                .andExpect(content().string(containsString("hikaricp_connections_active{")));
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.ecommerceordermanagementsystem.pagination;
+
+import org.example.ecommerceordermanagementsystem.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    private static final Sort.Order ORDER_DATE_DESC = Sort.Order.desc("orderDate");
+
+    @Test
+    @DisplayName("Should round-trip the sort keys of the last row")
+    void encodeDecode_shouldRoundTripKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("orderDate", LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123_456_000));
+        keys.put("id", 987_654_321L);
+
+        String cursor = KeysetCursor.encode(ORDER_DATE_DESC, ScrollPosition.forward(keys));
+        KeysetScrollPosition position = KeysetCursor.decode(cursor, ORDER_DATE_DESC);
+
+        assertEquals(keys, position.getKeys());
+        assertFalse(position.isInitial());
+    }
+
+    @Test
+    @DisplayName("Should start at the first row when no cursor is given")
+    void decode_shouldReturnInitialPosition_whenCursorIsMissing() {
+        assertTrue(KeysetCursor.decode(null, ORDER_DATE_DESC).isInitial());
+        assertTrue(KeysetCursor.decode("", ORDER_DATE_DESC).isInitial());
+    }
+
+    @Test
+    @DisplayName("Should reject a cursor issued for a different sort")
+    void decode_shouldReject_whenSortDiffers() {
+        String cursor = KeysetCursor.encode(ORDER_DATE_DESC, ScrollPosition.forward(Map.of("id", 1L)));
+
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(cursor, Sort.Order.asc("orderDate")));
+    }
+
+    @Test
+    @DisplayName("Should reject tampered or garbage cursors")
+    void decode_shouldReject_whenCursorIsMalformed() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not base64!", ORDER_DATE_DESC));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("b3JkZXJEYXRlOkRFU0M", ORDER_DATE_DESC));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("b3JkZXJEYXRlOkRFU0N8aWQ9bmFiYw", ORDER_DATE_DESC));
+    }
+
+    @Test
+    @DisplayName("Should reject cursors whose keys or key types do not match the sort")
+    void decode_shouldReject_whenKeysDoNotMatchSort() {
+        for (String token : new String[]{
+                "orderDate:DESC|foo=n1",
+                "orderDate:DESC|id=n1",
+                "orderDate:DESC|orderDate=n1|id=n1",
+                "orderDate:DESC|orderDate=t2026-03-01T12:00|id=t2026-03-01T12:00",
+                "orderDate:DESC|orderDate=t2026-03-01T12:00|id=n1|foo=n2",
+                "orderDate:DESC|orderDate=t2026-03-01T12:00|id=n1|id=n2"}) {
+            assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(tokenOf(token), ORDER_DATE_DESC), token);
+        }
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(tokenOf("id:ASC|id=t2026-03-01T12:00"), Sort.Order.asc("id")));
+        assertEquals(Map.of("id", 7L), KeysetCursor.decode(tokenOf("id:ASC|id=n7"), Sort.Order.asc("id")).getKeys());
+    }
+
+    @Test
+    @DisplayName("Should break sort key ties by id in the same direction")
+    void sortOf_shouldAppendIdTiebreak() {
+        assertEquals(Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id")), KeysetCursor.sortOf(ORDER_DATE_DESC));
+        assertEquals(Sort.by(Sort.Order.asc("id")), KeysetCursor.sortOf(Sort.Order.asc("id")));
+    }
+
+    @Test
+    @DisplayName("Should only allow sorting by indexed properties")
+    void requireSortProperty_shouldRejectUnindexedProperties() {
+        assertDoesNotThrow(() -> KeysetCursor.requireSortProperty(ORDER_DATE_DESC, Set.of("orderDate", "id")));
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursor.requireSortProperty(Sort.Order.asc("totalAmount"), Set.of("orderDate", "id")));
+    }
+
+    private static String tokenOf(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.service.OrderService;
+import org.example.ecommerceordermanagementsystem.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.util.List;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "oms.profiling.sql.sample-rate=1.0",
+        "oms.profiling.sql.slow-threshold-ms=0",
+        "oms.profiling.sql.slow-query-capacity=50"
+})
+@AutoConfigureMockMvc
+class SqlProfilingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @AfterEach
+    void tearDown() {
+        sqlProfiler.update(1.0, 0);
+        sqlProfiler.clear();
+    }
+
+    @Test
+    @DisplayName("Should report the SQL of a sampled request in a Server-Timing header")
+    void sampledRequest_shouldCarryServerTimingHeader() throws Exception {
+        Long orderId = placeOrder("timing@example.com");
+
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", matchesPattern(
+                        "db;dur=\\d+\\.\\d{2};desc=\"\\d+ statements?\", sql-1;dur=\\d+\\.\\d{2};desc=\"select .*")));
+    }
+
+    @Test
+    @DisplayName("Should capture slow queries with the endpoint template and masked values")
+    void slowQueries_shouldBeCapturedWithoutCustomerData() throws Exception {
+        Long orderId = placeOrder("slow@example.com");
+        mockMvc.perform(get("/api/orders/{id}", orderId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/customer/{email}", "slow@example.com")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/internal/slow-queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate").value(1.0))
+                .andExpect(jsonPath("$.slowThresholdMs").value(0))
+                .andExpect(jsonPath("$.slowQueries[*].endpoint", hasItems("GET /api/orders/{id}", "GET /api/orders/customer/{email}")))
+                .andExpect(jsonPath("$.slowQueries[*].sql", everyItem(not(containsString("slow@example.com")))))
+                .andExpect(jsonPath("$.slowQueries[*].bindTypes", hasItem(hasItem("String"))))
+                .andExpect(content().string(not(containsString("slow@example.com"))));
+    }
+
+    @Test
+    @DisplayName("Should skip requests that are not sampled and apply new settings at runtime")
+    void settings_shouldBeChangeableAtRuntime() throws Exception {
+        mockMvc.perform(put("/internal/slow-queries/settings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sampleRate\": 0.0, \"slowThresholdMs\": 250}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sampleRate").value(0.0))
+                .andExpect(jsonPath("$.slowThresholdMs").value(250));
+        mockMvc.perform(delete("/internal/slow-queries")).andExpect(status().isNoContent());
+
+        Long orderId = placeOrder("unsampled@example.com");
+        mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+        mockMvc.perform(get("/internal/slow-queries"))
+                .andExpect(jsonPath("$.slowQueries", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("Should reject a sample rate above 1")
+    void settings_shouldRejectInvalidSampleRate() throws Exception {
+        mockMvc.perform(put("/internal/slow-queries/settings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"sampleRate\": 1.5, \"slowThresholdMs\": 100}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private Long placeOrder(String email) {
+        CreateProductRequest product = new CreateProductRequest();
+        product.setName("Profiled product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(5);
+        product.setCategory("Profiling");
+        product.setIsActive(true);
+        Long productId = productService.createProduct(product).getId();
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Profiled Customer");
+        request.setCustomerEmail(email);
+        request.setOrderItems(List.of(new OrderItemRequest(productId, 1)));
+        return orderService.createOrder(request).getId();
+    }
+}
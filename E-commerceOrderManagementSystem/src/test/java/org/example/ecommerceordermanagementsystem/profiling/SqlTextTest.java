@@ -0,0 +1,31 @@
+package org.example.ecommerceordermanagementsystem.profiling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTextTest {
+
+    @Test
+    @DisplayName("Should mask string and numeric literals and collapse whitespace")
+    void mask_shouldReplaceLiterals() {
+        String sql = "select o1_0.id from orders o1_0\n  where o1_0.customer_email = 'jane@example.com' and o1_0.total_amount > 12.50 and o1_0.id = ?";
+
+        assertEquals("select o1_0.id from orders o1_0 where o1_0.customer_email = ? and o1_0.total_amount > ? and o1_0.id = ?",
+                SqlText.mask(sql));
+    }
+
+    @Test
+    @DisplayName("Should mask string literals with escaped quotes")
+    void mask_shouldHandleEscapedQuotes() {
+        assertEquals("update products set name = ? where id = ?", SqlText.mask("update products set name = 'O''Brien' where id = 7"));
+    }
+
+    @Test
+    @DisplayName("Should summarize a statement by kind and first table")
+    void summarize_shouldNameKindAndTable() {
+        assertEquals("select orders", SqlText.summarize("select o1_0.id from orders o1_0 join order_items oi1_0 on ..."));
+        assertEquals("insert order_items", SqlText.summarize("insert into order_items (id, quantity) values (?, ?)"));
+        assertEquals("update products", SqlText.summarize("  update products set stock = stock + ? where id = ?"));
+    }
+}
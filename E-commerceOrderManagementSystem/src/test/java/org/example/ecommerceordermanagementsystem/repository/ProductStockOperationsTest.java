@@ -0,0 +1,88 @@
+package org.example.ecommerceordermanagementsystem.repository;
+
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProductStockOperationsTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllById(productIds);
+    }
+
+    @Test
+    @DisplayName("Concurrent guarded decrements should never oversell")
+    void decrementStock_shouldNeverOversellUnderConcurrency() throws InterruptedException {
+        Long productId = newProduct("Flash sale item", 100);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 160; i++) {
+            executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                if (productRepository.decrementStock(Map.of(productId, 1)).isEmpty()) {
+                    accepted.incrementAndGet();
+                }
+            }));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        assertEquals(100, accepted.get());
+        assertEquals(0, stockOf(productId));
+    }
+
+    @Test
+    @DisplayName("Should report rejected lines and leave their rows untouched")
+    void decrementStock_shouldReportRejectedProducts() {
+        Long plenty = newProduct("Plenty", 10);
+        Long scarce = newProduct("Scarce", 1);
+
+        List<Long> rejected = transactionTemplate.execute(status -> productRepository.decrementStock(Map.of(plenty, 3, scarce, 2)));
+
+        assertEquals(List.of(scarce), rejected);
+        assertEquals(7, stockOf(plenty));
+        assertEquals(1, stockOf(scarce));
+    }
+
+    private Long newProduct(String name, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        product.setCategory("Test");
+        product.setIsActive(true);
+        Long id = productRepository.save(product).getId();
+        productIds.add(id);
+        return id;
+    }
+
+    private int stockOf(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
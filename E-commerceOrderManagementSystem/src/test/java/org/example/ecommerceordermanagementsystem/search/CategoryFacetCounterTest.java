@@ -0,0 +1,106 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryFacetCounterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InventoryReservationEngine inventory;
+    private CategoryFacetCounter facetCounter;
+
+    @BeforeEach
+    void setUp() {
+        inventory = new InventoryReservationEngine(productRepository, orderItemRepository, transactionTemplate);
+        facetCounter = new CategoryFacetCounter(productRepository, inventory);
+        create(product(1L, "Laptop", "Electronics", 5, true));
+        create(product(2L, "Phone", "Electronics", 0, true));
+        create(product(3L, "Chair", "Furniture", 2, true));
+        create(product(4L, "Old Desk", "Furniture", 2, false));
+        create(product(5L, "Mystery Box", null, 1, true));
+    }
+
+    @Test
+    @DisplayName("Should count active and in-stock products per category")
+    void facets_shouldCountActiveAndInStockProducts() {
+        assertEquals(List.of(
+                new CategoryFacet("Electronics", 2, 1),
+                new CategoryFacet("Furniture", 1, 1),
+                new CategoryFacet(null, 1, 1)), facetCounter.facets());
+    }
+
+    @Test
+    @DisplayName("Should move counts when a product is recategorized, deactivated or deleted")
+    void index_shouldAdjustCountsOnProductChanges() {
+        facetCounter.index(product(1L, "Laptop", "Computers", 5, true));
+        facetCounter.index(product(3L, "Chair", "Furniture", 2, false));
+        facetCounter.remove(5L);
+
+        assertEquals(List.of(
+                new CategoryFacet("Computers", 1, 1),
+                new CategoryFacet("Electronics", 1, 0)), facetCounter.facets());
+    }
+
+    @Test
+    @DisplayName("Should follow products selling out and coming back into stock")
+    void facets_shouldFollowStockStatus() {
+        assertTrue(inventory.reserve(Map.of(1L, 5)).isEmpty());
+        assertEquals(new CategoryFacet("Electronics", 2, 0), facetCounter.facets().get(0));
+
+        inventory.release(Map.of(1L, 2));
+        inventory.overrideStock(2L, 10, 1);
+        assertEquals(new CategoryFacet("Electronics", 2, 2), facetCounter.facets().get(0));
+    }
+
+    @Test
+    @DisplayName("Should recount from the products table on reconciliation")
+    void reconcile_shouldReplaceDriftedCounts() {
+        when(productRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(product(1L, "Laptop", "Electronics", 5, true),
+                        product(6L, "Lamp", "Home", 0, true)), ScrollPosition::offset));
+
+        facetCounter.reconcile();
+
+        assertEquals(List.of(
+                new CategoryFacet("Electronics", 1, 1),
+                new CategoryFacet("Home", 1, 0)), facetCounter.facets());
+    }
+
+    private void create(Product product) {
+        inventory.track(product.getId(), product.getStock(), 1);
+        facetCounter.index(product);
+    }
+
+    private static Product product(Long id, String name, String category, int stock, boolean active) {
+        return new Product(id, name, BigDecimal.TEN, stock, 1, category, active, LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    private static final Pageable BY_ID = PageRequest.of(0, 10, Sort.by("id"));
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new ProductSearchIndex(productRepository);
+        searchIndex.index(product(1L, "Gaming Laptop", "Electronics", "1500.00"));
+        searchIndex.index(product(2L, "Laptop Sleeve", "Accessories", "25.00"));
+        searchIndex.index(product(3L, "Wireless Mouse", "Electronics", "40.00"));
+        searchIndex.index(product(4L, "Desk Lamp", null, "30.00"));
+    }
+
+    @Test
+    @DisplayName("Should match substrings anywhere in the name, ignoring case")
+    void search_shouldMatchSubstringIgnoringCase() {
+        assertEquals(List.of(1L, 2L), ids(searchIndex.search("APTO", null, BY_ID)));
+        assertEquals(List.of(3L), ids(searchIndex.search("less mo", null, BY_ID)));
+        assertTrue(searchIndex.search("laptops", null, BY_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should scan all entries for queries shorter than a trigram")
+    void search_shouldHandleQueriesShorterThanATrigram() {
+        assertEquals(List.of(1L, 3L, 4L), ids(searchIndex.search("m", null, BY_ID)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(searchIndex.search("", null, BY_ID)));
+    }
+
+    @Test
+    @DisplayName("Should require both name and category to match, and never match a missing category")
+    void search_shouldIntersectNameAndCategory() {
+        assertEquals(List.of(1L), ids(searchIndex.search("lap", "tron", BY_ID)));
+        assertEquals(List.of(1L, 3L), ids(searchIndex.search(null, "electronics", BY_ID)));
+        assertTrue(searchIndex.search("lamp", "e", BY_ID).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should sort and page matches in memory")
+    void search_shouldSortAndPage() {
+        Pageable cheapestFirst = PageRequest.of(0, 2, Sort.by("price"));
+        Page<ProductSnapshot> first = searchIndex.search("", null, cheapestFirst);
+        Page<ProductSnapshot> second = searchIndex.search("", null, cheapestFirst.next());
+
+        assertEquals(4, first.getTotalElements());
+        assertEquals(List.of(2L, 4L), ids(first));
+        assertEquals(List.of(3L, 1L), ids(second));
+        assertEquals(List.of(3L, 2L, 1L, 4L),
+                ids(searchIndex.search("", null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name")))));
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletes")
+    void index_shouldReplaceAndRemoveEntries() {
+        searchIndex.index(product(1L, "Gaming Desktop", "Electronics", "1500.00"));
+        searchIndex.remove(2L);
+
+        assertTrue(searchIndex.search("laptop", null, BY_ID).isEmpty());
+        assertEquals(List.of(1L), ids(searchIndex.search("desktop", null, BY_ID)));
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Should stay correct across compaction")
+    void index_shouldCompactTombstones() {
+        for (int round = 0; round < 3; round++) {
+            for (long id = 10; id < 1_010; id++) {
+                searchIndex.index(product(id, "Item " + id + " round " + round, "Bulk", "1.00"));
+            }
+        }
+
+        assertEquals(1_004, searchIndex.size());
+        assertEquals(1_000, searchIndex.search("round 2", null, BY_ID).getTotalElements());
+        assertEquals(0, searchIndex.search("round 1", null, BY_ID).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should only support sorting by indexed properties")
+    void supports_shouldRejectUnindexedSortProperties() {
+        assertTrue(searchIndex.supports(Sort.unsorted()));
+        assertTrue(searchIndex.supports(Sort.by("createdAt", "id")));
+        assertFalse(searchIndex.supports(Sort.by("stock")));
+        assertThrows(IllegalArgumentException.class,
+                () -> searchIndex.search("lap", null, PageRequest.of(0, 10, Sort.by("stock"))));
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the products table in keyset batches")
+    void rebuild_shouldReplaceEntriesWithTableContents() {
+        when(productRepository.findAllBy(any(ScrollPosition.class), eq(Sort.by("id")), eq(Limit.of(ProductSearchIndex.REBUILD_BATCH_SIZE))))
+                .thenReturn(Window.from(List.of(product(7L, "Standing Desk", "Furniture", "300.00")), ScrollPosition::offset));
+
+        searchIndex.rebuild();
+
+        assertEquals(1, searchIndex.size());
+        assertEquals(List.of(7L), ids(searchIndex.search("desk", "furn", BY_ID)));
+    }
+
+    private static List<Long> ids(Page<ProductSnapshot> page) {
+        return page.map(ProductSnapshot::id).getContent();
+    }
+
+    private static Product product(Long id, String name, String category, String price) {
+        return new Product(id, name, new BigDecimal(price), 10, 1, category, true, LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.ecommerceordermanagementsystem.search;
+
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRevision;
+import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.repository.ProductSales;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductSuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new ProductSuggestIndex(productRepository, orderItemRepository, orderRepository, transactionManager,
+                Duration.ofDays(30));
+        suggestIndex.index(product(1L, "Gaming Laptop", true));
+        suggestIndex.index(product(2L, "Laptop Sleeve", true));
+        suggestIndex.index(product(3L, "Desk Lamp", true));
+        suggestIndex.recordSales(order(1L), Map.of(1L, 2, 2L, 5));
+    }
+
+    @Test
+    @DisplayName("Should match any word of the name by prefix, ignoring case, most popular first")
+    void suggest_shouldMatchWordPrefixesByPopularity() {
+        assertEquals(List.of(2L, 1L), ids(suggestIndex.suggest("LAP", 10)));
+        assertEquals(List.of(2L, 1L, 3L), ids(suggestIndex.suggest("la", 10)));
+        assertEquals(List.of(1L), ids(suggestIndex.suggest("gaming  lap", 10)));
+        assertTrue(suggestIndex.suggest("top", 10).isEmpty());
+        assertEquals(5, suggestIndex.suggest("sleeve", 10).get(0).popularity());
+    }
+
+    @Test
+    @DisplayName("Should return the most popular products for a blank prefix and honour the limit")
+    void suggest_shouldReturnTopSellers_forBlankPrefix() {
+        assertEquals(List.of(2L, 1L, 3L), ids(suggestIndex.suggest(" ", 10)));
+        assertEquals(List.of(2L), ids(suggestIndex.suggest("", 1)));
+    }
+
+    @Test
+    @DisplayName("Should re-rank in place when more units are sold")
+    void recordSales_shouldReRank() {
+        suggestIndex.recordSales(order(2L), Map.of(3L, 10));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(suggestIndex.suggest("la", 10)));
+    }
+
+    @Test
+    @DisplayName("Should follow renames, deactivation and deletes")
+    void index_shouldFollowProductChanges() {
+        suggestIndex.index(product(1L, "Gaming Desktop", true));
+        suggestIndex.index(product(3L, "Desk Lamp", false));
+
+        assertEquals(List.of(2L), ids(suggestIndex.suggest("lap", 10)));
+        assertEquals(List.of(1L), ids(suggestIndex.suggest("desk", 10)));
+        assertEquals(2, suggestIndex.suggest("desktop", 10).get(0).popularity());
+
+        suggestIndex.remove(2L);
+        assertTrue(suggestIndex.suggest("lap", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should recompute a full list when one of its products goes away")
+    void remove_shouldRefillFullTopLists() {
+        LongStream.rangeClosed(10, 21).forEach(id -> {
+            suggestIndex.index(product(id, "Item " + id, true));
+            suggestIndex.recordSales(order(id), Map.of(id, (int) id));
+        });
+        assertEquals(LongStream.rangeClosed(12, 21).map(id -> 33 - id).boxed().toList(), ids(suggestIndex.suggest("item", 10)));
+
+        suggestIndex.remove(21L);
+
+        assertEquals(LongStream.rangeClosed(11, 20).map(id -> 31 - id).boxed().toList(), ids(suggestIndex.suggest("item", 10)));
+    }
+
+    @Test
+    @DisplayName("Should match prefixes longer than the trie depth")
+    void suggest_shouldHandlePrefixesLongerThanTheTrie() {
+        suggestIndex.index(product(4L, "Ultra Wide Curved Monitor 34 inch", true));
+        suggestIndex.index(product(5L, "Ultra Wide Curved Monitor 27 inch", true));
+
+        assertEquals(List.of(4L), ids(suggestIndex.suggest("ultra wide curved monitor 34", 10)));
+        assertEquals(List.of(5L, 4L), ids(suggestIndex.suggest("ultra wide curved monitor", 10)));
+    }
+
+    @Test
+    @DisplayName("Should rebuild from active products and recent sales")
+    void rebuild_shouldLoadActiveProductsAndSales() {
+        when(orderItemRepository.sumQuantitiesByProductSince(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(new ProductSales(8L, 9L)));
+        when(productRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(product(7L, "Standing Desk", true), product(8L, "Desk Chair", true),
+                        product(9L, "Desk Fan", false)), ScrollPosition::offset));
+
+        suggestIndex.rebuild();
+
+        assertEquals(List.of(8L, 7L), ids(suggestIndex.suggest("desk", 10)));
+        assertTrue(suggestIndex.suggest("lap", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replay only the sales that the rebuild's snapshot did not hold")
+    void rebuild_shouldReplaySalesUnseenBySnapshot() {
+        when(orderItemRepository.sumQuantitiesByProductSince(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            // Order 5 was confirmed before the snapshot, order 6 after it; both are applied while the rebuild runs.
+            suggestIndex.recordSales(order(5L), Map.of(8L, 4));
+            suggestIndex.recordSales(order(6L), Map.of(7L, 20));
+            return List.of(new ProductSales(8L, 9L));
+        });
+        when(productRepository.findAllBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class)))
+                .thenReturn(Window.from(List.of(product(7L, "Standing Desk", true), product(8L, "Desk Chair", true)),
+                        ScrollPosition::offset));
+        when(orderRepository.findRevisionsByIdIn(anyCollection())).thenReturn(List.of(new OrderRevision(5L, 0L)));
+
+        suggestIndex.rebuild();
+
+        List<ProductSuggestion> desks = suggestIndex.suggest("desk", 10);
+        assertEquals(List.of(7L, 8L), ids(desks));
+        assertEquals(List.of(20L, 9L), desks.stream().map(ProductSuggestion::popularity).toList());
+    }
+
+    private static List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::id).toList();
+    }
+
+    private static Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setVersion(0L);
+        return order;
+    }
+
+    private static Product product(Long id, String name, boolean active) {
+        return new Product(id, name, BigDecimal.TEN, 10, 1, "Electronics", active, LocalDateTime.now(), 0L);
+    }
+}
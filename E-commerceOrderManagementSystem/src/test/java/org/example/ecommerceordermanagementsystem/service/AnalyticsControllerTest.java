@@ -0,0 +1,79 @@
+package org.example.ecommerceordermanagementsystem.service;
+
+import org.example.ecommerceordermanagementsystem.controller.AnalyticsController;
+import org.example.ecommerceordermanagementsystem.dto.SalesAggregateResponse;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.enums.SalesDimension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AnalyticsController.class)
+@Import(SimpleMeterRegistry.class)
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SalesAggregateService salesAggregateService;
+
+    @Test
+    @DisplayName("GET /api/analytics/sales - Should return the sales of the range grouped by the given dimensions")
+    void getSales_shouldReturnGroupedTotals() throws Exception {
+        LocalDate from = LocalDate.of(2026, 3, 1);
+        LocalDate to = LocalDate.of(2026, 3, 31);
+        when(salesAggregateService.getSales(from, to, Set.of(SalesDimension.DAY, SalesDimension.STATUS))).thenReturn(List.of(
+                SalesAggregateResponse.builder()
+                        .day(from)
+                        .status(OrderStatus.CONFIRMED)
+                        .revenue(BigDecimal.valueOf(1050))
+                        .units(3)
+                        .orderCount(2)
+                        .build()));
+
+        mockMvc.perform(get("/api/analytics/sales")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-03-31")
+                        .param("groupBy", "DAY,STATUS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].day").value("2026-03-01"))
+                .andExpect(jsonPath("$[0].status").value("CONFIRMED"))
+                .andExpect(jsonPath("$[0].revenue").value(1050))
+                .andExpect(jsonPath("$[0].units").value(3))
+                .andExpect(jsonPath("$[0].orderCount").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/sales - Should return the grand total of all days without parameters")
+    void getSales_shouldDefaultToGrandTotal() throws Exception {
+        when(salesAggregateService.getSales(null, null, Set.of())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/analytics/sales"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        verify(salesAggregateService, times(1)).getSales(null, null, Set.of());
+    }
+
+    @Test
+    @DisplayName("POST /api/analytics/sales/rebuild - Should rebuild the aggregates")
+    void rebuildSales_shouldRebuildAggregates() throws Exception {
+        mockMvc.perform(post("/api/analytics/sales/rebuild"))
+                .andExpect(status().isNoContent());
+
+        verify(salesAggregateService, times(1)).rebuild();
+    }
+}
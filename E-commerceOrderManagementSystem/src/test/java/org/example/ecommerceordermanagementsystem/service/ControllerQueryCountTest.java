@@ -0,0 +1,404 @@
+package org.example.ecommerceordermanagementsystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ecommerceordermanagementsystem.confirmation.OrderConfirmationPipeline;
+import org.example.ecommerceordermanagementsystem.dto.ConfirmOrdersRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestIndex;
+import org.example.ecommerceordermanagementsystem.support.CountQueries;
+import org.example.ecommerceordermanagementsystem.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Guards every {@code OrderController} and {@code ProductController} endpoint against N+1 regressions: each request
+ * is made at 1, 10 and 100 items (orders on a page, lines on an order, products on a page) and must issue the same,
+ * bounded number of statements at every size. Endpoints that act on a single product have no item dimension and are
+ * checked once.
+ * <p>
+ * Streamed exports run on the MVC async executor and are counted through {@code @CountQueries}' task decorator.
+ * Confirmations are applied by the pipeline's own worker, so the request is checked to stay off the database and the
+ * batch it runs, {@link OrderService#confirmOrders}, is counted directly.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@CountQueries
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ControllerQueryCountTest {
+
+    private static final int PRODUCTS = 100;
+    private static final int LINES_PER_ORDER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderConfirmationPipeline confirmationPipeline;
+
+    private final String category = "QueryCount-" + UUID.randomUUID();
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeAll
+    void createCatalogue() {
+        for (int i = 0; i < PRODUCTS; i++) {
+            productIds.add(productService.createProduct(productRequest("Counted product " + i)).getId());
+        }
+    }
+
+    @AfterEach
+    void deleteOrders() {
+        orderRepository.deleteAllById(orderIds);
+        orderIds.clear();
+    }
+
+    @AfterAll
+    void deleteCatalogue() {
+        productIds.forEach(productService::deleteProduct);
+    }
+
+    @ParameterizedTest(name = "page size {0}")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/orders should issue an id page, a count and one fetch regardless of page size")
+    void getAllOrders(int size) throws Exception {
+        placeOrders(newEmail(), size, LINES_PER_ORDER);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/orders").param("size", String.valueOf(size)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(size))))
+                .assertSelectsAtMost(3)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "slice size {0}")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/orders/scroll should issue at most two SELECTs per slice")
+    void scrollOrders(int size) throws Exception {
+        placeOrders(newEmail(), size, LINES_PER_ORDER);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/orders/scroll").param("size", String.valueOf(size)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(size))))
+                .assertSelectsAtMost(2)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/orders/export should stream orders with one SELECT plus one fetch per chunk")
+    void exportOrders(int orders) throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        placeOrders(newEmail(), orders, LINES_PER_ORDER);
+
+        SqlStatementCounter.count(() -> {
+                    MvcResult result = mockMvc.perform(get("/api/orders/export").param("from", start.toString()))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+                    result.getAsyncResult(TimeUnit.SECONDS.toMillis(30));
+                    assertEquals(orders, result.getResponse().getContentAsString().lines().count());
+                })
+                .assertSelects(2)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "{0} order lines")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/orders/{id} should issue one SELECT for the ETag and one for the order")
+    void getOrderById(int lines) throws Exception {
+        Long orderId = placeOrders(newEmail(), 1, lines).get(0);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/orders/{id}", orderId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.orderItems", hasSize(lines))))
+                .assertSelects(2)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "{0} order lines")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("POST /api/orders should resolve all products with at most one SELECT and batch the line inserts")
+    void createOrder(int lines) throws Exception {
+        CreateOrderRequest request = orderRequest(newEmail(), lines);
+
+        SqlStatementCounter.count(() -> {
+                    MvcResult result = mockMvc.perform(post("/api/orders")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(request)))
+                            .andExpect(status().isCreated())
+                            .andExpect(jsonPath("$.orderItems", hasSize(lines)))
+                            .andReturn();
+                    orderIds.add(objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong());
+                })
+                .assertSelectsAtMost(1)
+                .assertInsertsAtMost(3)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "{0} order lines")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("PUT /api/orders/{id}/status should load the order once and update only its row")
+    void updateOrderStatus(int lines) throws Exception {
+        Long orderId = placeOrders(newEmail(), 1, lines).get(0);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(put("/api/orders/{id}/status", orderId).param("newStatus", "CONFIRMED"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.status").value("CONFIRMED")))
+                .assertSelects(1)
+                .assertInserts(0)
+                .assertUpdates(1);
+    }
+
+    @ParameterizedTest(name = "{0} order lines")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("DELETE /api/orders/{id} should load the order once and update only its row")
+    void cancelOrder(int lines) throws Exception {
+        Long orderId = placeOrders(newEmail(), 1, lines).get(0);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(delete("/api/orders/{id}", orderId))
+                        .andExpect(status().isNoContent()))
+                .assertSelects(1)
+                .assertInserts(0)
+                .assertUpdates(1);
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("POST /api/orders/confirmations and its ticket should not touch the database")
+    void confirmOrders(int orders) throws Exception {
+        ConfirmOrdersRequest request = new ConfirmOrdersRequest();
+        request.setOrderIds(placeOrders(newEmail(), orders, LINES_PER_ORDER));
+        String[] ticketId = new String[1];
+
+        SqlStatementCounter.count(() -> {
+            MvcResult result = mockMvc.perform(post("/api/orders/confirmations")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isAccepted())
+                    .andReturn();
+            ticketId[0] = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+        }).assertNone();
+        confirmationPipeline.ticket(ticketId[0]).orElseThrow().completion().get(30, TimeUnit.SECONDS);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/orders/confirmations/{ticketId}", ticketId[0]))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.results", hasSize(orders))))
+                .assertNone();
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("The confirmation batch behind POST /api/orders/confirmations should load its orders in one SELECT")
+    void confirmationBatch(int orders) throws Exception {
+        List<Long> ids = placeOrders(newEmail(), orders, LINES_PER_ORDER);
+
+        SqlStatementCounter.count(() -> assertTrue(orderService.confirmOrders(ids).stream()
+                        .allMatch(result -> result.getOutcome() == ConfirmationOutcome.CONFIRMED)))
+                .assertSelects(1)
+                .assertInserts(0)
+                .assertUpdatesAtMost(2);
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/orders/customer/{email} should issue at most two SELECTs per slice")
+    void getOrdersByCustomerEmail(int orders) throws Exception {
+        String email = newEmail();
+        placeOrders(email, orders, LINES_PER_ORDER);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/orders/customer/{email}", email).param("size", String.valueOf(orders)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(orders))))
+                .assertSelectsAtMost(2)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "page size {0}")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/products should issue an id page, a count and one snapshot SELECT regardless of page size")
+    void getAllProducts(int size) throws Exception {
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/products").param("size", String.valueOf(size)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(size))))
+                .assertSelectsAtMost(3)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "slice size {0}")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/products/scroll should issue at most one SELECT per slice")
+    void scrollProducts(int size) throws Exception {
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/products/scroll").param("size", String.valueOf(size)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(size))))
+                .assertSelectsAtMost(1)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @ParameterizedTest(name = "limit {0}")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/products/suggest should be answered from the in-memory index")
+    void suggestProducts(int limit) throws Exception {
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/products/suggest")
+                                .param("prefix", "Counted")
+                                .param("limit", String.valueOf(limit)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(Math.min(limit, ProductSuggestIndex.MAX_SUGGESTIONS)))))
+                .assertNone();
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets should be answered from the in-memory counters")
+    void getCategoryFacets() throws Exception {
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/products/facets"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$[?(@.category == '" + category + "')].productCount", contains(PRODUCTS))))
+                .assertNone();
+    }
+
+    @ParameterizedTest(name = "page size {0}")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("GET /api/products/search should issue at most one SELECT regardless of page size")
+    void searchProducts(int size) throws Exception {
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/products/search")
+                                .param("category", category)
+                                .param("size", String.valueOf(size)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.content", hasSize(size))))
+                .assertSelectsAtMost(1)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} should issue at most one SELECT")
+    void getProductById() throws Exception {
+        SqlStatementCounter.count(() -> mockMvc.perform(get("/api/products/{id}", productIds.get(0)))
+                        .andExpect(status().isOk()))
+                .assertSelectsAtMost(1)
+                .assertInserts(0)
+                .assertUpdates(0);
+    }
+
+    @Test
+    @DisplayName("POST, PUT and DELETE /api/products should each touch one product row")
+    void productLifecycle() throws Exception {
+        Long[] productId = new Long[1];
+        SqlStatementCounter.count(() -> {
+                    MvcResult result = mockMvc.perform(post("/api/products")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(productRequest("Short-lived product"))))
+                            .andExpect(status().isCreated())
+                            .andReturn();
+                    productId[0] = objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+                })
+                .assertSelects(0)
+                .assertInserts(1)
+                .assertUpdates(0);
+
+        UpdateProductRequest update = new UpdateProductRequest();
+        update.setName("Renamed short-lived product");
+        update.setPrice(BigDecimal.ONE);
+        update.setStock(5);
+        update.setCategory(category);
+        update.setIsActive(true);
+        SqlStatementCounter.count(() -> mockMvc.perform(put("/api/products/{id}", productId[0])
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(update)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.name").value("Renamed short-lived product")))
+                .assertSelects(1)
+                .assertInserts(0)
+                .assertUpdates(1);
+
+        SqlStatementCounter.count(() -> mockMvc.perform(delete("/api/products/{id}", productId[0]))
+                        .andExpect(status().isNoContent()))
+                .assertSelectsAtMost(2)
+                .assertInserts(0)
+                .assertDeletes(1);
+    }
+
+    private List<Long> placeOrders(String email, int orders, int lines) {
+        List<CreateOrderRequest> requests = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            requests.add(orderRequest(email, lines));
+        }
+        List<Long> ids = orderService.createOrders(requests, (request, failure) -> fail(failure)).stream()
+                .map(OrderResponse::getId)
+                .toList();
+        orderIds.addAll(ids);
+        return ids;
+    }
+
+    private CreateOrderRequest orderRequest(String email, int lines) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Counted Customer");
+        request.setCustomerEmail(email);
+        List<OrderItemRequest> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItemRequest(productIds.get(i), 1));
+        }
+        request.setOrderItems(items);
+        return request;
+    }
+
+    private CreateProductRequest productRequest(String name) {
+        CreateProductRequest request = new CreateProductRequest();
+        request.setName(name);
+        request.setPrice(BigDecimal.TEN);
+        request.setStock(1_000_000);
+        request.setCategory(category);
+        request.setIsActive(true);
+        return request;
+    }
+
+    private static String newEmail() {
+        return "counted-" + UUID.randomUUID() + "@example.com";
+    }
+}
@@ -0,0 +1,190 @@
+package org.example.ecommerceordermanagementsystem.service;
+
+import org.example.ecommerceordermanagementsystem.confirmation.ConfirmationTicket;
+import org.example.ecommerceordermanagementsystem.confirmation.OrderConfirmationPipeline;
+import org.example.ecommerceordermanagementsystem.controller.OrderController;
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.idempotency.OrderIdempotencyStore;
+import org.example.ecommerceordermanagementsystem.intake.OrderIntakeCombiner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(OrderController.class)
+@Import(SimpleMeterRegistry.class)
+class OrderControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private OrderService orderService;
+
+    @MockitoBean
+    private OrderConfirmationPipeline confirmationPipeline;
+
+    @MockitoBean
+    private OrderIntakeCombiner orderIntake;
+
+    @MockitoBean
+    private OrderIdempotencyStore idempotencyStore;
+
+    @Test
+    @DisplayName("GET /api/orders/export - Should stream one JSON document per line")
+    void exportOrders_shouldStreamNdjson() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+        doAnswer(invocation -> {
+            Consumer<OrderResponse> sink = invocation.getArgument(3);
+            List.of(1L, 2L).forEach(id -> sink.accept(OrderResponse.builder()
+                    .id(id)
+                    .customerName("John Doe")
+                    .status(OrderStatus.CONFIRMED)
+                    .totalAmount(BigDecimal.TEN)
+                    .orderItems(List.of())
+                    .build()));
+            return 2L;
+        }).when(orderService).exportOrders(eq(OrderStatus.CONFIRMED), eq(from), isNull(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/orders/export")
+                        .param("status", "CONFIRMED")
+                        .param("from", "2026-01-01T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(org.hamcrest.Matchers.matchesPattern(
+                        "\\{\"id\":1,.*}\\n\\{\"id\":2,.*}\\n")));
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/{id} - Should return 304 without loading the order when the ETag matches")
+    void getOrderById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(orderService.getOrderETag(7L)).thenReturn("2-15");
+
+        mockMvc.perform(get("/api/orders/{id}", 7L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-15\""));
+
+        mockMvc.perform(get("/api/orders/{id}", 7L).header(HttpHeaders.IF_NONE_MATCH, "\"2-15\""))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, times(1)).getOrderById(7L);
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/confirmations - Should accept the orders and point to the ticket")
+    void confirmOrders_shouldReturnAcceptedWithTicketLocation() throws Exception {
+        ConfirmationTicket ticket = mock(ConfirmationTicket.class);
+        when(ticket.id()).thenReturn("abc");
+        when(ticket.orderIds()).thenReturn(List.of(1L, 2L));
+        when(ticket.results()).thenReturn(List.of());
+        when(confirmationPipeline.submit(List.of(1L, 2L), null)).thenReturn(ticket);
+
+        mockMvc.perform(post("/api/orders/confirmations")
+                        .contentType("application/json")
+                        .content("{\"orderIds\":[1,2]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "http://localhost/api/orders/confirmations/abc"))
+                .andExpect(jsonPath("$.id").value("abc"))
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.pendingCount").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/orders/confirmations - Should reject an empty list of orders")
+    void confirmOrders_shouldRejectEmptyOrderIds() throws Exception {
+        mockMvc.perform(post("/api/orders/confirmations")
+                        .contentType("application/json")
+                        .content("{\"orderIds\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(confirmationPipeline);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/confirmations/{id} - Should return 404 for an unknown or expired ticket")
+    void getConfirmationTicket_shouldReturnNotFound_whenUnknown() throws Exception {
+        when(confirmationPipeline.ticket("missing")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/orders/confirmations/{ticketId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/orders - Should create the order through the intake")
+    void createOrder_shouldGoThroughIntake() throws Exception {
+        when(orderIntake.createOrder(any(CreateOrderRequest.class))).thenReturn(OrderResponse.builder()
+                .id(9L)
+                .customerName("John Doe")
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN)
+                .orderItems(List.of())
+                .build());
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType("application/json")
+                        .content("{\"customerName\":\"John Doe\",\"customerEmail\":\"john@example.com\","
+                                + "\"orderItems\":[{\"productId\":1,\"quantity\":1}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(9));
+
+        verify(orderService, never()).createOrder(any());
+        verifyNoInteractions(idempotencyStore);
+    }
+
+    @Test
+    @DisplayName("POST /api/orders - Should create the order through the idempotency store when a key is given")
+    void createOrder_shouldGoThroughIdempotencyStore_whenKeyIsGiven() throws Exception {
+        when(idempotencyStore.createOrder(eq("retry-1"), any(CreateOrderRequest.class))).thenReturn(OrderResponse.builder()
+                .id(11L)
+                .customerName("John Doe")
+                .status(OrderStatus.PENDING)
+                .totalAmount(BigDecimal.TEN)
+                .orderItems(List.of())
+                .build());
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType("application/json")
+                        .content("{\"customerName\":\"John Doe\",\"customerEmail\":\"john@example.com\","
+                                + "\"orderItems\":[{\"productId\":1,\"quantity\":1}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(11));
+
+        verifyNoInteractions(orderIntake);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/customer/{email} - Should return 400 for a slice size out of bounds")
+    void getOrdersByCustomerEmail_shouldReturnBadRequest_whenSizeIsOutOfBounds() throws Exception {
+        mockMvc.perform(get("/api/orders/customer/john@example.com").param("size", "1000000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.size").exists());
+        mockMvc.perform(get("/api/orders/customer/john@example.com").param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderService);
+    }
+}
@@ -0,0 +1,287 @@
+package org.example.ecommerceordermanagementsystem.service;
+
+import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
+import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
+import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
+import org.example.ecommerceordermanagementsystem.dto.SalesAggregateResponse;
+import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.enums.SalesDimension;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.support.CountQueries;
+import org.example.ecommerceordermanagementsystem.support.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@CountQueries
+class OrderServiceImplQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SalesAggregateService salesAggregateService;
+
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 50; i++) {
+            CreateProductRequest product = new CreateProductRequest();
+            product.setName("Bulk product " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setStock(100);
+            product.setCategory("Bulk");
+            product.setIsActive(true);
+            productIds.add(productService.createProduct(product).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllById(orderIds);
+        productIds.forEach(productService::deleteProduct);
+    }
+
+    @ParameterizedTest(name = "{0} order lines")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should resolve all products of an order with at most one SELECT regardless of line count")
+    void createOrder_shouldIssueConstantSelectCount(int lines) {
+        CreateOrderRequest request = orderRequest("bulk@example.com", lines);
+
+        SqlStatementCounter.reset();
+        OrderResponse response = orderService.createOrder(request);
+        orderIds.add(response.getId());
+
+        assertEquals(lines, response.getOrderItems().size());
+        response.getOrderItems().forEach(item -> assertNotNull(item.getProductName()));
+        assertTrue(SqlStatementCounter.selects() <= 1, "selects: " + SqlStatementCounter.selects());
+    }
+
+    @ParameterizedTest(name = "{0} order lines")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should load an order with its items and products in a single SELECT")
+    void getOrderById_shouldIssueSingleSelect(int lines) {
+        Long orderId = placeOrder("single@example.com", lines);
+
+        SqlStatementCounter.reset();
+        OrderResponse response = orderService.getOrderById(orderId);
+
+        assertEquals(lines, response.getOrderItems().size());
+        assertEquals(lines, response.getOrderItems().stream().filter(item -> item.getProductName() != null).count());
+        assertEquals(1, SqlStatementCounter.selects());
+    }
+
+    @Test
+    @DisplayName("Should compute an order ETag with one scalar SELECT and change it on every mutation")
+    void getOrderETag_shouldIssueSingleSelectAndFollowMutations() {
+        Long orderId = placeOrder("etag@example.com", 10);
+
+        SqlStatementCounter.reset();
+        String placed = orderService.getOrderETag(orderId);
+        assertEquals(1, SqlStatementCounter.selects());
+
+        orderService.updateOrderStatus(orderId, OrderStatus.CONFIRMED);
+        String confirmed = orderService.getOrderETag(orderId);
+        assertNotEquals(placed, confirmed);
+
+        UpdateProductRequest update = new UpdateProductRequest();
+        update.setName("Renamed bulk product");
+        update.setPrice(BigDecimal.TEN);
+        update.setStock(100);
+        update.setCategory("Bulk");
+        update.setIsActive(true);
+        productService.updateProduct(productIds.get(0), update);
+        assertNotEquals(confirmed, orderService.getOrderETag(orderId));
+    }
+
+    @Test
+    @DisplayName("Should keep sales aggregates equal to a rebuild from the order items as orders change status")
+    void salesAggregates_shouldMatchRebuildAfterStatusChanges() {
+        Set<SalesDimension> all = Set.of(SalesDimension.DAY, SalesDimension.STATUS, SalesDimension.CATEGORY);
+        salesAggregateService.rebuild();
+
+        Long confirmed = placeOrder("sales@example.com", 3);
+        Long cancelled = placeOrder("sales@example.com", 2);
+        placeOrder("sales@example.com", 1);
+        orderService.updateOrderStatus(confirmed, OrderStatus.CONFIRMED);
+        orderService.updateOrderStatus(cancelled, OrderStatus.CONFIRMED);
+        orderService.cancelOrder(cancelled);
+        List<SalesAggregateResponse> incremental = salesAggregateService.getSales(null, null, all);
+
+        salesAggregateService.rebuild();
+        List<SalesAggregateResponse> rebuilt = salesAggregateService.getSales(null, null, all);
+        assertEquals(rebuilt.size(), incremental.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(0, rebuilt.get(i).getRevenue().compareTo(incremental.get(i).getRevenue()));
+            rebuilt.get(i).setRevenue(incremental.get(i).getRevenue());
+        }
+        assertEquals(rebuilt, incremental);
+    }
+
+    @ParameterizedTest(name = "page size {0}")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should load a page of orders with an id page, a count and one fetch regardless of page size")
+    void getAllOrders_shouldIssueBoundedSelectCount(int pageSize) {
+        for (int i = 0; i < pageSize; i++) {
+            placeOrder("page@example.com", 5);
+        }
+
+        SqlStatementCounter.reset();
+        Page<OrderResponse> page = orderService.getAllOrders(PageRequest.of(0, pageSize, Sort.by("orderDate").descending()));
+
+        assertEquals(pageSize, page.getNumberOfElements());
+        page.getContent().forEach(order -> order.getOrderItems().forEach(item -> assertNotNull(item.getProductName())));
+        assertTrue(SqlStatementCounter.selects() <= 3, "selects: " + SqlStatementCounter.selects());
+    }
+
+    @ParameterizedTest(name = "{0} orders")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("Should load a slice of a customer's orders with two SELECTs regardless of slice size")
+    void getOrdersByCustomerEmail_shouldIssueBoundedSelectCount(int orders) {
+        String email = "history-" + orders + "@example.com";
+        for (int i = 0; i < orders; i++) {
+            placeOrder(email, 5);
+        }
+
+        SqlStatementCounter.reset();
+        CursorPage<OrderResponse> history = orderService.getOrdersByCustomerEmail(email, null, null, null, null, orders);
+
+        assertEquals(orders, history.getContent().size());
+        assertFalse(history.isHasNext());
+        history.getContent().forEach(order -> assertEquals(5, order.getOrderItems().size()));
+        assertTrue(SqlStatementCounter.selects() <= 2, "selects: " + SqlStatementCounter.selects());
+    }
+
+    @Test
+    @DisplayName("Should page a customer's history newest first and apply email, status and date filters in the query")
+    void getOrdersByCustomerEmail_shouldPageAndFilterHistory() {
+        List<Long> placed = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            placed.add(placeOrder(" Reseller@Example.COM ", 1));
+        }
+        orderService.cancelOrder(placed.get(0));
+        Long cancelledId = placed.get(0);
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<OrderResponse> slice = orderService.getOrdersByCustomerEmail("RESELLER@example.com", null, null, null, cursor, 2);
+            slice.getContent().forEach(order -> {
+                assertEquals("reseller@example.com", order.getCustomerEmail());
+                visited.add(order.getId());
+            });
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        Collections.reverse(placed);
+        assertEquals(placed, visited);
+
+        CursorPage<OrderResponse> cancelled = orderService.getOrdersByCustomerEmail(
+                "reseller@example.com", OrderStatus.CANCELLED, null, null, null, 10);
+        assertEquals(List.of(cancelledId), cancelled.getContent().stream().map(OrderResponse::getId).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(orderService.getOrdersByCustomerEmail("reseller@example.com", null, now.plusDays(1), null, null, 10)
+                .getContent().isEmpty());
+        assertEquals(5, orderService.getOrdersByCustomerEmail("reseller@example.com", null, now.minusDays(1), now.plusDays(1), null, 10)
+                .getContent().size());
+    }
+
+    @ParameterizedTest(name = "sorted by {0}")
+    @ValueSource(strings = {"orderDate", "id"})
+    @DisplayName("Should scroll through every order exactly once with two SELECTs and no count per slice")
+    void scrollOrders_shouldVisitEveryOrderOnceWithoutCounting(String property) {
+        for (int i = 0; i < 20; i++) {
+            placeOrder("scroll@example.com", 2);
+        }
+        Sort.Order order = Sort.Order.desc(property);
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            SqlStatementCounter.reset();
+            CursorPage<OrderResponse> slice = orderService.scrollOrders(order, cursor, 7);
+            assertTrue(SqlStatementCounter.selects() <= 2, "selects: " + SqlStatementCounter.selects());
+            slice.getContent().forEach(response -> {
+                visited.add(response.getId());
+                response.getOrderItems().forEach(item -> assertNotNull(item.getProductName()));
+            });
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(visited.size(), new HashSet<>(visited).size());
+        assertTrue(visited.containsAll(orderIds));
+    }
+
+    @Test
+    @DisplayName("Should export orders with their items in one streamed SELECT plus one fetch per chunk")
+    void exportOrders_shouldStreamOrdersWithBoundedSelectCount() {
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < 12; i++) {
+            placeOrder("export@example.com", 3);
+        }
+        Long cancelledId = orderIds.get(0);
+        orderService.cancelOrder(cancelledId);
+
+        List<OrderResponse> exported = new ArrayList<>();
+        SqlStatementCounter.reset();
+        long count = orderService.exportOrders(null, start, null, exported::add);
+
+        assertEquals(12, count);
+        assertEquals(orderIds, exported.stream().map(OrderResponse::getId).toList());
+        exported.forEach(order -> {
+            assertEquals(3, order.getOrderItems().size());
+            order.getOrderItems().forEach(item -> assertNotNull(item.getProductName()));
+        });
+        assertEquals(2, SqlStatementCounter.selects());
+
+        List<OrderResponse> cancelled = new ArrayList<>();
+        orderService.exportOrders(OrderStatus.CANCELLED, start, null, cancelled::add);
+        assertEquals(List.of(cancelledId), cancelled.stream().map(OrderResponse::getId).toList());
+    }
+
+    private Long placeOrder(String email, int lines) {
+        Long orderId = orderService.createOrder(orderRequest(email, lines)).getId();
+        orderIds.add(orderId);
+        return orderId;
+    }
+
+    private CreateOrderRequest orderRequest(String email, int lines) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerName("Bulk Buyer");
+        request.setCustomerEmail(email);
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItemRequest(productIds.get(i), 1));
+        }
+        request.setOrderItems(items);
+        return request;
+    }
+}
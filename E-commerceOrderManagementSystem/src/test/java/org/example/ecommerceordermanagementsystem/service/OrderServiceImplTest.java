@@ -1,36 +1,53 @@
 package org.example.ecommerceordermanagementsystem.service;
 
+import org.example.ecommerceordermanagementsystem.cache.ProductCache;
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
 import org.example.ecommerceordermanagementsystem.dto.CreateOrderRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
+import org.example.ecommerceordermanagementsystem.dto.OrderConfirmationResponse;
 import org.example.ecommerceordermanagementsystem.dto.OrderItemRequest;
 import org.example.ecommerceordermanagementsystem.dto.OrderResponse;
 import org.example.ecommerceordermanagementsystem.entity.Order;
 import org.example.ecommerceordermanagementsystem.entity.OrderItem;
 import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.ConfirmationOutcome;
 import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
 import org.example.ecommerceordermanagementsystem.exception.InsufficientStockException;
 import org.example.ecommerceordermanagementsystem.exception.InvalidOrderStatusException;
 import org.example.ecommerceordermanagementsystem.exception.OrderNotFoundException;
 import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
+import org.example.ecommerceordermanagementsystem.journal.OrderEventJournal;
+import org.example.ecommerceordermanagementsystem.metrics.OrderMetrics;
 import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
 import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestIndex;
 import org.example.ecommerceordermanagementsystem.service.Impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +60,24 @@ class OrderServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private InventoryReservationEngine inventory;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductSuggestIndex suggestIndex;
+
+    @Mock
+    private SalesAggregateService salesAggregates;
+
+    @Mock
+    private OrderEventJournal journal;
+
+    @Mock
+    private OrderMetrics metrics;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -53,10 +88,10 @@ class OrderServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        product1 = new Product(1L, "Laptop", BigDecimal.valueOf(1200.00), 10, "Electronics", true, LocalDateTime.now());
-        product2 = new Product(2L, "Mouse", BigDecimal.valueOf(25.00), 5, "Electronics", true, LocalDateTime.now());
+        product1 = new Product(1L, "Laptop", BigDecimal.valueOf(1200.00), 10, 1, "Electronics", true, LocalDateTime.now(), 0L);
+        product2 = new Product(2L, "Mouse", BigDecimal.valueOf(25.00), 5, 1, "Electronics", true, LocalDateTime.now(), 0L);
 
-        order = new Order(1L, "John Doe", "john@example.com", LocalDateTime.now(), OrderStatus.PENDING, BigDecimal.valueOf(1225.00), new java.util.ArrayList<>());
+        order = new Order(1L, "John Doe", "john@example.com", LocalDateTime.now(), OrderStatus.PENDING, BigDecimal.valueOf(1225.00), new java.util.ArrayList<>(), 0L);
 
         orderItem1 = new OrderItem(1L, order, product1, 1, BigDecimal.valueOf(1200.00), BigDecimal.valueOf(1200.00));
         orderItem2 = new OrderItem(2L, order, product2, 1, BigDecimal.valueOf(25.00), BigDecimal.valueOf(25.00));
@@ -75,46 +110,48 @@ class OrderServiceImplTest {
     @DisplayName("Should return all orders with pagination")
     void getAllOrders_shouldReturnPageOfOrderResponses() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Order> orders = Collections.singletonList(order);
-        Page<Order> orderPage = new PageImpl<>(orders, pageable, orders.size());
+        Page<Long> idPage = new PageImpl<>(List.of(1L), pageable, 1);
 
-        when(orderRepository.findAll(pageable)).thenReturn(orderPage);
+        when(orderRepository.findIdPage(pageable)).thenReturn(idPage);
+        when(orderRepository.findWithItemsByIdIn(List.of(1L))).thenReturn(List.of(order));
 
         Page<OrderResponse> result = orderService.getAllOrders(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("John Doe", result.getContent().get(0).getCustomerName());
-        verify(orderRepository, times(1)).findAll(pageable);
+        verify(orderRepository, times(1)).findIdPage(pageable);
+        verify(orderRepository, times(1)).findWithItemsByIdIn(List.of(1L));
     }
 
     @Test
     @DisplayName("Should return order by ID when order exists")
     void getOrderById_shouldReturnOrderResponse_whenOrderExists() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
 
         OrderResponse result = orderService.getOrderById(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("John Doe", result.getCustomerName());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
     }
 
     @Test
     @DisplayName("Should throw OrderNotFoundException when order does not exist")
     void getOrderById_shouldThrowOrderNotFoundException_whenOrderDoesNotExist() {
-        when(orderRepository.findById(2L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(2L)).thenReturn(Optional.empty());
 
         assertThrows(OrderNotFoundException.class, () -> orderService.getOrderById(2L));
-        verify(orderRepository, times(1)).findById(2L);
+        verify(orderRepository, times(1)).findWithItemsById(2L);
     }
 
     @Test
     @DisplayName("Should create a new order successfully")
     void createOrder_shouldReturnNewOrderResponse() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
+        when(productCache.getAll(Set.of(1L, 2L))).thenReturn(snapshotsOf(product1, product2));
+        when(productRepository.getReferenceById(1L)).thenReturn(product1);
+        when(productRepository.getReferenceById(2L)).thenReturn(product2);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         OrderResponse result = orderService.createOrder(createOrderRequest);
@@ -123,41 +160,75 @@ class OrderServiceImplTest {
         assertEquals("John Doe", result.getCustomerName());
         assertEquals(OrderStatus.PENDING, result.getStatus());
         assertEquals(2, result.getOrderItems().size());
-        verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).findById(2L);
+        verify(productCache, times(1)).getAll(Set.of(1L, 2L));
+        verify(productRepository, never()).findById(anyLong());
+        verify(inventory, times(1)).reserve(Map.of(1L, 1, 2L, 1));
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(salesAggregates, times(1)).orderPlaced(order, snapshotsOf(product1, product2));
+        verify(journal, times(1)).record(order, null);
+    }
+
+    @Test
+    @DisplayName("Should create a batch of orders, reporting the rejected ones without failing the rest")
+    void createOrders_shouldReportRejectedOrdersAndCreateTheRest() {
+        CreateOrderRequest unknownProduct = new CreateOrderRequest();
+        unknownProduct.setCustomerName("Jim Doe");
+        unknownProduct.setCustomerEmail("jim@example.com");
+        unknownProduct.setOrderItems(List.of(new OrderItemRequest(3L, 1)));
+        when(productCache.getAll(Set.of(1L, 2L))).thenReturn(snapshotsOf(product1, product2));
+        when(productCache.getAll(Set.of(3L))).thenReturn(Map.of());
+        when(productRepository.getReferenceById(1L)).thenReturn(product1);
+        when(productRepository.getReferenceById(2L)).thenReturn(product2);
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        Map<CreateOrderRequest, RuntimeException> rejected = new java.util.HashMap<>();
+
+        List<OrderResponse> results = orderService.createOrders(List.of(createOrderRequest, unknownProduct), rejected::put);
+
+        assertEquals(2, results.size());
+        assertEquals("John Doe", results.get(0).getCustomerName());
+        assertNull(results.get(1));
+        assertInstanceOf(ProductNotFoundException.class, rejected.get(unknownProduct));
+        assertEquals(1, rejected.size());
         verify(orderRepository, times(1)).save(any(Order.class));
     }
 
     @Test
     @DisplayName("Should throw ProductNotFoundException when creating order with non-existent product")
     void createOrder_shouldThrowProductNotFoundException_whenProductDoesNotExist() {
-        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+        when(productCache.getAll(Set.of(1L, 2L))).thenReturn(snapshotsOf(product2));
 
         assertThrows(ProductNotFoundException.class, () -> orderService.createOrder(createOrderRequest));
-        verify(productRepository, times(1)).findById(1L);
+        verify(productCache, times(1)).getAll(Set.of(1L, 2L));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     @DisplayName("Should throw InsufficientStockException when creating order with insufficient stock")
     void createOrder_shouldThrowInsufficientStockException_whenInsufficientStock() {
-        product1.setStock(0);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-
-        assertThrows(InsufficientStockException.class, () -> orderService.createOrder(createOrderRequest));
-        verify(productRepository, times(1)).findById(1L);
+        when(productCache.getAll(Set.of(1L, 2L))).thenReturn(snapshotsOf(product1, product2));
+        when(productRepository.getReferenceById(1L)).thenReturn(product1);
+        when(productRepository.getReferenceById(2L)).thenReturn(product2);
+        when(inventory.reserve(Map.of(1L, 1, 2L, 1))).thenReturn(Collections.singletonList(1L));
+        when(inventory.availableOf(1L)).thenReturn(OptionalLong.of(0));
+
+        InsufficientStockException ex = assertThrows(InsufficientStockException.class, () -> orderService.createOrder(createOrderRequest));
+        assertTrue(ex.getMessage().contains("Laptop"));
+        verify(productCache, times(1)).getAll(Set.of(1L, 2L));
         verify(orderRepository, never()).save(any(Order.class));
+        verify(metrics, times(1)).insufficientStock();
     }
 
     @Test
     @DisplayName("Should throw InsufficientStockException when creating order with inactive product")
     void createOrder_shouldThrowInsufficientStockException_whenProductInactive() {
         product1.setIsActive(false);
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+        when(productCache.getAll(Set.of(1L, 2L))).thenReturn(snapshotsOf(product1, product2));
 
         assertThrows(InsufficientStockException.class, () -> orderService.createOrder(createOrderRequest));
-        verify(productRepository, times(1)).findById(1L);
+        verify(productCache, times(1)).getAll(Set.of(1L, 2L));
+        verify(inventory, never()).reserve(any());
         verify(orderRepository, never()).save(any(Order.class));
+        verify(metrics, times(1)).inactiveProduct();
     }
 
     @Test
@@ -167,10 +238,8 @@ class OrderServiceImplTest {
         OrderItemRequest itemRequestDuplicate = new OrderItemRequest(1L, 2);
         createOrderRequest.setOrderItems(Arrays.asList(itemRequest1, itemRequestDuplicate));
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-
         assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(createOrderRequest));
-        verify(productRepository, times(1)).findById(1L);
+        verify(productCache, never()).getAll(any());
         verify(orderRepository, never()).save(any(Order.class));
     }
 
@@ -178,86 +247,80 @@ class OrderServiceImplTest {
     @DisplayName("Should confirm order and reduce stock when status changes from PENDING to CONFIRMED")
     void updateOrderStatus_shouldConfirmOrderAndReduceStock() {
         order.setStatus(OrderStatus.PENDING);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(productRepository.save(any(Product.class))).thenReturn(product1, product2);
 
         OrderResponse result = orderService.updateOrderStatus(1L, OrderStatus.CONFIRMED);
 
         assertNotNull(result);
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productRepository, times(2)).save(any(Product.class));
-        assertEquals(9, product1.getStock());
-        assertEquals(4, product2.getStock());
+        verify(inventory, times(1)).commit(Map.of(1L, 1, 2L, 1));
+        verify(suggestIndex, times(1)).recordSales(order, Map.of(1L, 1, 2L, 1));
+        verify(salesAggregates, times(1)).statusChanged(order, OrderStatus.PENDING);
+        verify(journal, times(1)).record(order, OrderStatus.PENDING);
+        verify(metrics, times(1)).statusChanged(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     @DisplayName("Should cancel order and return stock when status changes from CONFIRMED to CANCELLED")
     void updateOrderStatus_shouldCancelOrderAndReturnStock_fromConfirmed() {
         order.setStatus(OrderStatus.CONFIRMED);
-        product1.setStock(9);
-        product2.setStock(4);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(productRepository.save(any(Product.class))).thenReturn(product1, product2);
 
         OrderResponse result = orderService.updateOrderStatus(1L, OrderStatus.CANCELLED);
 
         assertNotNull(result);
         assertEquals(OrderStatus.CANCELLED, result.getStatus());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productRepository, times(2)).save(any(Product.class));
-        assertEquals(10, product1.getStock());
-        assertEquals(5, product2.getStock());
+        verify(inventory, times(1)).restock(Map.of(1L, 1, 2L, 1));
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     @DisplayName("Should cancel order and return stock when status changes from SHIPPED to CANCELLED")
     void updateOrderStatus_shouldCancelOrderAndReturnStock_fromShipped() {
         order.setStatus(OrderStatus.SHIPPED);
-        product1.setStock(9);
-        product2.setStock(4);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(productRepository.save(any(Product.class))).thenReturn(product1, product2);
 
         OrderResponse result = orderService.updateOrderStatus(1L, OrderStatus.CANCELLED);
 
         assertNotNull(result);
         assertEquals(OrderStatus.CANCELLED, result.getStatus());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productRepository, times(2)).save(any(Product.class));
-        assertEquals(10, product1.getStock());
-        assertEquals(5, product2.getStock());
+        verify(inventory, times(1)).restock(Map.of(1L, 1, 2L, 1));
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     @DisplayName("Should throw InvalidOrderStatusException when trying to change status from DELIVERED")
     void updateOrderStatus_shouldThrowInvalidOrderStatusException_whenDelivered() {
         order.setStatus(OrderStatus.DELIVERED);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
 
         assertThrows(InvalidOrderStatusException.class, () -> orderService.updateOrderStatus(1L, OrderStatus.SHIPPED));
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
-    @DisplayName("Should throw InsufficientStockException when confirming order with insufficient stock")
-    void updateOrderStatus_shouldThrowInsufficientStockException_onConfirmWithInsufficientStock() {
+    @DisplayName("Should release reserved stock when a PENDING order is cancelled through a status update")
+    void updateOrderStatus_shouldReleaseReservation_whenPendingOrderIsCancelled() {
         order.setStatus(OrderStatus.PENDING);
-        product1.setStock(0);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.save(any(Order.class))).thenReturn(order);
 
-        assertThrows(InsufficientStockException.class, () -> orderService.updateOrderStatus(1L, OrderStatus.CONFIRMED));
+        OrderResponse result = orderService.updateOrderStatus(1L, OrderStatus.CANCELLED);
 
-        verify(orderRepository, times(1)).findById(1L);
-        verify(orderRepository, never()).save(any(Order.class));
-        verify(productRepository, never()).save(any(Product.class));
+        assertEquals(OrderStatus.CANCELLED, result.getStatus());
+        verify(inventory, times(1)).release(Map.of(1L, 1, 2L, 1));
+        verify(inventory, never()).restock(any());
     }
 
 
@@ -265,33 +328,34 @@ class OrderServiceImplTest {
     @DisplayName("Should cancel order successfully and return stock if CONFIRMED/SHIPPED")
     void cancelOrder_shouldCancelOrderAndReturnStock() {
         order.setStatus(OrderStatus.CONFIRMED);
-        product1.setStock(9);
-        product2.setStock(4);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(productRepository.save(any(Product.class))).thenReturn(product1, product2);
 
         assertDoesNotThrow(() -> orderService.cancelOrder(1L));
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
-        assertEquals(10, product1.getStock());
-        assertEquals(5, product2.getStock());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productRepository, times(2)).save(any(Product.class));
+        verify(inventory, times(1)).restock(Map.of(1L, 1, 2L, 1));
+        verify(salesAggregates, times(1)).statusChanged(order, OrderStatus.CONFIRMED);
+        verify(journal, times(1)).record(order, OrderStatus.CONFIRMED);
+        verify(metrics, times(1)).statusChanged(OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        verify(metrics, times(1)).stockRestocked(2);
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
     @DisplayName("Should cancel order successfully without stock return if PENDING")
     void cancelOrder_shouldCancelOrderWithoutStockReturn_ifPending() {
         order.setStatus(OrderStatus.PENDING);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
 
         assertDoesNotThrow(() -> orderService.cancelOrder(1L));
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productRepository, never()).save(any(Product.class));
+        verify(inventory, times(1)).release(Map.of(1L, 1, 2L, 1));
+        verify(inventory, never()).restock(any());
     }
 
 
@@ -299,10 +363,10 @@ class OrderServiceImplTest {
     @DisplayName("Should throw InvalidOrderStatusException when canceling DELIVERED order")
     void cancelOrder_shouldThrowInvalidOrderStatusException_whenDelivered() {
         order.setStatus(OrderStatus.DELIVERED);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(order));
 
         assertThrows(InvalidOrderStatusException.class, () -> orderService.cancelOrder(1L));
-        verify(orderRepository, times(1)).findById(1L);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
         verify(orderRepository, never()).save(any(Order.class));
         verify(productRepository, never()).save(any(Product.class));
     }
@@ -310,36 +374,81 @@ class OrderServiceImplTest {
     @Test
     @DisplayName("Should throw OrderNotFoundException when canceling non-existent order")
     void cancelOrder_shouldThrowOrderNotFoundException_whenOrderDoesNotExist() {
-        when(orderRepository.findById(2L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(2L)).thenReturn(Optional.empty());
 
         assertThrows(OrderNotFoundException.class, () -> orderService.cancelOrder(2L));
-        verify(orderRepository, times(1)).findById(2L);
+        verify(orderRepository, times(1)).findWithItemsById(2L);
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should confirm a batch of orders, committing stock once per product")
+    void confirmOrders_shouldCoalesceStockCommits() {
+        Order second = new Order(2L, "Jane Doe", "jane@example.com", LocalDateTime.now(), OrderStatus.PENDING, BigDecimal.valueOf(3600.00), new java.util.ArrayList<>(), 0L);
+        second.addOrderItem(new OrderItem(3L, second, product1, 3, BigDecimal.valueOf(1200.00), BigDecimal.valueOf(3600.00)));
+        when(orderRepository.findWithItemsByIdIn(List.of(1L, 2L))).thenReturn(List.of(order, second));
+
+        List<OrderConfirmationResponse> results = orderService.confirmOrders(List.of(1L, 2L));
+
+        assertEquals(List.of(ConfirmationOutcome.CONFIRMED, ConfirmationOutcome.CONFIRMED),
+                results.stream().map(OrderConfirmationResponse::getOutcome).toList());
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(OrderStatus.CONFIRMED, second.getStatus());
+        verify(inventory, times(1)).commit(Map.of(1L, 4, 2L, 1));
+        verify(suggestIndex, times(1)).recordSales(order, Map.of(1L, 1, 2L, 1));
+        verify(suggestIndex, times(1)).recordSales(second, Map.of(1L, 3));
+        verify(salesAggregates, times(1)).statusChanged(second, OrderStatus.PENDING);
+        verify(journal, times(1)).record(order, OrderStatus.PENDING);
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
-    @DisplayName("Should return all orders by customer email")
-    void getOrdersByCustomerEmail_shouldReturnListOfOrderResponses() {
-        List<Order> orders = Collections.singletonList(order);
-        when(orderRepository.findByCustomerEmail("john@example.com")).thenReturn(orders);
+    @DisplayName("Should report missing, already confirmed and non-PENDING orders without committing stock")
+    void confirmOrders_shouldReportOrdersThatCannotBeConfirmed() {
+        Order shipped = new Order(3L, "Jane Doe", "jane@example.com", LocalDateTime.now(), OrderStatus.SHIPPED, BigDecimal.TEN, new java.util.ArrayList<>(), 0L);
+        order.setStatus(OrderStatus.CONFIRMED);
+        when(orderRepository.findWithItemsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(order, shipped));
+
+        List<OrderConfirmationResponse> results = orderService.confirmOrders(List.of(1L, 2L, 3L));
 
-        List<OrderResponse> result = orderService.getOrdersByCustomerEmail("john@example.com");
+        assertEquals(List.of(ConfirmationOutcome.ALREADY_CONFIRMED, ConfirmationOutcome.NOT_FOUND, ConfirmationOutcome.INVALID_STATUS),
+                results.stream().map(OrderConfirmationResponse::getOutcome).toList());
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(OrderConfirmationResponse::getOrderId).toList());
+        assertEquals(OrderStatus.SHIPPED, shipped.getStatus());
+        verify(inventory, never()).commit(any());
+        verifyNoInteractions(salesAggregates, journal, suggestIndex);
+    }
+
+    @Test
+    @DisplayName("Should return a slice of orders by customer email")
+    void getOrdersByCustomerEmail_shouldReturnCursorPageOfOrderResponses() {
+        when(orderRepository.findBy(ArgumentMatchers.<Specification<Order>>any(), any()))
+                .thenReturn(Window.from(Collections.singletonList(order), ScrollPosition::offset));
+
+        CursorPage<OrderResponse> result = orderService.getOrdersByCustomerEmail("john@example.com", null, null, null, null, 10);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("john@example.com", result.get(0).getCustomerEmail());
-        verify(orderRepository, times(1)).findByCustomerEmail("john@example.com");
+        assertEquals(1, result.getContent().size());
+        assertEquals("john@example.com", result.getContent().get(0).getCustomerEmail());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, times(1)).findWithItemsByIdIn(List.of(1L));
     }
 
     @Test
-    @DisplayName("Should return empty list when no orders found for customer email")
-    void getOrdersByCustomerEmail_shouldReturnEmptyList_whenNoOrdersFound() {
-        when(orderRepository.findByCustomerEmail("noexist@example.com")).thenReturn(Collections.emptyList());
+    @DisplayName("Should return an empty slice when no orders found for customer email")
+    void getOrdersByCustomerEmail_shouldReturnEmptySlice_whenNoOrdersFound() {
+        when(orderRepository.findBy(ArgumentMatchers.<Specification<Order>>any(), any()))
+                .thenReturn(Window.from(Collections.emptyList(), ScrollPosition::offset));
 
-        List<OrderResponse> result = orderService.getOrdersByCustomerEmail("noexist@example.com");
+        CursorPage<OrderResponse> result = orderService.getOrdersByCustomerEmail("noexist@example.com", null, null, null, null, 10);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(orderRepository, times(1)).findByCustomerEmail("noexist@example.com");
+        assertTrue(result.getContent().isEmpty());
+        verify(orderRepository, never()).findWithItemsByIdIn(any());
+    }
+
+    private static Map<Long, ProductSnapshot> snapshotsOf(Product... products) {
+        return Arrays.stream(products).collect(Collectors.toMap(Product::getId, ProductSnapshot::of));
     }
-}
\ No newline at end of file
+}
@@ -1,32 +1,45 @@
 package org.example.ecommerceordermanagementsystem.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ecommerceordermanagementsystem.config.WebConfig;
 import org.example.ecommerceordermanagementsystem.controller.ProductController;
+import org.example.ecommerceordermanagementsystem.dto.CategoryFacetResponse;
 import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
+import org.example.ecommerceordermanagementsystem.dto.CursorPage;
 import org.example.ecommerceordermanagementsystem.dto.ProductResponse;
+import org.example.ecommerceordermanagementsystem.dto.ProductSuggestionResponse;
 import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
+import org.example.ecommerceordermanagementsystem.exception.InvalidCursorException;
 import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import({WebConfig.class, SimpleMeterRegistry.class})
 class ProductControllerTest {
 
     @Autowired
@@ -87,6 +100,51 @@ class ProductControllerTest {
         verify(productService, times(1)).getAllProducts(any(PageRequest.class));
     }
 
+    @Test
+    @DisplayName("GET /api/products/scroll - Should return a slice with a next cursor")
+    void scrollProducts_shouldReturnCursorPage() throws Exception {
+        CursorPage<ProductResponse> slice = CursorPage.<ProductResponse>builder()
+                .content(Collections.singletonList(productResponse))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("next-token")
+                .build();
+        when(productService.scrollProducts(Sort.Order.asc("id"), "token", 1)).thenReturn(slice);
+
+        mockMvc.perform(get("/api/products/scroll")
+                        .param("after", "token")
+                        .param("size", "1")
+                        .param("sort", "id,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(productResponse.getId()))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/products/scroll - Should return 400 for an invalid cursor")
+    void scrollProducts_shouldReturnBadRequest_whenCursorIsInvalid() throws Exception {
+        when(productService.scrollProducts(any(Sort.Order.class), eq("garbage"), anyInt()))
+                .thenThrow(new InvalidCursorException("Malformed cursor"));
+
+        mockMvc.perform(get("/api/products/scroll").param("after", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/scroll - Should return 400 for a slice size out of bounds")
+    void scrollProducts_shouldReturnBadRequest_whenSizeIsOutOfBounds() throws Exception {
+        mockMvc.perform(get("/api/products/scroll").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.validationErrors.size").exists());
+        mockMvc.perform(get("/api/products/scroll").param("size", String.valueOf(CursorPage.MAX_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        verify(productService, never()).scrollProducts(any(Sort.Order.class), any(), anyInt());
+    }
+
     @Test
     @DisplayName("GET /api/products/{id} - Should return product by ID")
     void getProductById_shouldReturnProductResponse() throws Exception {
@@ -114,6 +172,30 @@ class ProductControllerTest {
         verify(productService, times(1)).getProductById(99L);
     }
 
+    @Test
+    @DisplayName("GET /api/products/{id} - Should tag the response with the product ETag")
+    void getProductById_shouldReturnETag() throws Exception {
+        when(productService.getProductETag(1L)).thenReturn("3-10");
+        when(productService.getProductById(1L)).thenReturn(productResponse);
+
+        mockMvc.perform(get("/api/products/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-10\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/{id} - Should return 304 without loading the product when the ETag matches")
+    void getProductById_shouldReturnNotModified_whenETagMatches() throws Exception {
+        when(productService.getProductETag(1L)).thenReturn("3-10");
+
+        mockMvc.perform(get("/api/products/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3-10\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(productService, never()).getProductById(anyLong());
+    }
+
     @Test
     @DisplayName("POST /api/products - Should create a new product")
     void createProduct_shouldReturnCreatedProductResponse() throws Exception {
@@ -218,4 +300,46 @@ class ProductControllerTest {
 
         verify(productService, times(1)).searchProducts(anyString(), anyString(), any(PageRequest.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/products/suggest - Should return typeahead suggestions")
+    void suggestProducts_shouldReturnSuggestions() throws Exception {
+        when(productService.suggestProducts("lap", 5)).thenReturn(List.of(
+                ProductSuggestionResponse.builder().id(1L).name("Laptop").popularity(12).build()));
+
+        mockMvc.perform(get("/api/products/suggest")
+                        .param("prefix", "lap")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Laptop"))
+                .andExpect(jsonPath("$[0].popularity").value(12));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets - Should return category counts")
+    void getCategoryFacets_shouldReturnCounts() throws Exception {
+        when(productService.getCategoryFacets()).thenReturn(List.of(
+                CategoryFacetResponse.builder().category("Electronics").productCount(1234).inStockCount(1200).build()));
+
+        mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category").value("Electronics"))
+                .andExpect(jsonPath("$[0].productCount").value(1234))
+                .andExpect(jsonPath("$[0].inStockCount").value(1200));
+    }
+
+    @Test
+    @DisplayName("GET /api/products/facets - Should return 304 when the weak ETag of the body matches")
+    void getCategoryFacets_shouldReturnNotModified_whenBodyUnchanged() throws Exception {
+        when(productService.getCategoryFacets()).thenReturn(List.of(
+                CategoryFacetResponse.builder().category("Electronics").productCount(1234).inStockCount(1200).build()));
+
+        String eTag = mockMvc.perform(get("/api/products/facets"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, org.hamcrest.Matchers.startsWith("W/")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/products/facets").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+}
@@ -1,11 +1,21 @@
 package org.example.ecommerceordermanagementsystem.service;
 
+import org.example.ecommerceordermanagementsystem.cache.ProductCache;
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.dto.CategoryFacetResponse;
 import org.example.ecommerceordermanagementsystem.dto.CreateProductRequest;
 import org.example.ecommerceordermanagementsystem.dto.ProductResponse;
+import org.example.ecommerceordermanagementsystem.dto.ProductSuggestionResponse;
 import org.example.ecommerceordermanagementsystem.dto.UpdateProductRequest;
 import org.example.ecommerceordermanagementsystem.entity.Product;
 import org.example.ecommerceordermanagementsystem.exception.ProductNotFoundException;
+import org.example.ecommerceordermanagementsystem.inventory.InventoryReservationEngine;
 import org.example.ecommerceordermanagementsystem.repository.ProductRepository;
+import org.example.ecommerceordermanagementsystem.search.CategoryFacet;
+import org.example.ecommerceordermanagementsystem.search.CategoryFacetCounter;
+import org.example.ecommerceordermanagementsystem.search.ProductSearchIndex;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestIndex;
+import org.example.ecommerceordermanagementsystem.search.ProductSuggestion;
 import org.example.ecommerceordermanagementsystem.service.Impl.ProductServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,11 +28,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -32,6 +45,21 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private InventoryReservationEngine inventory;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private ProductSuggestIndex suggestIndex;
+
+    @Mock
+    private CategoryFacetCounter facetCounter;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -41,7 +69,7 @@ class ProductServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        product = new Product(1L, "Laptop", BigDecimal.valueOf(1200.00), 10, "Electronics", true, LocalDateTime.now());
+        product = new Product(1L, "Laptop", BigDecimal.valueOf(1200.00), 10, 1, "Electronics", true, LocalDateTime.now(), 0L);
 
         createProductRequest = new CreateProductRequest();
         createProductRequest.setName("New Phone");
@@ -62,46 +90,74 @@ class ProductServiceImplTest {
     @DisplayName("Should return all products with pagination")
     void getAllProducts_shouldReturnPageOfProductResponses() {
         Pageable pageable = PageRequest.of(0, 10);
-        List<Product> products = Collections.singletonList(product);
-        Page<Product> productPage = new PageImpl<>(products, pageable, products.size());
-
-        when(productRepository.findAll(pageable)).thenReturn(productPage);
+        when(productCache.getIdPage(pageable)).thenReturn(new PageImpl<>(List.of(1L), pageable, 1));
+        when(productCache.getAll(List.of(1L))).thenReturn(Map.of(1L, ProductSnapshot.of(product)));
 
         Page<ProductResponse> result = productService.getAllProducts(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("Laptop", result.getContent().get(0).getName());
-        verify(productRepository, times(1)).findAll(pageable); // findAll() metodi 1 marta chaqirilganini tekshirish
+        verify(productCache, times(1)).getIdPage(pageable);
+        verifyNoInteractions(productRepository);
     }
 
     @Test
     @DisplayName("Should return product by ID when product exists")
     void getProductById_shouldReturnProductResponse_whenProductExists() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productCache.get(1L)).thenReturn(Optional.of(ProductSnapshot.of(product)));
 
         ProductResponse result = productService.getProductById(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
         assertEquals("Laptop", result.getName());
-        verify(productRepository, times(1)).findById(1L);
+        verify(productCache, times(1)).get(1L);
+    }
+
+    @Test
+    @DisplayName("Should report the on-hand stock held by the reservation engine")
+    void getProductById_shouldReportStockFromReservationEngine() {
+        when(productCache.get(1L)).thenReturn(Optional.of(ProductSnapshot.of(product)));
+        when(inventory.stockOf(1L)).thenReturn(OptionalLong.of(7));
+
+        ProductResponse result = productService.getProductById(1L);
+
+        assertEquals(7, result.getStock());
     }
 
     @Test
     @DisplayName("Should throw ProductNotFoundException when product does not exist")
     void getProductById_shouldThrowProductNotFoundException_whenProductDoesNotExist() {
-        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+        when(productCache.get(2L)).thenReturn(Optional.empty());
 
         assertThrows(ProductNotFoundException.class, () -> productService.getProductById(2L));
-        verify(productRepository, times(1)).findById(2L);
+        verify(productCache, times(1)).get(2L);
+    }
+
+    @Test
+    @DisplayName("Should build the product ETag from the entity version and the engine's stock")
+    void getProductETag_shouldCombineVersionAndLiveStock() {
+        product.setVersion(3L);
+        when(productCache.get(1L)).thenReturn(Optional.of(ProductSnapshot.of(product)));
+        when(inventory.stockOf(1L)).thenReturn(OptionalLong.of(7));
+
+        assertEquals("3-7", productService.getProductETag(1L));
+    }
+
+    @Test
+    @DisplayName("Should throw ProductNotFoundException when tagging a missing product")
+    void getProductETag_shouldThrowProductNotFoundException_whenProductDoesNotExist() {
+        when(productCache.get(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ProductNotFoundException.class, () -> productService.getProductETag(2L));
     }
 
     @Test
     @DisplayName("Should create a new product successfully")
     void createProduct_shouldReturnNewProductResponse() {
         Product newProduct = new Product(null, createProductRequest.getName(), createProductRequest.getPrice(),
-                createProductRequest.getStock(), createProductRequest.getCategory(), createProductRequest.getIsActive(), null);
+                createProductRequest.getStock(), 1, createProductRequest.getCategory(), createProductRequest.getIsActive(), null, null);
         when(productRepository.save(any(Product.class))).thenReturn(product);
 
         ProductResponse result = productService.createProduct(createProductRequest);
@@ -109,6 +165,11 @@ class ProductServiceImplTest {
         assertNotNull(result);
         assertEquals("Laptop", result.getName());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(inventory, times(1)).track(1L, 10, 1);
+        verify(productCache, times(1)).put(product);
+        verify(searchIndex, times(1)).index(product);
+        verify(suggestIndex, times(1)).index(product);
+        verify(facetCounter, times(1)).index(product);
     }
 
     @Test
@@ -124,6 +185,24 @@ class ProductServiceImplTest {
         assertEquals(BigDecimal.valueOf(1250.00), result.getPrice());
         verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(inventory, times(1)).overrideStock(1L, 8, 1);
+        verify(productCache, times(1)).put(product);
+        verify(searchIndex, times(1)).index(product);
+        verify(suggestIndex, times(1)).index(product);
+        verify(facetCounter, times(1)).index(product);
+    }
+
+    @Test
+    @DisplayName("Should switch a product to sharded stock when stockShards is set")
+    void updateProduct_shouldReshardStock_whenStockShardsIsSet() {
+        updateProductRequest.setStockShards(16);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProductResponse result = productService.updateProduct(1L, updateProductRequest);
+
+        assertEquals(16, result.getStockShards());
+        verify(inventory, times(1)).overrideStock(1L, 8, 16);
     }
 
     @Test
@@ -145,6 +224,11 @@ class ProductServiceImplTest {
         assertDoesNotThrow(() -> productService.deleteProduct(1L));
         verify(productRepository, times(1)).existsById(1L);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(inventory, times(1)).forget(1L);
+        verify(productCache, times(1)).evict(1L);
+        verify(searchIndex, times(1)).remove(1L);
+        verify(suggestIndex, times(1)).remove(1L);
+        verify(facetCounter, times(1)).remove(1L);
     }
 
     @Test
@@ -210,6 +294,37 @@ class ProductServiceImplTest {
         verify(productRepository, times(1)).findByCategoryContainingIgnoreCase("Electronics", pageable);
     }
 
+    @Test
+    @DisplayName("Should answer substring searches from the search index")
+    void searchProducts_shouldUseSearchIndex_whenSortIsSupported() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+        when(searchIndex.supports(pageable.getSort())).thenReturn(true);
+        when(searchIndex.search("apt", "elec", pageable))
+                .thenReturn(new PageImpl<>(List.of(ProductSnapshot.of(product)), pageable, 1));
+        when(inventory.stockOf(1L)).thenReturn(OptionalLong.of(7));
+
+        Page<ProductResponse> result = productService.searchProducts("apt", "elec", pageable);
+
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Laptop", result.getContent().get(0).getName());
+        assertEquals(7, result.getContent().get(0).getStock());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the LIKE query when the search index cannot apply the sort")
+    void searchProducts_shouldFallBackToRepository_whenSortIsNotSupported() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("stock"));
+        when(searchIndex.supports(pageable.getSort())).thenReturn(false);
+        when(productRepository.findByNameContainingIgnoreCase("apt", pageable))
+                .thenReturn(new PageImpl<>(List.of(product), pageable, 1));
+
+        Page<ProductResponse> result = productService.searchProducts("apt", null, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verify(searchIndex, never()).search(any(), any(), any());
+    }
+
     @Test
     @DisplayName("Should return active products when no search criteria provided")
     void searchProducts_shouldReturnActiveProducts_whenNoCriteria() {
@@ -226,4 +341,31 @@ class ProductServiceImplTest {
         assertEquals("Laptop", result.getContent().get(0).getName());
         verify(productRepository, times(1)).findByIsActiveTrue(pageable);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should cap typeahead suggestions at the index limit")
+    void suggestProducts_shouldCapLimit() {
+        when(suggestIndex.suggest("lap", ProductSuggestIndex.MAX_SUGGESTIONS))
+                .thenReturn(List.of(new ProductSuggestion(1L, "Laptop", 12)));
+
+        List<ProductSuggestionResponse> result = productService.suggestProducts("lap", 500);
+
+        assertEquals(1, result.size());
+        assertEquals("Laptop", result.get(0).getName());
+        assertEquals(12, result.get(0).getPopularity());
+    }
+
+    @Test
+    @DisplayName("Should return category facet counts without querying the database")
+    void getCategoryFacets_shouldReturnCounterValues() {
+        when(facetCounter.facets()).thenReturn(List.of(new CategoryFacet("Electronics", 1234, 1200)));
+
+        List<CategoryFacetResponse> result = productService.getCategoryFacets();
+
+        assertEquals(1, result.size());
+        assertEquals("Electronics", result.get(0).getCategory());
+        assertEquals(1234, result.get(0).getProductCount());
+        assertEquals(1200, result.get(0).getInStockCount());
+        verifyNoInteractions(productRepository);
+    }
+}
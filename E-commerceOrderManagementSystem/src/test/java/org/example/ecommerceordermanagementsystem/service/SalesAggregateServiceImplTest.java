@@ -0,0 +1,220 @@
+package org.example.ecommerceordermanagementsystem.service;
+
+import org.example.ecommerceordermanagementsystem.cache.ProductSnapshot;
+import org.example.ecommerceordermanagementsystem.dto.SalesAggregateResponse;
+import org.example.ecommerceordermanagementsystem.entity.Order;
+import org.example.ecommerceordermanagementsystem.entity.OrderItem;
+import org.example.ecommerceordermanagementsystem.entity.Product;
+import org.example.ecommerceordermanagementsystem.enums.OrderStatus;
+import org.example.ecommerceordermanagementsystem.enums.SalesDimension;
+import org.example.ecommerceordermanagementsystem.repository.OrderItemRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRepository;
+import org.example.ecommerceordermanagementsystem.repository.OrderRevision;
+import org.example.ecommerceordermanagementsystem.repository.SalesTotal;
+import org.example.ecommerceordermanagementsystem.service.Impl.SalesAggregateServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SalesAggregateServiceImplTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2026, 3, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private SalesAggregateServiceImpl salesAggregates;
+
+    private Product laptop;
+    private Product mouse;
+    private Product book;
+
+    @BeforeEach
+    void setUp() {
+        laptop = new Product(1L, "Laptop", BigDecimal.valueOf(1000), 10, 1, "Electronics", true, LocalDateTime.now(), 0L);
+        mouse = new Product(2L, "Mouse", BigDecimal.valueOf(25), 10, 1, "Electronics", true, LocalDateTime.now(), 0L);
+        book = new Product(3L, "Notebook", BigDecimal.valueOf(5), 10, 1, null, true, LocalDateTime.now(), 0L);
+    }
+
+    @Test
+    @DisplayName("Should count an order once per category and once in the grand total")
+    void orderPlaced_shouldAddOrderToPendingBuckets() {
+        place(order(1L, DAY_1, line(laptop, 1), line(mouse, 2), line(book, 4)));
+
+        List<SalesAggregateResponse> byCategory = salesAggregates.getSales(null, null, Set.of(SalesDimension.CATEGORY));
+        assertEquals(2, byCategory.size());
+        assertRow(byCategory.get(0), null, null, "Electronics", "1050", 3, 1);
+        assertRow(byCategory.get(1), null, null, null, "20", 4, 1);
+
+        List<SalesAggregateResponse> total = salesAggregates.getSales(null, null, Set.of());
+        assertEquals(1, total.size());
+        assertRow(total.get(0), null, null, null, "1070", 7, 1);
+    }
+
+    @Test
+    @DisplayName("Should move an order's amounts between status buckets on status changes")
+    void statusChanged_shouldMoveAmountsBetweenStatuses() {
+        Order first = order(1L, DAY_1, line(laptop, 1));
+        Order second = order(2L, DAY_1, line(mouse, 2));
+        place(first);
+        place(second);
+
+        first.setStatus(OrderStatus.CONFIRMED);
+        salesAggregates.statusChanged(first, OrderStatus.PENDING);
+        first.setStatus(OrderStatus.CANCELLED);
+        salesAggregates.statusChanged(first, OrderStatus.CONFIRMED);
+
+        List<SalesAggregateResponse> byStatus = salesAggregates.getSales(null, null, Set.of(SalesDimension.STATUS));
+        assertEquals(2, byStatus.size());
+        assertRow(byStatus.get(0), null, OrderStatus.PENDING, null, "50", 2, 1);
+        assertRow(byStatus.get(1), null, OrderStatus.CANCELLED, null, "1000", 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should only sum the days within the inclusive range, ordered by day")
+    void getSales_shouldRestrictToDayRange() {
+        place(order(1L, DAY_1, line(laptop, 1)));
+        place(order(2L, DAY_2, line(mouse, 1)));
+        place(order(3L, DAY_2.plusDays(1), line(book, 1)));
+
+        List<SalesAggregateResponse> byDay = salesAggregates.getSales(DAY_1, DAY_2, Set.of(SalesDimension.DAY));
+        assertEquals(List.of(DAY_1, DAY_2), byDay.stream().map(SalesAggregateResponse::getDay).toList());
+        assertRow(byDay.get(1), DAY_2, null, null, "25", 1, 1);
+
+        assertTrue(salesAggregates.getSales(DAY_2, DAY_1, Set.of(SalesDimension.DAY)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild buckets from the order items and keep changes made while rebuilding")
+    void rebuild_shouldLoadTotalsAndReplayConcurrentChanges() {
+        when(orderItemRepository.sumSalesByDayStatusAndCategory()).thenAnswer(invocation -> {
+            place(order(9L, DAY_2, line(mouse, 1)));
+            return List.of(new SalesTotal(DAY_1, OrderStatus.DELIVERED, "Electronics", BigDecimal.valueOf(300), 3L, 2L));
+        });
+        when(orderItemRepository.sumSalesByDayAndStatus()).thenReturn(
+                List.of(new SalesTotal(DAY_1, OrderStatus.DELIVERED, BigDecimal.valueOf(300), 3L, 2L)));
+
+        salesAggregates.rebuild();
+
+        List<SalesAggregateResponse> byDay = salesAggregates.getSales(null, null, Set.of(SalesDimension.DAY, SalesDimension.STATUS));
+        assertEquals(2, byDay.size());
+        assertRow(byDay.get(0), DAY_1, OrderStatus.DELIVERED, null, "300", 3, 2);
+        assertRow(byDay.get(1), DAY_2, OrderStatus.PENDING, null, "25", 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should not replay a change the rebuild's snapshot already holds, but replay later ones of the same order")
+    void rebuild_shouldSkipChangesSeenBySnapshot() {
+        Order order = order(9L, DAY_2, line(mouse, 1));
+        when(orderItemRepository.sumSalesByDayStatusAndCategory()).thenAnswer(invocation -> {
+            // Committed before the snapshot, but applied after the rebuild started recording.
+            place(order);
+            order.setStatus(OrderStatus.CONFIRMED);
+            order.setVersion(1L);
+            salesAggregates.statusChanged(order, OrderStatus.PENDING);
+            return List.of(new SalesTotal(DAY_2, OrderStatus.PENDING, "Electronics", BigDecimal.valueOf(25), 1L, 1L));
+        });
+        when(orderItemRepository.sumSalesByDayAndStatus()).thenReturn(
+                List.of(new SalesTotal(DAY_2, OrderStatus.PENDING, BigDecimal.valueOf(25), 1L, 1L)));
+        when(orderRepository.findRevisionsByIdIn(anyCollection())).thenReturn(List.of(new OrderRevision(9L, 0L)));
+
+        salesAggregates.rebuild();
+
+        List<SalesAggregateResponse> byStatus = salesAggregates.getSales(null, null, Set.of(SalesDimension.STATUS));
+        assertEquals(1, byStatus.size());
+        assertRow(byStatus.get(0), null, OrderStatus.CONFIRMED, null, "25", 1, 1);
+    }
+
+    @Test
+    @DisplayName("Should run a rebuild requested during another one after it, without losing changes")
+    void rebuild_shouldSerializeConcurrentRebuilds() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+        when(orderItemRepository.sumSalesByDayStatusAndCategory()).thenAnswer(invocation -> {
+            if (calls.incrementAndGet() == 1) {
+                place(order(9L, DAY_2, line(mouse, 1)));
+                CompletableFuture.runAsync(salesAggregates::rebuild).whenComplete((ignored, failure) -> {
+                    if (failure == null) {
+                        second.complete(null);
+                    } else {
+                        second.completeExceptionally(failure);
+                    }
+                });
+                Thread.sleep(200);
+                return List.of();
+            }
+            return List.of(new SalesTotal(DAY_2, OrderStatus.PENDING, "Electronics", BigDecimal.valueOf(25), 1L, 1L));
+        });
+        when(orderItemRepository.sumSalesByDayAndStatus()).thenAnswer(invocation -> calls.get() == 1
+                ? List.of()
+                : List.of(new SalesTotal(DAY_2, OrderStatus.PENDING, BigDecimal.valueOf(25), 1L, 1L)));
+
+        salesAggregates.rebuild();
+        second.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, calls.get());
+        List<SalesAggregateResponse> byDay = salesAggregates.getSales(null, null, Set.of(SalesDimension.DAY, SalesDimension.STATUS));
+        assertEquals(1, byDay.size());
+        assertRow(byDay.get(0), DAY_2, OrderStatus.PENDING, null, "25", 1, 1);
+    }
+
+    private void place(Order order) {
+        Map<Long, ProductSnapshot> snapshots = order.getOrderItems().stream()
+                .map(OrderItem::getProduct)
+                .collect(Collectors.toMap(Product::getId, ProductSnapshot::of));
+        salesAggregates.orderPlaced(order, snapshots);
+    }
+
+    private static Order order(Long id, LocalDate day, OrderItem... items) {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderDate(day.atTime(12, 0));
+        order.setStatus(OrderStatus.PENDING);
+        order.setVersion(0L);
+        Stream.of(items).forEach(order::addOrderItem);
+        return order;
+    }
+
+    private static OrderItem line(Product product, int quantity) {
+        BigDecimal total = product.getPrice().multiply(BigDecimal.valueOf(quantity));
+        return new OrderItem(null, null, product, quantity, product.getPrice(), total);
+    }
+
+    private static void assertRow(SalesAggregateResponse row, LocalDate day, OrderStatus status, String category,
+                                  String revenue, long units, long orders) {
+        assertEquals(day, row.getDay());
+        assertEquals(status, row.getStatus());
+        assertEquals(category, row.getCategory());
+        assertEquals(0, new BigDecimal(revenue).compareTo(row.getRevenue()), () -> "revenue " + row.getRevenue());
+        assertEquals(units, row.getUnits());
+        assertEquals(orders, row.getOrderCount());
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.ecommerceordermanagementsystem.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Enables SQL statement counting for a {@code @SpringBootTest} or {@code @DataJpaTest} class: registers
+ * {@link SqlStatementCounter} as the Hibernate statement inspector, propagates the counts to MVC async work and resets
+ * them before each test. Assert per call with {@code SqlStatementCounter.count(() -> ...).assertSelects(1)}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.ecommerceordermanagementsystem.support.SqlStatementCounter")
+@Import(QueryCountConfiguration.class)
+@ExtendWith(QueryCountExtension.class)
+public @interface CountQueries {
+}
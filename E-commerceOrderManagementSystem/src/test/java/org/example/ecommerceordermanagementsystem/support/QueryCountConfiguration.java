@@ -0,0 +1,18 @@
+package org.example.ecommerceordermanagementsystem.support;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Decorates the application task executor, which also runs MVC async work such as streamed responses, so that
+ * statements issued there count towards the test that submitted the work.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class QueryCountConfiguration {
+
+    @Bean
+    TaskDecorator sqlStatementCounterPropagation() {
+        return SqlStatementCounter::propagate;
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.ecommerceordermanagementsystem.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQL statements counted by {@link SqlStatementCounter} for one call, with fluent exact and upper-bound assertions.
+ */
+public record QueryCounts(int selects, int inserts, int updates, int deletes) {
+
+    public QueryCounts assertSelects(int expected) {
+        assertEquals(expected, selects, () -> "SELECT count, " + this);
+        return this;
+    }
+
+    public QueryCounts assertSelectsAtMost(int max) {
+        assertTrue(selects <= max, () -> "expected at most " + max + " SELECTs, " + this);
+        return this;
+    }
+
+    public QueryCounts assertInserts(int expected) {
+        assertEquals(expected, inserts, () -> "INSERT count, " + this);
+        return this;
+    }
+
+    public QueryCounts assertInsertsAtMost(int max) {
+        assertTrue(inserts <= max, () -> "expected at most " + max + " INSERTs, " + this);
+        return this;
+    }
+
+    public QueryCounts assertUpdates(int expected) {
+        assertEquals(expected, updates, () -> "UPDATE count, " + this);
+        return this;
+    }
+
+    public QueryCounts assertUpdatesAtMost(int max) {
+        assertTrue(updates <= max, () -> "expected at most " + max + " UPDATEs, " + this);
+        return this;
+    }
+
+    public QueryCounts assertDeletes(int expected) {
+        assertEquals(expected, deletes, () -> "DELETE count, " + this);
+        return this;
+    }
+
+    public QueryCounts assertDeletesAtMost(int max) {
+        assertTrue(deletes <= max, () -> "expected at most " + max + " DELETEs, " + this);
+        return this;
+    }
+
+    /**
+     * Asserts that no statement was issued at all.
+     */
+    public QueryCounts assertNone() {
+        return assertSelects(0).assertInserts(0).assertUpdates(0).assertDeletes(0);
+    }
+
+    public int total() {
+        return selects + inserts + updates + deletes;
+    }
+}
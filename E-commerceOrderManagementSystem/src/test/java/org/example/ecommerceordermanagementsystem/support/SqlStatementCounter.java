@@ -0,0 +1,122 @@
+package org.example.ecommerceordermanagementsystem.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the SQL statements issued through the session factory.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}, or annotate the test
+ * class with {@link CountQueries}.
+ * <p>
+ * Counts belong to the thread that called {@link #reset()}, so statements from scheduled jobs such as the inventory
+ * flush do not leak into an assertion. {@link #propagate(Runnable)} carries the counts over to work handed to another
+ * thread, e.g. MVC async processing. Statements issued on threads without counts are not recorded. A batched
+ * statement is counted once, when Hibernate prepares it.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Counters> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Counters counters = current.get();
+        if (counters == null) {
+            return sql;
+        }
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (statement.startsWith("select") || statement.startsWith("with")) {
+            counters.selects.incrementAndGet();
+        } else if (statement.startsWith("insert")) {
+            counters.inserts.incrementAndGet();
+        } else if (statement.startsWith("update")) {
+            counters.updates.incrementAndGet();
+        } else if (statement.startsWith("delete")) {
+            counters.deletes.incrementAndGet();
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting from zero on the calling thread.
+     */
+    public static void reset() {
+        current.set(new Counters());
+    }
+
+    /**
+     * Stops counting on the calling thread.
+     */
+    public static void clear() {
+        current.remove();
+    }
+
+    /**
+     * Resets the counts, runs the call and returns the statements it issued.
+     */
+    public static QueryCounts count(ThrowingRunnable call) throws Exception {
+        reset();
+        call.run();
+        return snapshot();
+    }
+
+    public static QueryCounts snapshot() {
+        return new QueryCounts(selects(), inserts(), updates(), deletes());
+    }
+
+    /**
+     * Wraps the task so that statements it issues on another thread add to the counts of the calling thread.
+     */
+    public static Runnable propagate(Runnable task) {
+        Counters counters = current.get();
+        if (counters == null) {
+            return task;
+        }
+        return () -> {
+            Counters previous = current.get();
+            current.set(counters);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    current.remove();
+                } else {
+                    current.set(previous);
+                }
+            }
+        };
+    }
+
+    public static int selects() {
+        Counters counters = current.get();
+        return counters == null ? 0 : counters.selects.get();
+    }
+
+    public static int inserts() {
+        Counters counters = current.get();
+        return counters == null ? 0 : counters.inserts.get();
+    }
+
+    public static int updates() {
+        Counters counters = current.get();
+        return counters == null ? 0 : counters.updates.get();
+    }
+
+    public static int deletes() {
+        Counters counters = current.get();
+        return counters == null ? 0 : counters.deletes.get();
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private static final class Counters {
+        private final AtomicInteger selects = new AtomicInteger();
+        private final AtomicInteger inserts = new AtomicInteger();
+        private final AtomicInteger updates = new AtomicInteger();
+        private final AtomicInteger deletes = new AtomicInteger();
+    }
+}